@@ -0,0 +1,80 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.common.cache;
+
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of cache hits from 64 threads, which all go through the LRU lock unless hits are buffered.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+public class CacheHitBenchmark {
+
+    private static final int NUM_KEYS = 1 << 14;
+    private static final int MASK = NUM_KEYS - 1;
+
+    @Param({ "lru", "frequency_aware" })
+    private String eviction;
+
+    @Param({ "false", "true" })
+    private boolean bounded;
+
+    private Cache<Integer, Integer> cache;
+    private Integer[] keys;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index = ThreadLocalRandom.current().nextInt(NUM_KEYS);
+    }
+
+    @Setup
+    public void setup() {
+        CacheBuilder<Integer, Integer> builder = CacheBuilder.<Integer, Integer>builder()
+            .setFrequencyAwareEviction(eviction.equals("frequency_aware"));
+        if (bounded) {
+            // large enough to hold all keys so that the benchmark only measures hits
+            builder.setMaximumWeight(2 * NUM_KEYS);
+        }
+        cache = builder.build();
+        keys = new Integer[NUM_KEYS];
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = i;
+            cache.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer get(ThreadState state) {
+        // a different key on every call to spread the accesses over the segments of the cache
+        state.index = (state.index + 0x9E37) & MASK;
+        return cache.get(keys[state.index]);
+    }
+}
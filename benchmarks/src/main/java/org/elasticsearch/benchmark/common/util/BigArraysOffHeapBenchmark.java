@@ -0,0 +1,104 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.common.util;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.LongArray;
+import org.elasticsearch.common.util.LongHash;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.search.aggregations.metrics.HyperLogLogPlusPlus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares on-heap and off-heap pages for the big arrays that back the collection of a {@code terms} aggregation on a numeric field,
+ * which tracks its buckets in a {@link LongHash} and their doc counts in a {@link LongArray}, and of a {@code cardinality}
+ * aggregation under a parent bucket aggregation. Run with {@code -prof gc} to compare the allocation rates and GC counts.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BigArraysOffHeapBenchmark {
+
+    private static final int NUM_DOCS = 1_000_000;
+
+    @Param({ "heap", "off_heap" })
+    private String pages;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int numTerms;
+
+    private BigArrays bigArrays;
+    private long[] values;
+    private long[] hashes;
+
+    @Setup
+    public void setup() {
+        final Settings settings = Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), pages.equals("off_heap")).build();
+        bigArrays = new BigArrays(new PageCacheRecycler(settings), new NoneCircuitBreakerService(), CircuitBreaker.REQUEST);
+        final Random random = new Random(0);
+        values = new long[NUM_DOCS];
+        hashes = new long[NUM_DOCS];
+        for (int i = 0; i < NUM_DOCS; i++) {
+            values[i] = random.nextInt(numTerms);
+            hashes[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public long terms() {
+        try (LongHash ords = new LongHash(1, bigArrays)) {
+            LongArray docCounts = bigArrays.newLongArray(1, true);
+            try {
+                for (long value : values) {
+                    long ord = ords.add(value);
+                    if (ord < 0) {
+                        ord = -1 - ord;
+                    } else {
+                        docCounts = bigArrays.grow(docCounts, ord + 1);
+                    }
+                    docCounts.increment(ord, 1);
+                }
+                return docCounts.get(0) + ords.size();
+            } finally {
+                docCounts.close();
+            }
+        }
+    }
+
+    @Benchmark
+    public long cardinality() {
+        try (HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(HyperLogLogPlusPlus.DEFAULT_PRECISION, bigArrays, 1)) {
+            // one cardinality per parent bucket, like a cardinality under a terms aggregation
+            final long numBuckets = Math.max(1, numTerms / 1000);
+            for (int i = 0; i < values.length; i++) {
+                counts.collect(values[i] % numBuckets, hashes[i]);
+            }
+            return counts.cardinality(0);
+        }
+    }
+}
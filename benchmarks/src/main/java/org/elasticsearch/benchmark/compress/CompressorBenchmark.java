@@ -0,0 +1,129 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.compress;
+
+import org.elasticsearch.benchmark.xcontent.FilterContentBenchmark;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.compress.CompressedXContent;
+import org.elasticsearch.common.compress.Compressor;
+import org.elasticsearch.common.compress.CompressorFactory;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the xcontent compressors on mappings and on monitoring payloads that are shaped like the cluster state and stats
+ * that are compressed on the master.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CompressorBenchmark {
+
+    @Param({ "deflate", "lz4" })
+    private String compressorType;
+
+    @Param({ "mapping_100_fields", "mapping_5000_fields", "cluster_stats", "node_stats" })
+    private String payload;
+
+    private Compressor compressor;
+    private BytesReference uncompressed;
+    private BytesReference compressed;
+
+    @Setup
+    public void setup() throws IOException {
+        switch (compressorType) {
+            case "deflate":
+                compressor = CompressorFactory.COMPRESSOR;
+                break;
+            case "lz4":
+                compressor = CompressorFactory.LZ4_COMPRESSOR;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown compressor [" + compressorType + "]");
+        }
+        switch (payload) {
+            case "mapping_100_fields":
+                uncompressed = mapping(100);
+                break;
+            case "mapping_5000_fields":
+                uncompressed = mapping(5000);
+                break;
+            case "cluster_stats":
+                uncompressed = Streams.readFully(FilterContentBenchmark.class.getResourceAsStream("monitor_cluster_stats.json"));
+                break;
+            case "node_stats":
+                uncompressed = Streams.readFully(FilterContentBenchmark.class.getResourceAsStream("monitor_node_stats.json"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown payload [" + payload + "]");
+        }
+        compressed = compressor.compress(uncompressed);
+    }
+
+    private static BytesReference mapping(int numFields) throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder();
+        builder.startObject().startObject("_doc").startObject("properties");
+        for (int i = 0; i < numFields; i++) {
+            builder.startObject("field_" + i);
+            switch (i % 4) {
+                case 0:
+                    builder.field("type", "keyword").field("ignore_above", 256);
+                    break;
+                case 1:
+                    builder.field("type", "text").startObject("fields");
+                    builder.startObject("keyword").field("type", "keyword").endObject();
+                    builder.endObject();
+                    break;
+                case 2:
+                    builder.field("type", "long");
+                    break;
+                default:
+                    builder.field("type", "date").field("format", "strict_date_optional_time||epoch_millis");
+                    break;
+            }
+            builder.endObject();
+        }
+        builder.endObject().endObject().endObject();
+        return BytesReference.bytes(builder);
+    }
+
+    @Benchmark
+    public BytesReference compress() throws IOException {
+        return compressor.compress(uncompressed);
+    }
+
+    @Benchmark
+    public BytesReference uncompress() throws IOException {
+        return compressor.uncompress(compressed);
+    }
+
+    @Benchmark
+    public CompressedXContent compressedXContent() throws IOException {
+        // goes through the digest of the compressed bytes that is computed for every mapping received with the cluster state
+        return new CompressedXContent(compressed);
+    }
+}
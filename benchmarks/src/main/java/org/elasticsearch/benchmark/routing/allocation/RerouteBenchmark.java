@@ -0,0 +1,148 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.routing.allocation;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.allocation.AllocationService;
+import org.elasticsearch.common.settings.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Measures a single reroute of a large cluster whose shards are all started and balanced, which is what the master does on most cluster
+ * state updates, and a reroute that has to allocate the shards of a newly created index on such a cluster.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class RerouteBenchmark {
+    // Do NOT make any field final (even if it is not annotated with @Param)! See also
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/JMHSample_10_ConstantFold.java
+
+    @Param(
+        {
+            // indices| shards| replicas| nodes
+            "     1000|     10|        1|   100",
+            "    10000|     10|        1|   500" }
+    )
+    public String indicesShardsReplicasNodes = "1000|10|1|100";
+
+    public int numTags = 2;
+
+    private AllocationService strategy;
+    private ClusterState balancedClusterState;
+    private ClusterState newIndexClusterState;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String[] params = indicesShardsReplicasNodes.split("\\|");
+
+        int numIndices = toInt(params[0]);
+        int numShards = toInt(params[1]);
+        int numReplicas = toInt(params[2]);
+        int numNodes = toInt(params[3]);
+
+        strategy = Allocators.createAllocationService(
+            Settings.builder()
+                .put("cluster.routing.allocation.awareness.attributes", "tag")
+                // relax the recovery throttles so that setting up the cluster takes few rounds, they are not what is measured here
+                .put("cluster.routing.allocation.node_concurrent_recoveries", numIndices * numShards)
+                .put("cluster.routing.allocation.node_initial_primaries_recoveries", numIndices * numShards)
+                .put("cluster.routing.allocation.cluster_concurrent_rebalance", numIndices * numShards)
+                .build()
+        );
+
+        Metadata.Builder mb = Metadata.builder();
+        for (int i = 1; i <= numIndices; i++) {
+            mb.put(
+                IndexMetadata.builder("test_" + i)
+                    .settings(Settings.builder().put("index.version.created", Version.CURRENT))
+                    .numberOfShards(numShards)
+                    .numberOfReplicas(numReplicas)
+            );
+        }
+        Metadata metadata = mb.build();
+        RoutingTable.Builder rb = RoutingTable.builder();
+        for (int i = 1; i <= numIndices; i++) {
+            rb.addAsNew(metadata.index("test_" + i));
+        }
+        DiscoveryNodes.Builder nb = DiscoveryNodes.builder();
+        for (int i = 1; i <= numNodes; i++) {
+            nb.add(Allocators.newNode("node" + i, Collections.singletonMap("tag", "tag_" + (i % numTags))));
+        }
+        ClusterState clusterState = ClusterState.builder(ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY))
+            .metadata(metadata)
+            .routingTable(rb.build())
+            .nodes(nb)
+            .build();
+        clusterState = strategy.reroute(clusterState, "reroute");
+        List<ShardRouting> initializing = initializingShards(clusterState);
+        while (initializing.isEmpty() == false) {
+            clusterState = strategy.applyStartedShards(clusterState, initializing);
+            initializing = initializingShards(clusterState);
+        }
+        balancedClusterState = clusterState;
+
+        IndexMetadata newIndex = IndexMetadata.builder("test_" + (numIndices + 1))
+            .settings(Settings.builder().put("index.version.created", Version.CURRENT))
+            .numberOfShards(numShards)
+            .numberOfReplicas(numReplicas)
+            .build();
+        newIndexClusterState = ClusterState.builder(balancedClusterState)
+            .metadata(Metadata.builder(balancedClusterState.metadata()).put(newIndex, false))
+            .routingTable(RoutingTable.builder(balancedClusterState.routingTable()).addAsNew(newIndex).build())
+            .build();
+    }
+
+    private static List<ShardRouting> initializingShards(ClusterState clusterState) {
+        return StreamSupport.stream(clusterState.getRoutingNodes().spliterator(), false)
+            .flatMap(shardRoutings -> StreamSupport.stream(shardRoutings.spliterator(), false))
+            .filter(ShardRouting::initializing)
+            .collect(Collectors.toList());
+    }
+
+    private int toInt(String v) {
+        return Integer.valueOf(v.trim());
+    }
+
+    @Benchmark
+    public ClusterState rerouteBalanced() {
+        return strategy.reroute(balancedClusterState, "reroute");
+    }
+
+    @Benchmark
+    public ClusterState rerouteNewIndex() {
+        return strategy.reroute(newIndexClusterState, "reroute");
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.vectors;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.xpack.vectors.query.BinaryVectorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the similarity functions that script_score computes on binary dense_vector doc values with the {@link ByteBuffer} loops
+ * they replaced, for the dimensions of common embeddings.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class BinaryVectorUtilBenchmark {
+
+    @Param({ "128", "384", "768", "1536" })
+    public int dims;
+
+    private float[] queryVector;
+    private BytesRef docVector;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        queryVector = new float[dims];
+        final ByteBuffer byteBuffer = ByteBuffer.allocate(dims * Float.BYTES + Float.BYTES);
+        double magnitude = 0;
+        for (int i = 0; i < dims; i++) {
+            queryVector[i] = random.nextFloat();
+            final float value = random.nextFloat();
+            byteBuffer.putFloat(value);
+            magnitude += value * value;
+        }
+        byteBuffer.putFloat((float) Math.sqrt(magnitude));
+        docVector = new BytesRef(byteBuffer.array());
+    }
+
+    @Benchmark
+    public double dotProduct() {
+        return BinaryVectorUtil.dotProduct(queryVector, docVector);
+    }
+
+    @Benchmark
+    public double dotProductByteBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(docVector.bytes, docVector.offset, docVector.length);
+        double dotProduct = 0;
+        for (float queryValue : queryVector) {
+            dotProduct += queryValue * byteBuffer.getFloat();
+        }
+        return dotProduct;
+    }
+
+    @Benchmark
+    public double l1Norm() {
+        return BinaryVectorUtil.l1Norm(queryVector, docVector);
+    }
+
+    @Benchmark
+    public double l1NormByteBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(docVector.bytes, docVector.offset, docVector.length);
+        double l1norm = 0;
+        for (float queryValue : queryVector) {
+            l1norm += Math.abs(queryValue - byteBuffer.getFloat());
+        }
+        return l1norm;
+    }
+
+    @Benchmark
+    public double l2Norm() {
+        return BinaryVectorUtil.l2Norm(queryVector, docVector);
+    }
+
+    @Benchmark
+    public double l2NormByteBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(docVector.bytes, docVector.offset, docVector.length);
+        double l2norm = 0;
+        for (float queryValue : queryVector) {
+            double diff = queryValue - byteBuffer.getFloat();
+            l2norm += diff * diff;
+        }
+        return Math.sqrt(l2norm);
+    }
+}
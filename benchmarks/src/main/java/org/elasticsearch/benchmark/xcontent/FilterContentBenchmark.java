@@ -13,7 +13,9 @@ import org.elasticsearch.common.io.Streams;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.support.SourceFilter;
 import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
 import org.elasticsearch.xcontent.XContentParser;
 import org.elasticsearch.xcontent.XContentParserConfiguration;
 import org.elasticsearch.xcontent.XContentType;
@@ -58,6 +60,7 @@ public class FilterContentBenchmark {
     private BytesReference source;
     private XContentParserConfiguration parserConfig;
     private Set<String> filters;
+    private SourceFilter sourceFilter;
 
     @Setup
     public void setup() throws IOException {
@@ -78,6 +81,7 @@ public class FilterContentBenchmark {
         source = readSource(sourceFile);
         filters = buildFilters();
         parserConfig = buildParseConfig();
+        sourceFilter = buildSourceFilter();
     }
 
     private Set<String> buildFilters() {
@@ -122,6 +126,32 @@ public class FilterContentBenchmark {
         return filter(contentParserConfiguration);
     }
 
+    /**
+     * Streams the source through the includes and excludes automata of {@code _source} filtering.
+     */
+    @Benchmark
+    public BytesReference filterWithSourceFilter() throws IOException {
+        return sourceFilter.filter(source, XContentType.JSON, source.length());
+    }
+
+    /**
+     * Filters the source as a map, like {@code _source} filtering did before it streamed the source.
+     */
+    @Benchmark
+    public BytesReference filterWithSourceFilterOnMap() throws IOException {
+        Map<String, Object> filtered = sourceFilter.filter(XContentHelper.convertToMap(source, false, XContentType.JSON).v2());
+        return BytesReference.bytes(XContentFactory.jsonBuilder().map(filtered));
+    }
+
+    private SourceFilter buildSourceFilter() {
+        String[] filterArray = filters.toArray(new String[0]);
+        if (inclusive) {
+            return new SourceFilter(filterArray, null);
+        } else {
+            return new SourceFilter(null, filterArray);
+        }
+    }
+
     private XContentParserConfiguration buildParseConfig() {
         Set<String> includes;
         Set<String> excludes;
@@ -0,0 +1,118 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.gateway;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterModule;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.core.internal.io.IOUtils;
+import org.elasticsearch.xcontent.NamedXContentRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of an incremental commit of the persisted cluster state, which the master and the master-eligible nodes do
+ * before acknowledging every publication, depending on the number of indices whose metadata changed.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class PersistedClusterStateServiceBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int numIndices;
+
+    @Param({ "0", "1", "100", "1000" })
+    public int numChangedIndices;
+
+    private Path dataPath;
+    private PersistedClusterStateService.Writer writer;
+    private ClusterState[] clusterStates;
+    private int nextClusterState;
+
+    @Setup
+    public void setUp() throws IOException {
+        dataPath = Files.createTempDirectory("persisted-cluster-state");
+        final PersistedClusterStateService persistedClusterStateService = new PersistedClusterStateService(
+            new Path[] { dataPath },
+            "node",
+            new NamedXContentRegistry(ClusterModule.getNamedXWriteables()),
+            BigArrays.NON_RECYCLING_INSTANCE,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+            () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime())
+        );
+
+        final Metadata.Builder metadata = Metadata.builder();
+        for (int i = 0; i < numIndices; i++) {
+            metadata.put(
+                IndexMetadata.builder("index-" + i)
+                    .settings(
+                        Settings.builder()
+                            .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                            .put(IndexMetadata.SETTING_INDEX_UUID, UUIDs.randomBase64UUID())
+                    )
+                    .numberOfShards(1)
+                    .numberOfReplicas(1)
+            );
+        }
+        final ClusterState initialState = ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).version(1L).build();
+
+        // alternate between two states that differ in the version of the metadata of the changed indices, so that every commit writes
+        // exactly numChangedIndices index metadata documents
+        final Metadata.Builder changedMetadata = Metadata.builder(initialState.metadata());
+        for (int i = 0; i < numChangedIndices; i++) {
+            changedMetadata.put(IndexMetadata.builder(initialState.metadata().index("index-" + i)));
+        }
+        final ClusterState changedState = ClusterState.builder(initialState).metadata(changedMetadata).version(2L).build();
+        clusterStates = new ClusterState[] { initialState, changedState };
+
+        writer = persistedClusterStateService.createWriter();
+        writer.writeFullStateAndCommit(1L, initialState);
+        nextClusterState = 1;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        IOUtils.close(writer);
+        IOUtils.rm(dataPath);
+    }
+
+    @Benchmark
+    public void writeIncrementalStateAndCommit() throws IOException {
+        final ClusterState previousState = clusterStates[1 - nextClusterState];
+        final ClusterState clusterState = clusterStates[nextClusterState];
+        writer.writeIncrementalStateAndCommit(1L, previousState, clusterState);
+        nextClusterState = 1 - nextClusterState;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index.engine;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.core.Releasable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the version resolution that {@link InternalEngine} does in the {@link LiveVersionMap} for every update of
+ * a document: lock the uid, look up its current version and put the new version, with many indexing threads updating a bounded set of
+ * ids. The map is in safe access mode, as it is once the engine saw an update or a get, so every version is put into the map.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Threads(16)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LiveVersionMapBenchmark {
+
+    /**
+     * 0 for a dedicated lock per uid, the number of stripes otherwise
+     */
+    @Param({ "0", "256", "4096" })
+    private int lockStripes;
+
+    @Param({ "1000", "100000" })
+    private int numIds;
+
+    private BytesRef[] ids;
+    private LiveVersionMap versionMap;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final Random random = new Random();
+    }
+
+    @Setup
+    public void setup() {
+        ids = new BytesRef[numIds];
+        for (int i = 0; i < numIds; i++) {
+            ids[i] = new BytesRef(("id_" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        versionMap = new LiveVersionMap(lockStripes);
+        versionMap.enforceSafeAccess();
+    }
+
+    @Benchmark
+    public long resolveAndPutVersion(ThreadState state) {
+        final BytesRef uid = ids[state.random.nextInt(numIds)];
+        try (Releasable ignored = versionMap.acquireLock(uid)) {
+            final VersionValue current = versionMap.getUnderLock(uid);
+            final long version = current == null ? 1L : current.version + 1;
+            versionMap.putIndexUnderLock(uid, new IndexVersionValue(null, version, version, 1L));
+            return version;
+        }
+    }
+}
@@ -241,13 +241,21 @@ public class PercolatorFieldMapper extends FieldMapper {
             boolean canUseMinimumShouldMatchField = t.v2();
 
             Query verifiedMatchesQuery;
-            // We can only skip the MemoryIndex verification when percolating a single non nested document. We cannot
-            // skip MemoryIndex verification when percolating multiple documents, because when terms and
-            // ranges are extracted from IndexReader backed by a RamDirectory holding multiple documents we do
-            // not know to which document the terms belong too and for certain queries we incorrectly emit candidate
+            // We can skip the MemoryIndex verification of all fully extracted queries only when percolating a single non nested
+            // document. When terms and ranges are extracted from IndexReader backed by a RamDirectory holding multiple documents
+            // we do not know to which document the terms belong too and for certain queries we incorrectly emit candidate
             // matches as actual match.
             if (canUseMinimumShouldMatchField && indexReader.maxDoc() == 1) {
                 verifiedMatchesQuery = new TermQuery(new Term(extractionResultField.name(), EXTRACTION_COMPLETE));
+            } else if (canUseMinimumShouldMatchField && excludeNestedDocuments == false && hasRangeFields(indexReader) == false) {
+                // When percolating multiple non nested documents we can still skip the MemoryIndex verification for queries that
+                // were fully extracted and that require a single one of their terms to match: the document that holds the matching
+                // term matches the query too. This is not true if the candidate matched through a range, because the min and max
+                // point values that ranges are checked against may come from different documents.
+                BooleanQuery.Builder builder = new BooleanQuery.Builder();
+                builder.add(new TermQuery(new Term(extractionResultField.name(), EXTRACTION_COMPLETE)), BooleanClause.Occur.FILTER);
+                builder.add(NumericDocValuesField.newSlowExactQuery(minimumShouldMatchField.name(), 1), BooleanClause.Occur.FILTER);
+                verifiedMatchesQuery = builder.build();
             } else {
                 verifiedMatchesQuery = new MatchNoDocsQuery("multiple or nested docs or CoveringQuery could not be used");
             }
@@ -296,6 +304,16 @@ public class PercolatorFieldMapper extends FieldMapper {
             return new Tuple<>(candidateQuery.build(), canUseMinimumShouldMatchField);
         }
 
+        private static boolean hasRangeFields(IndexReader indexReader) {
+            for (FieldInfo info : indexReader.leaves().get(0).reader().getFieldInfos()) {
+                // same check as in extractTermsAndRanges
+                if (info.getPointIndexDimensionCount() == 1) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         // This was extracted the method above, because otherwise it is difficult to test what terms are included in
         // the query in case a CoveringQuery is used (it does not have a getter to retrieve the clauses)
         Tuple<List<BytesRef>, Map<String, List<byte[]>>> extractTermsAndRanges(IndexReader indexReader) throws IOException {
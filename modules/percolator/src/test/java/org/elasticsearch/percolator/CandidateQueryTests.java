@@ -1126,6 +1126,65 @@ public class CandidateQueryTests extends ESSingleNodeTestCase {
         assertEquals(0, topDocs.scoreDocs[0].doc);
     }
 
+    public void testPercolateMultipleDocumentsSkipsVerificationOfDisjunctions() throws Exception {
+        List<LuceneDocument> docs = new ArrayList<>();
+        addQuery(new TermQuery(new Term("field", "value1")), docs);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(new TermQuery(new Term("field", "value2")), Occur.SHOULD);
+        builder.add(new TermQuery(new Term("field", "value3")), Occur.SHOULD);
+        addQuery(builder.build(), docs);
+        builder = new BooleanQuery.Builder();
+        builder.add(new TermQuery(new Term("field", "value1")), Occur.MUST);
+        builder.add(new TermQuery(new Term("field", "value4")), Occur.MUST);
+        addQuery(builder.build(), docs);
+        indexWriter.addDocuments(docs);
+        indexWriter.close();
+        directoryReader = DirectoryReader.open(directory);
+        IndexSearcher shardSearcher = newSearcher(directoryReader);
+        shardSearcher.setQueryCache(null);
+
+        Version v = Version.CURRENT;
+        List<BytesReference> sources = List.of(new BytesArray("{}"), new BytesArray("{}"));
+        List<Integer> verifiedQueries = new ArrayList<>();
+        PercolateQuery.QueryStore recordingQueryStore = ctx -> docId -> {
+            verifiedQueries.add(docId);
+            return queries.get(docId);
+        };
+
+        try (Directory directory = new ByteBuffersDirectory()) {
+            try (IndexWriter iw = new IndexWriter(directory, newIndexWriterConfig())) {
+                List<Document> documents = new ArrayList<>();
+                Document document = new Document();
+                document.add(new StringField("field", "value1", Field.Store.NO));
+                document.add(new StringField("field", "value3", Field.Store.NO));
+                documents.add(document);
+                document = new Document();
+                document.add(new StringField("field", "value4", Field.Store.NO));
+                documents.add(document);
+                iw.addDocuments(documents); // IW#addDocuments(...) ensures we end up with a single segment
+            }
+            try (IndexReader ir = DirectoryReader.open(directory)) {
+                IndexSearcher percolateSearcher = new IndexSearcher(ir);
+                PercolateQuery query = (PercolateQuery) fieldType.percolateQuery(
+                    "_name",
+                    recordingQueryStore,
+                    sources,
+                    percolateSearcher,
+                    false,
+                    v
+                );
+                assertThat(query.getVerifiedMatchesQuery(), instanceOf(BooleanQuery.class));
+                TopDocs topDocs = shardSearcher.search(new ConstantScoreQuery(query), 10, new Sort(SortField.FIELD_DOC));
+                // the conjunction is a candidate because its terms are spread over both documents, but it doesn't match either of them
+                assertEquals(2L, topDocs.totalHits.value);
+                assertEquals(0, topDocs.scoreDocs[0].doc);
+                assertEquals(1, topDocs.scoreDocs[1].doc);
+                // only the conjunction had to be verified
+                assertThat(verifiedQueries, equalTo(List.of(2)));
+            }
+        }
+    }
+
     private void duelRun(PercolateQuery.QueryStore percolateQueryStore, MemoryIndex memoryIndex, IndexSearcher shardSearcher)
         throws IOException {
         boolean requireScore = randomBoolean();
@@ -359,6 +359,11 @@ public class TransportRolloverAction extends TransportMasterNodeAction<RolloverR
             this.allocationService = allocationService;
         }
 
+        @Override
+        public String statsName() {
+            return "rollover_index";
+        }
+
         @Override
         public ClusterTasksResult<RolloverTask> execute(ClusterState currentState, List<RolloverTask> tasks) throws Exception {
             ClusterStateTaskExecutor.ClusterTasksResult.Builder<RolloverTask> builder = ClusterStateTaskExecutor.ClusterTasksResult
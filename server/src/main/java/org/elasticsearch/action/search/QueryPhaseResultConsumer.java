@@ -10,7 +10,10 @@ package org.elasticsearch.action.search;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.action.search.SearchPhaseController.TopDocsStats;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
@@ -46,9 +49,13 @@ import static org.elasticsearch.action.search.SearchPhaseController.setShardInde
  * A {@link ArraySearchPhaseResults} implementation that incrementally reduces aggregation results
  * as shard results are consumed.
  * This implementation adds the memory that it used to save and reduce the results of shard aggregations
- * in the {@link CircuitBreaker#REQUEST} circuit breaker. Before any partial or final reduce, the memory
- * needed to reduce the aggregations is estimated and a {@link CircuitBreakingException} is thrown if it
- * exceeds the maximum memory allowed in this breaker.
+ * and the top docs of shards in the {@link CircuitBreaker#REQUEST} circuit breaker. Before any partial or
+ * final reduce, the memory needed to reduce the aggregations is estimated and a {@link CircuitBreakingException}
+ * is thrown if it exceeds the maximum memory allowed in this breaker.
+ * The number of shard results that are buffered before a partial reduce is the batched reduce size of the
+ * request, capped by a coordinating node limit. A limit of 2 reduces every shard result into the previous
+ * partial result as soon as it arrives so the memory that is used depends on the size of the merged result
+ * rather than on the number of shards.
  */
 public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhaseResult> implements Releasable {
     private static final Logger logger = LogManager.getLogger(QueryPhaseResultConsumer.class);
@@ -80,6 +87,35 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         SearchProgressListener progressListener,
         int expectedResultSize,
         Consumer<Exception> onPartialMergeFailure
+    ) {
+        this(
+            request,
+            executor,
+            circuitBreaker,
+            controller,
+            isCanceled,
+            progressListener,
+            expectedResultSize,
+            Integer.MAX_VALUE,
+            onPartialMergeFailure
+        );
+    }
+
+    /**
+     * Creates a {@link QueryPhaseResultConsumer} that incrementally reduces aggregation results
+     * as shard results are consumed, buffering at most <code>maxBatchedReduceSize</code> shard
+     * results between two partial reduces.
+     */
+    public QueryPhaseResultConsumer(
+        SearchRequest request,
+        Executor executor,
+        CircuitBreaker circuitBreaker,
+        SearchPhaseController controller,
+        Supplier<Boolean> isCanceled,
+        SearchProgressListener progressListener,
+        int expectedResultSize,
+        int maxBatchedReduceSize,
+        Consumer<Exception> onPartialMergeFailure
     ) {
         super(expectedResultSize);
         this.executor = executor;
@@ -94,7 +130,9 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         SearchSourceBuilder source = request.source();
         this.hasTopDocs = source == null || source.size() != 0;
         this.hasAggs = source != null && source.aggregations() != null;
-        int batchReduceSize = (hasAggs || hasTopDocs) ? Math.min(request.getBatchedReduceSize(), expectedResultSize) : expectedResultSize;
+        int batchReduceSize = (hasAggs || hasTopDocs)
+            ? Math.min(Math.min(request.getBatchedReduceSize(), maxBatchedReduceSize), expectedResultSize)
+            : expectedResultSize;
         this.pendingMerges = new PendingMerges(batchReduceSize, request.resolveTrackTotalHitsUpTo());
     }
 
@@ -217,7 +255,32 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         // we leave the results un-serialized because serializing is slow but we compute the serialized
         // size as an estimate of the memory used by the newly reduced aggregations.
         long serializedSize = hasAggs ? DelayableWriteable.getSerializedSize(newAggs) : 0;
-        return new MergeResult(processedShards, newTopDocs, newAggs, hasAggs ? serializedSize : 0);
+        long topDocsSize = hasTopDocs ? ramBytesUsedTopDocs(newTopDocs) : 0;
+        return new MergeResult(processedShards, newTopDocs, newAggs, serializedSize + topDocsSize);
+    }
+
+    /**
+     * Returns an estimation of the memory used by the provided {@link TopDocs}. The size of
+     * sort values is only estimated for the types that {@link RamUsageEstimator} knows about.
+     */
+    static long ramBytesUsedTopDocs(TopDocs topDocs) {
+        if (topDocs == null) {
+            return 0;
+        }
+        long size = RamUsageEstimator.shallowSizeOf(topDocs.scoreDocs);
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            size += RamUsageEstimator.shallowSizeOf(scoreDoc);
+            if (scoreDoc instanceof FieldDoc) {
+                Object[] fields = ((FieldDoc) scoreDoc).fields;
+                if (fields != null) {
+                    size += RamUsageEstimator.shallowSizeOf(fields);
+                    for (Object field : fields) {
+                        size += RamUsageEstimator.sizeOfObject(field, 0);
+                    }
+                }
+            }
+        }
+        return size;
     }
 
     public int getNumReducePhases() {
@@ -304,10 +367,15 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
 
         /**
          * Returns the size of the serialized aggregation that is contained in the
-         * provided {@link QuerySearchResult}.
+         * provided {@link QuerySearchResult} plus an estimation of the memory used
+         * by its top docs.
          */
         long ramBytesUsedQueryResult(QuerySearchResult result) {
-            return hasAggs ? result.aggregations().getSerializedSize() : 0;
+            long size = hasAggs ? result.aggregations().getSerializedSize() : 0;
+            if (hasTopDocs && result.hasConsumedTopDocs() == false) {
+                size += ramBytesUsedTopDocs(result.topDocs().topDocs);
+            }
+            return size;
         }
 
         /**
@@ -332,7 +400,7 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
                         emptyResults.add(new SearchShard(target.getClusterAlias(), target.getShardId()));
                     }
                 } else {
-                    if (hasAggs) {
+                    if (hasAggs || hasTopDocs) {
                         long aggsSize = ramBytesUsedQueryResult(result);
                         try {
                             addEstimateAndMaybeBreak(aggsSize);
@@ -400,13 +468,13 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
                 }
                 runningTask.compareAndSet(task, null);
                 mergeResult = newResult;
-                if (hasAggs) {
+                if (hasAggs || hasTopDocs) {
                     // Update the circuit breaker to remove the size of the source aggregations
                     // and replace the estimation with the serialized size of the newly reduced result.
                     long newSize = mergeResult.estimatedSize - estimatedSize;
                     addWithoutBreaking(newSize);
                     logger.trace(
-                        "aggs partial reduction [{}->{}] max [{}]",
+                        "partial reduction [{}->{}] max [{}]",
                         estimatedSize,
                         mergeResult.estimatedSize,
                         maxAggsCurrentBufferSize
@@ -694,6 +694,32 @@ public final class SearchPhaseController {
         SearchRequest request,
         int numShards,
         Consumer<Exception> onPartialMergeFailure
+    ) {
+        return newSearchPhaseResults(
+            executor,
+            circuitBreaker,
+            isCanceled,
+            listener,
+            request,
+            numShards,
+            Integer.MAX_VALUE,
+            onPartialMergeFailure
+        );
+    }
+
+    /**
+     * Returns a new {@link QueryPhaseResultConsumer} instance that reduces search responses incrementally,
+     * buffering at most <code>maxBatchedReduceSize</code> shard results between two partial reduces.
+     */
+    QueryPhaseResultConsumer newSearchPhaseResults(
+        Executor executor,
+        CircuitBreaker circuitBreaker,
+        Supplier<Boolean> isCanceled,
+        SearchProgressListener listener,
+        SearchRequest request,
+        int numShards,
+        int maxBatchedReduceSize,
+        Consumer<Exception> onPartialMergeFailure
     ) {
         return new QueryPhaseResultConsumer(
             request,
@@ -703,6 +729,7 @@ public final class SearchPhaseController {
             isCanceled,
             listener,
             numShards,
+            maxBatchedReduceSize,
             onPartialMergeFailure
         );
     }
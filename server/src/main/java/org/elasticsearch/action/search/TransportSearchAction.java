@@ -111,6 +111,18 @@ public class TransportSearchAction extends HandledTransportAction<SearchRequest,
         Property.NodeScope
     );
 
+    /**
+     * The maximum number of shard results that the coordinating node buffers before reducing them, whatever the batched reduce size
+     * of the request. A value of 2 reduces every shard result as soon as it is received.
+     */
+    public static final Setting<Integer> MAX_BATCHED_REDUCE_SIZE_SETTING = Setting.intSetting(
+        "action.search.max_batched_reduce_size",
+        Integer.MAX_VALUE,
+        2,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     public static final Setting<Integer> DEFAULT_PRE_FILTER_SHARD_SIZE = Setting.intSetting(
         "action.search.pre_filter_shard_size.default",
         SearchRequest.DEFAULT_PRE_FILTER_SHARD_SIZE,
@@ -1187,6 +1199,7 @@ public class TransportSearchAction extends HandledTransportAction<SearchRequest,
                 task.getProgressListener(),
                 searchRequest,
                 shardIterators.size(),
+                clusterService.getClusterSettings().get(MAX_BATCHED_REDUCE_SIZE_SETTING),
                 exc -> searchTransportService.cancelSearchTask(task, "failed to merge result [" + exc.getMessage() + "]")
             );
             AbstractSearchAsyncAction<? extends SearchPhaseResult> searchAsyncAction;
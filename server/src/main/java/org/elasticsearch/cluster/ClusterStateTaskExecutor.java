@@ -58,6 +58,15 @@ public interface ClusterStateTaskExecutor<T> {
         return output.toString();
     }
 
+    /**
+     * The name under which the batches of this executor are reported in the cluster state update stats, or {@code null} to report
+     * them under the fully-qualified name of the class of this executor.
+     */
+    @Nullable
+    default String statsName() {
+        return null;
+    }
+
     /**
      * Represents the result of a batched execution of cluster state update tasks
      * @param <T> the type of the cluster state update task
@@ -643,6 +643,11 @@ public class ShardStateAction {
             this.rerouteService = rerouteService;
         }
 
+        @Override
+        public String statsName() {
+            return "shard-started";
+        }
+
         @Override
         public ClusterTasksResult<StartedShardEntry> execute(ClusterState currentState, List<StartedShardEntry> tasks) throws Exception {
             ClusterTasksResult.Builder<StartedShardEntry> builder = ClusterTasksResult.builder();
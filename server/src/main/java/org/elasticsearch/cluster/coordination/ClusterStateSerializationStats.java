@@ -8,10 +8,12 @@
 
 package org.elasticsearch.cluster.coordination;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 
@@ -19,29 +21,37 @@ import java.io.IOException;
 
 public class ClusterStateSerializationStats implements Writeable, ToXContentObject {
 
-    public static final ClusterStateSerializationStats EMPTY = new ClusterStateSerializationStats(0L, 0L, 0L, 0L, 0L, 0L);
+    private static final Version SERIALIZATION_TIME_VERSION = Version.V_8_1_0;
+
+    public static final ClusterStateSerializationStats EMPTY = new ClusterStateSerializationStats(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
 
     private final long fullStateCount;
     private final long totalUncompressedFullStateBytes;
     private final long totalCompressedFullStateBytes;
+    private final long totalFullStateSerializationMillis;
     private final long diffCount;
     private final long totalUncompressedDiffBytes;
     private final long totalCompressedDiffBytes;
+    private final long totalDiffSerializationMillis;
 
     public ClusterStateSerializationStats(
         long fullStateCount,
         long totalUncompressedFullStateBytes,
         long totalCompressedFullStateBytes,
+        long totalFullStateSerializationMillis,
         long diffCount,
         long totalUncompressedDiffBytes,
-        long totalCompressedDiffBytes
+        long totalCompressedDiffBytes,
+        long totalDiffSerializationMillis
     ) {
         this.fullStateCount = fullStateCount;
         this.totalUncompressedFullStateBytes = totalUncompressedFullStateBytes;
         this.totalCompressedFullStateBytes = totalCompressedFullStateBytes;
+        this.totalFullStateSerializationMillis = totalFullStateSerializationMillis;
         this.diffCount = diffCount;
         this.totalUncompressedDiffBytes = totalUncompressedDiffBytes;
         this.totalCompressedDiffBytes = totalCompressedDiffBytes;
+        this.totalDiffSerializationMillis = totalDiffSerializationMillis;
     }
 
     public ClusterStateSerializationStats(StreamInput in) throws IOException {
@@ -51,6 +61,13 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         this.diffCount = in.readVLong();
         this.totalUncompressedDiffBytes = in.readVLong();
         this.totalCompressedDiffBytes = in.readVLong();
+        if (in.getVersion().onOrAfter(SERIALIZATION_TIME_VERSION)) {
+            this.totalFullStateSerializationMillis = in.readVLong();
+            this.totalDiffSerializationMillis = in.readVLong();
+        } else {
+            this.totalFullStateSerializationMillis = 0L;
+            this.totalDiffSerializationMillis = 0L;
+        }
     }
 
     public long getFullStateCount() {
@@ -65,6 +82,10 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         return totalCompressedFullStateBytes;
     }
 
+    public long getTotalFullStateSerializationMillis() {
+        return totalFullStateSerializationMillis;
+    }
+
     public long getDiffCount() {
         return diffCount;
     }
@@ -77,6 +98,10 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         return totalCompressedDiffBytes;
     }
 
+    public long getTotalDiffSerializationMillis() {
+        return totalDiffSerializationMillis;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
@@ -84,11 +109,21 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         builder.field("count", fullStateCount);
         builder.humanReadableField("uncompressed_size_in_bytes", "uncompressed_size", new ByteSizeValue(totalUncompressedFullStateBytes));
         builder.humanReadableField("compressed_size_in_bytes", "compressed_size", new ByteSizeValue(totalCompressedFullStateBytes));
+        builder.humanReadableField(
+            "serialization_time_millis",
+            "serialization_time",
+            TimeValue.timeValueMillis(totalFullStateSerializationMillis)
+        );
         builder.endObject();
         builder.startObject("diffs");
         builder.field("count", diffCount);
         builder.humanReadableField("uncompressed_size_in_bytes", "uncompressed_size", new ByteSizeValue(totalUncompressedDiffBytes));
         builder.humanReadableField("compressed_size_in_bytes", "compressed_size", new ByteSizeValue(totalCompressedDiffBytes));
+        builder.humanReadableField(
+            "serialization_time_millis",
+            "serialization_time",
+            TimeValue.timeValueMillis(totalDiffSerializationMillis)
+        );
         builder.endObject();
         builder.endObject();
         return builder;
@@ -102,6 +137,10 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         out.writeVLong(diffCount);
         out.writeVLong(totalUncompressedDiffBytes);
         out.writeVLong(totalCompressedDiffBytes);
+        if (out.getVersion().onOrAfter(SERIALIZATION_TIME_VERSION)) {
+            out.writeVLong(totalFullStateSerializationMillis);
+            out.writeVLong(totalDiffSerializationMillis);
+        }
     }
 
 }
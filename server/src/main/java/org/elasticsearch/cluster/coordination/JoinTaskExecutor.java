@@ -90,6 +90,11 @@ public class JoinTaskExecutor implements ClusterStateTaskExecutor<JoinTaskExecut
         this.rerouteService = rerouteService;
     }
 
+    @Override
+    public String statsName() {
+        return "node-join";
+    }
+
     @Override
     public ClusterTasksResult<Task> execute(ClusterState currentState, List<Task> joiningNodes) throws Exception {
         final ClusterTasksResult.Builder<Task> results = ClusterTasksResult.builder();
@@ -221,12 +221,13 @@ public class PublicationTransportHandler {
     private ReleasableBytesReference serializeFullClusterState(ClusterState clusterState, DiscoveryNode node) {
         final Version nodeVersion = node.getVersion();
         final RecyclerBytesStreamOutput bytesStream = transportService.newNetworkBytesStream();
+        final long serializationStartMillis = transportService.getThreadPool().rawRelativeTimeInMillis();
         boolean success = false;
         try {
             final long uncompressedBytes;
             try (
                 StreamOutput stream = new PositionTrackingOutputStreamStreamOutput(
-                    CompressorFactory.COMPRESSOR.threadLocalOutputStream(Streams.flushOnCloseStream(bytesStream))
+                    CompressorFactory.xContentCompressor(nodeVersion).threadLocalOutputStream(Streams.flushOnCloseStream(bytesStream))
                 )
             ) {
                 stream.setVersion(nodeVersion);
@@ -237,7 +238,11 @@ public class PublicationTransportHandler {
                 throw new ElasticsearchException("failed to serialize cluster state for publishing to node {}", e, node);
             }
             final ReleasableBytesReference result = new ReleasableBytesReference(bytesStream.bytes(), bytesStream);
-            serializationStatsTracker.serializedFullState(uncompressedBytes, result.length());
+            serializationStatsTracker.serializedFullState(
+                uncompressedBytes,
+                result.length(),
+                Math.max(0L, transportService.getThreadPool().rawRelativeTimeInMillis() - serializationStartMillis)
+            );
             logger.trace(
                 "serialized full cluster state version [{}] for node version [{}] with size [{}]",
                 clusterState.version(),
@@ -256,12 +261,13 @@ public class PublicationTransportHandler {
     private ReleasableBytesReference serializeDiffClusterState(long clusterStateVersion, Diff<ClusterState> diff, DiscoveryNode node) {
         final Version nodeVersion = node.getVersion();
         final RecyclerBytesStreamOutput bytesStream = transportService.newNetworkBytesStream();
+        final long serializationStartMillis = transportService.getThreadPool().rawRelativeTimeInMillis();
         boolean success = false;
         try {
             final long uncompressedBytes;
             try (
                 StreamOutput stream = new PositionTrackingOutputStreamStreamOutput(
-                    CompressorFactory.COMPRESSOR.threadLocalOutputStream(Streams.flushOnCloseStream(bytesStream))
+                    CompressorFactory.xContentCompressor(nodeVersion).threadLocalOutputStream(Streams.flushOnCloseStream(bytesStream))
                 )
             ) {
                 stream.setVersion(nodeVersion);
@@ -272,7 +278,11 @@ public class PublicationTransportHandler {
                 throw new ElasticsearchException("failed to serialize cluster state diff for publishing to node {}", e, node);
             }
             final ReleasableBytesReference result = new ReleasableBytesReference(bytesStream.bytes(), bytesStream);
-            serializationStatsTracker.serializedDiff(uncompressedBytes, result.length());
+            serializationStatsTracker.serializedDiff(
+                uncompressedBytes,
+                result.length(),
+                Math.max(0L, transportService.getThreadPool().rawRelativeTimeInMillis() - serializationStartMillis)
+            );
             logger.trace(
                 "serialized cluster state diff for version [{}] for node version [{}] with size [{}]",
                 clusterStateVersion,
@@ -480,21 +490,25 @@ public class PublicationTransportHandler {
         private long fullStateCount;
         private long totalUncompressedFullStateBytes;
         private long totalCompressedFullStateBytes;
+        private long totalFullStateSerializationMillis;
 
         private long diffCount;
         private long totalUncompressedDiffBytes;
         private long totalCompressedDiffBytes;
+        private long totalDiffSerializationMillis;
 
-        public synchronized void serializedFullState(long uncompressedBytes, int compressedBytes) {
+        public synchronized void serializedFullState(long uncompressedBytes, int compressedBytes, long serializationMillis) {
             fullStateCount += 1;
             totalUncompressedFullStateBytes += uncompressedBytes;
             totalCompressedFullStateBytes += compressedBytes;
+            totalFullStateSerializationMillis += serializationMillis;
         }
 
-        public synchronized void serializedDiff(long uncompressedBytes, int compressedBytes) {
+        public synchronized void serializedDiff(long uncompressedBytes, int compressedBytes, long serializationMillis) {
             diffCount += 1;
             totalUncompressedDiffBytes += uncompressedBytes;
             totalCompressedDiffBytes += compressedBytes;
+            totalDiffSerializationMillis += serializationMillis;
         }
 
         public synchronized ClusterStateSerializationStats getSerializationStats() {
@@ -502,9 +516,11 @@ public class PublicationTransportHandler {
                 fullStateCount,
                 totalUncompressedFullStateBytes,
                 totalCompressedFullStateBytes,
+                totalFullStateSerializationMillis,
                 diffCount,
                 totalUncompressedDiffBytes,
-                totalCompressedDiffBytes
+                totalCompressedDiffBytes,
+                totalDiffSerializationMillis
             );
         }
     }
@@ -57,6 +57,11 @@ public class MetadataMappingService {
     }
 
     class PutMappingExecutor implements ClusterStateTaskExecutor<PutMappingClusterStateUpdateRequest> {
+        @Override
+        public String statsName() {
+            return "put-mapping";
+        }
+
         @Override
         public ClusterTasksResult<PutMappingClusterStateUpdateRequest> execute(
             ClusterState currentState,
@@ -21,6 +21,8 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
 import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.snapshots.RestoreService.RestoreInProgressUpdater;
 import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
@@ -28,6 +30,8 @@ import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -58,6 +62,17 @@ public class RoutingAllocation {
 
     private Map<ShardId, Set<String>> ignoredShardToNodes = null;
 
+    /**
+     * The maximum number of decisions that only depend on the index and the node that are cached during an allocation. Once it is
+     * reached the decisions of the least recently used index are dropped.
+     */
+    static final int MAX_CACHED_INDEX_LEVEL_DECISIONS = 65536;
+
+    // decisions that only depend on the node, and decisions that only depend on the index and the node keyed by index in access order
+    private final Map<Object, Decision> nodeLevelDecisions = new HashMap<>();
+    private final LinkedHashMap<Index, Map<Object, Decision>> indexLevelDecisions = new LinkedHashMap<>(16, 0.75f, true);
+    private int indexLevelDecisionsCount = 0;
+
     private boolean ignoreDisable = false;
 
     private DebugMode debugDecision = DebugMode.OFF;
@@ -300,6 +315,45 @@ public class RoutingAllocation {
         }
     }
 
+    /**
+     * Returns the decision that was cached with the given key for the given index, or for any index if the index is {@code null},
+     * during this allocation, or {@code null} if there is none.
+     * See {@link org.elasticsearch.cluster.routing.allocation.decider.AllocationDecider#decisionGranularity()}.
+     */
+    public Decision getCachedDecision(@Nullable Index index, Object key) {
+        if (index == null) {
+            return nodeLevelDecisions.get(key);
+        }
+        final Map<Object, Decision> decisions = indexLevelDecisions.get(index);
+        return decisions == null ? null : decisions.get(key);
+    }
+
+    /**
+     * Caches a decision that does not depend on the shard for the rest of this allocation. The decisions of the least recently used
+     * indices are dropped once more than {@link #MAX_CACHED_INDEX_LEVEL_DECISIONS} decisions depend on the index.
+     * See {@link org.elasticsearch.cluster.routing.allocation.decider.AllocationDecider#decisionGranularity()}.
+     */
+    public void cacheDecision(@Nullable Index index, Object key, Decision decision) {
+        if (index == null) {
+            nodeLevelDecisions.put(key, decision);
+            return;
+        }
+        if (indexLevelDecisions.computeIfAbsent(index, k -> new HashMap<>()).put(key, decision) != null) {
+            return;
+        }
+        indexLevelDecisionsCount++;
+        // the given index was just accessed so it comes last and is never evicted
+        final Iterator<Map.Entry<Index, Map<Object, Decision>>> iterator = indexLevelDecisions.entrySet().iterator();
+        while (indexLevelDecisionsCount > MAX_CACHED_INDEX_LEVEL_DECISIONS) {
+            final Map.Entry<Index, Map<Object, Decision>> eldest = iterator.next();
+            if (eldest.getKey().equals(index)) {
+                break;
+            }
+            indexLevelDecisionsCount -= eldest.getValue().size();
+            iterator.remove();
+        }
+    }
+
     /**
      * Returns <code>true</code> iff the current allocation run has not processed all of the in-flight or available
      * shard or store fetches. Otherwise <code>true</code>
@@ -238,8 +238,12 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         }
 
         float weight(Balancer balancer, ModelNode node, String index) {
+            return weight(balancer, node, index, balancer.avgShardsPerNode(index));
+        }
+
+        float weight(Balancer balancer, ModelNode node, String index, float avgShardsPerNodeForIndex) {
             final float weightShard = node.numShards() - balancer.avgShardsPerNode();
-            final float weightIndex = node.numShards(index) - balancer.avgShardsPerNode(index);
+            final float weightIndex = node.numShards(index) - avgShardsPerNodeForIndex;
             return theta0 * weightShard + theta1 * weightIndex;
         }
     }
@@ -302,6 +306,23 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             return new NodeSorter(nodesArray(), weight, this);
         }
 
+        /**
+         * Returns the difference between the highest and the lowest weight of all nodes with respect to the given index. This is the
+         * same value as {@link NodeSorter#delta()} after a {@link NodeSorter#reset(String)} but it is computed in a single pass over
+         * the nodes, without sorting them and without changing the order of {@link NodeSorter#modelNodes}.
+         */
+        private float weightDelta(String index) {
+            final float avgShardsPerNodeForIndex = avgShardsPerNode(index);
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (ModelNode node : sorter.modelNodes) {
+                final float nodeWeight = weight.weight(this, node, index, avgShardsPerNodeForIndex);
+                min = Math.min(min, nodeWeight);
+                max = Math.max(max, nodeWeight);
+            }
+            return max - min;
+        }
+
         /**
          * The absolute value difference between two weights.
          */
@@ -489,6 +510,13 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final ModelNode[] modelNodes = sorter.modelNodes;
             final float[] weights = sorter.weights;
             for (String index : buildWeightOrderedIndices()) {
+                if (lessThan(weightDelta(index), threshold)) {
+                    /* The nodes that are relevant for this index are a subset of all nodes, so their weights cannot be further apart
+                     * than the weights of all nodes. No relocation of this index can pass the threshold, which means that we can skip
+                     * the index without asking the allocation deciders about every node. On large clusters most indices are balanced
+                     * on most reroutes and these decider calls used to dominate the cost of balancing. */
+                    continue;
+                }
                 IndexMetadata indexMetadata = metadata.index(index);
 
                 // find nodes that have a shard of this index or where shards of this index are allowed to be allocated to,
@@ -622,8 +650,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final String[] indices = allocation.routingTable().indicesRouting().keys().toArray(String.class);
             final float[] deltas = new float[indices.length];
             for (int i = 0; i < deltas.length; i++) {
-                sorter.reset(indices[i]);
-                deltas[i] = sorter.delta();
+                deltas[i] = weightDelta(indices[i]);
             }
             new IntroSorter() {
 
@@ -139,4 +139,34 @@ public abstract class AllocationDecider {
     public Decision canAllocateReplicaWhenThereIsRetentionLease(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
         return canAllocate(shardRouting, node, allocation);
     }
+
+    /**
+     * Returns what the decisions of {@link #canAllocate(ShardRouting, RoutingNode, RoutingAllocation)},
+     * {@link #canRemain(ShardRouting, RoutingNode, RoutingAllocation)} and
+     * {@link #canAllocate(IndexMetadata, RoutingNode, RoutingAllocation)} depend on. Deciders that return something coarser than
+     * {@link DecisionGranularity#SHARD} must not look at the shard beyond its index, nor at the allocation of other shards, and their
+     * decisions are reused by {@link AllocationDeciders} for the duration of a single {@link RoutingAllocation}.
+     * The default is {@link DecisionGranularity#SHARD}.
+     */
+    public DecisionGranularity decisionGranularity() {
+        return DecisionGranularity.SHARD;
+    }
+
+    /**
+     * The inputs of a shard level decision, apart from the metadata and the settings that don't change during an allocation.
+     */
+    public enum DecisionGranularity {
+        /**
+         * The decision depends on the shard, or on where other shards are allocated, and is made again on every call
+         */
+        SHARD,
+        /**
+         * The decision only depends on the index of the shard and on the node
+         */
+        INDEX_AND_NODE,
+        /**
+         * The decision only depends on the node
+         */
+        NODE
+    }
 }
@@ -15,6 +15,8 @@ import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.routing.RoutingNode;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.Index;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -59,7 +61,7 @@ public class AllocationDeciders extends AllocationDecider {
         }
         Decision.Multi ret = new Decision.Multi();
         for (AllocationDecider allocationDecider : allocations) {
-            Decision decision = allocationDecider.canAllocate(shardRouting, node, allocation);
+            Decision decision = decide(allocationDecider, Operation.CAN_ALLOCATE, shardRouting, null, node, allocation);
             // short track if a NO is returned.
             if (decision.type() == Decision.Type.NO) {
                 if (logger.isTraceEnabled()) {
@@ -93,7 +95,7 @@ public class AllocationDeciders extends AllocationDecider {
         }
         Decision.Multi ret = new Decision.Multi();
         for (AllocationDecider allocationDecider : allocations) {
-            Decision decision = allocationDecider.canRemain(shardRouting, node, allocation);
+            Decision decision = decide(allocationDecider, Operation.CAN_REMAIN, shardRouting, null, node, allocation);
             // short track if a NO is returned.
             if (decision.type() == Decision.Type.NO) {
                 if (logger.isTraceEnabled()) {
@@ -120,7 +122,7 @@ public class AllocationDeciders extends AllocationDecider {
     public Decision canAllocate(IndexMetadata indexMetadata, RoutingNode node, RoutingAllocation allocation) {
         Decision.Multi ret = new Decision.Multi();
         for (AllocationDecider allocationDecider : allocations) {
-            Decision decision = allocationDecider.canAllocate(indexMetadata, node, allocation);
+            Decision decision = decide(allocationDecider, Operation.CAN_ALLOCATE_INDEX, null, indexMetadata, node, allocation);
             // short track if a NO is returned.
             if (decision.type() == Decision.Type.NO) {
                 if (allocation.debugDecision() == false) {
@@ -265,6 +267,113 @@ public class AllocationDeciders extends AllocationDecider {
         return ret;
     }
 
+    /**
+     * Asks the given decider whether the shard can be allocated to, or remain on, the node, or whether shards of the given index can be
+     * allocated to the node. The decisions of deciders that do not depend on the shard are reused for the rest of the allocation, see
+     * {@link AllocationDecider#decisionGranularity()}. Decisions are not cached in debug mode since they carry explanations then.
+     */
+    private static Decision decide(
+        AllocationDecider decider,
+        Operation operation,
+        @Nullable ShardRouting shardRouting,
+        @Nullable IndexMetadata indexMetadata,
+        RoutingNode node,
+        RoutingAllocation allocation
+    ) {
+        final AllocationDecider.DecisionGranularity granularity = decider.decisionGranularity();
+        if (granularity == AllocationDecider.DecisionGranularity.SHARD || allocation.debugDecision()) {
+            return operation.decide(decider, shardRouting, indexMetadata, node, allocation);
+        }
+        final Index index;
+        if (granularity == AllocationDecider.DecisionGranularity.INDEX_AND_NODE) {
+            index = shardRouting != null ? shardRouting.index() : indexMetadata.getIndex();
+        } else {
+            index = null;
+        }
+        final CachedDecisionKey key = new CachedDecisionKey(decider, operation, node.nodeId());
+        Decision decision = allocation.getCachedDecision(index, key);
+        if (decision == null) {
+            decision = operation.decide(decider, shardRouting, indexMetadata, node, allocation);
+            allocation.cacheDecision(index, key, decision);
+        }
+        return decision;
+    }
+
+    private enum Operation {
+        CAN_ALLOCATE {
+            @Override
+            Decision decide(
+                AllocationDecider decider,
+                ShardRouting shardRouting,
+                IndexMetadata indexMetadata,
+                RoutingNode node,
+                RoutingAllocation allocation
+            ) {
+                return decider.canAllocate(shardRouting, node, allocation);
+            }
+        },
+        CAN_REMAIN {
+            @Override
+            Decision decide(
+                AllocationDecider decider,
+                ShardRouting shardRouting,
+                IndexMetadata indexMetadata,
+                RoutingNode node,
+                RoutingAllocation allocation
+            ) {
+                return decider.canRemain(shardRouting, node, allocation);
+            }
+        },
+        CAN_ALLOCATE_INDEX {
+            @Override
+            Decision decide(
+                AllocationDecider decider,
+                ShardRouting shardRouting,
+                IndexMetadata indexMetadata,
+                RoutingNode node,
+                RoutingAllocation allocation
+            ) {
+                return decider.canAllocate(indexMetadata, node, allocation);
+            }
+        };
+
+        abstract Decision decide(
+            AllocationDecider decider,
+            ShardRouting shardRouting,
+            IndexMetadata indexMetadata,
+            RoutingNode node,
+            RoutingAllocation allocation
+        );
+    }
+
+    private static final class CachedDecisionKey {
+        private final AllocationDecider decider;
+        private final Operation operation;
+        private final String nodeId;
+
+        CachedDecisionKey(AllocationDecider decider, Operation operation, String nodeId) {
+            this.decider = decider;
+            this.operation = operation;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CachedDecisionKey that = (CachedDecisionKey) o;
+            return decider == that.decider && operation == that.operation && nodeId.equals(that.nodeId);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(decider);
+            result = 31 * result + operation.hashCode();
+            result = 31 * result + nodeId.hashCode();
+            return result;
+        }
+    }
+
     private void addDecision(Decision.Multi ret, Decision decision, RoutingAllocation allocation) {
         // We never add ALWAYS decisions and only add YES decisions when requested by debug mode (since Multi default is YES).
         if (decision != Decision.ALWAYS
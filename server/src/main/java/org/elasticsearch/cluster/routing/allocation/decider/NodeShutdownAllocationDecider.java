@@ -79,6 +79,14 @@ public class NodeShutdownAllocationDecider extends AllocationDecider {
         return this.canAllocate(shardRouting, node, allocation);
     }
 
+    /**
+     * Decisions only depend on the shutdown metadata of the node.
+     */
+    @Override
+    public DecisionGranularity decisionGranularity() {
+        return DecisionGranularity.NODE;
+    }
+
     /**
      * Prevents indices from being auto-expanded to nodes which are in the process of shutting down, regardless of whether they're shutting
      * down for restart or removal.
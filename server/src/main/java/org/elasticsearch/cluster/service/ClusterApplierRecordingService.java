@@ -79,6 +79,19 @@ public final class ClusterApplierRecordingService {
             return this::stop;
         }
 
+        /**
+         * Records the time spent in a phase of the action that is currently being recorded, under the name of the action followed by
+         * the name of the phase. Phases don't stop the recording of the action, so the time of the action includes its phases.
+         */
+        Releasable recordPhase(String phase) {
+            if (recording == false) {
+                throw new IllegalStateException("not recording");
+            }
+            final String action = currentAction + "/" + phase;
+            final long phaseStartTimeMS = currentTimeSupplier.getAsLong();
+            return () -> recordings.add(new Tuple<>(action, currentTimeSupplier.getAsLong() - phaseStartTimeMS));
+        }
+
         void stop() {
             recording = false;
             long timeSpentMS = currentTimeSupplier.getAsLong() - this.startTimeMS;
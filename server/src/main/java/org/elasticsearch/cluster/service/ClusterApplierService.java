@@ -88,6 +88,9 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
 
     private final ClusterApplierRecordingService recordingService;
 
+    // only accessed on the applier thread, set while the cluster state appliers are called
+    private Recorder currentRecorder;
+
     private NodeConnectionsService nodeConnectionsService;
 
     public ClusterApplierService(String nodeName, Settings settings, ClusterSettings clusterSettings, ThreadPool threadPool) {
@@ -527,9 +530,24 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
     }
 
     private void callClusterStateAppliers(ClusterChangedEvent clusterChangedEvent, Recorder stopWatch) {
-        callClusterStateAppliers(clusterChangedEvent, stopWatch, highPriorityStateAppliers);
-        callClusterStateAppliers(clusterChangedEvent, stopWatch, normalPriorityStateAppliers);
-        callClusterStateAppliers(clusterChangedEvent, stopWatch, lowPriorityStateAppliers);
+        currentRecorder = stopWatch;
+        try {
+            callClusterStateAppliers(clusterChangedEvent, stopWatch, highPriorityStateAppliers);
+            callClusterStateAppliers(clusterChangedEvent, stopWatch, normalPriorityStateAppliers);
+            callClusterStateAppliers(clusterChangedEvent, stopWatch, lowPriorityStateAppliers);
+        } finally {
+            currentRecorder = null;
+        }
+    }
+
+    /**
+     * Records the time spent in a phase of the {@link ClusterStateApplier} that is currently being called. The phase shows up in the
+     * cluster applier stats as the name of the applier followed by the name of the phase. Must be called on the applier thread from
+     * within {@link ClusterStateApplier#applyClusterState}, anywhere else the returned {@link Releasable} does nothing.
+     */
+    public Releasable recordPhase(String phase) {
+        final Recorder recorder = currentRecorder;
+        return recorder == null ? () -> {} : recorder.recordPhase(phase);
     }
 
     private static void callClusterStateAppliers(
@@ -17,13 +17,17 @@ import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  * Various statistics (timing information etc) about cluster state updates coordinated by this node.
  */
 public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
 
+    private static final Version EXECUTOR_STATS_VERSION = Version.V_8_1_0;
+
     private final long unchangedTaskCount;
     private final long publicationSuccessCount;
     private final long publicationFailureCount;
@@ -46,6 +50,8 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
     private final long failedMasterApplyElapsedMillis;
     private final long failedNotificationElapsedMillis;
 
+    private final Map<String, ExecutorStats> executorStats;
+
     public ClusterStateUpdateStats(
         long unchangedTaskCount,
         long publicationSuccessCount,
@@ -66,6 +72,52 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         long failedCompletionElapsedMillis,
         long failedMasterApplyElapsedMillis,
         long failedNotificationElapsedMillis
+    ) {
+        this(
+            unchangedTaskCount,
+            publicationSuccessCount,
+            publicationFailureCount,
+            unchangedComputationElapsedMillis,
+            unchangedNotificationElapsedMillis,
+            successfulComputationElapsedMillis,
+            successfulPublicationElapsedMillis,
+            successfulContextConstructionElapsedMillis,
+            successfulCommitElapsedMillis,
+            successfulCompletionElapsedMillis,
+            successfulMasterApplyElapsedMillis,
+            successfulNotificationElapsedMillis,
+            failedComputationElapsedMillis,
+            failedPublicationElapsedMillis,
+            failedContextConstructionElapsedMillis,
+            failedCommitElapsedMillis,
+            failedCompletionElapsedMillis,
+            failedMasterApplyElapsedMillis,
+            failedNotificationElapsedMillis,
+            Map.of()
+        );
+    }
+
+    public ClusterStateUpdateStats(
+        long unchangedTaskCount,
+        long publicationSuccessCount,
+        long publicationFailureCount,
+        long unchangedComputationElapsedMillis,
+        long unchangedNotificationElapsedMillis,
+        long successfulComputationElapsedMillis,
+        long successfulPublicationElapsedMillis,
+        long successfulContextConstructionElapsedMillis,
+        long successfulCommitElapsedMillis,
+        long successfulCompletionElapsedMillis,
+        long successfulMasterApplyElapsedMillis,
+        long successfulNotificationElapsedMillis,
+        long failedComputationElapsedMillis,
+        long failedPublicationElapsedMillis,
+        long failedContextConstructionElapsedMillis,
+        long failedCommitElapsedMillis,
+        long failedCompletionElapsedMillis,
+        long failedMasterApplyElapsedMillis,
+        long failedNotificationElapsedMillis,
+        Map<String, ExecutorStats> executorStats
     ) {
         this.unchangedTaskCount = nonNegative(unchangedTaskCount);
         this.publicationSuccessCount = nonNegative(publicationSuccessCount);
@@ -86,6 +138,7 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         this.failedCompletionElapsedMillis = nonNegative(failedCompletionElapsedMillis);
         this.failedMasterApplyElapsedMillis = nonNegative(failedMasterApplyElapsedMillis);
         this.failedNotificationElapsedMillis = nonNegative(failedNotificationElapsedMillis);
+        this.executorStats = Map.copyOf(executorStats);
     }
 
     private static long nonNegative(long v) {
@@ -113,6 +166,11 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         this.failedCompletionElapsedMillis = in.readVLong();
         this.failedMasterApplyElapsedMillis = in.readVLong();
         this.failedNotificationElapsedMillis = in.readVLong();
+        if (in.getVersion().onOrAfter(EXECUTOR_STATS_VERSION)) {
+            this.executorStats = in.readMap(StreamInput::readString, ExecutorStats::new);
+        } else {
+            this.executorStats = Map.of();
+        }
     }
 
     @Override
@@ -137,6 +195,9 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         out.writeVLong(failedCompletionElapsedMillis);
         out.writeVLong(failedMasterApplyElapsedMillis);
         out.writeVLong(failedNotificationElapsedMillis);
+        if (out.getVersion().onOrAfter(EXECUTOR_STATS_VERSION)) {
+            out.writeMap(executorStats, StreamOutput::writeString, (o, v) -> v.writeTo(o));
+        }
     }
 
     public static ClusterStateUpdateStats EMPTY = new ClusterStateUpdateStats(
@@ -237,6 +298,14 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         return failedNotificationElapsedMillis;
     }
 
+    /**
+     * @return the statistics of the batches that were computed by this node, keyed by the stats name of their task executor, see
+     * {@link org.elasticsearch.cluster.ClusterStateTaskExecutor#statsName()}
+     */
+    public Map<String, ExecutorStats> getExecutorStats() {
+        return executorStats;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject("cluster_state_update");
@@ -269,6 +338,14 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         msField(builder, "notification", failedNotificationElapsedMillis);
         builder.endObject();
 
+        builder.startObject("executors");
+        for (Map.Entry<String, ExecutorStats> entry : new TreeMap<>(executorStats).entrySet()) {
+            builder.startObject(entry.getKey());
+            entry.getValue().toXContent(builder, params);
+            builder.endObject();
+        }
+        builder.endObject();
+
         builder.endObject();
         return builder;
     }
@@ -300,7 +377,8 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
             && failedCommitElapsedMillis == that.failedCommitElapsedMillis
             && failedCompletionElapsedMillis == that.failedCompletionElapsedMillis
             && failedMasterApplyElapsedMillis == that.failedMasterApplyElapsedMillis
-            && failedNotificationElapsedMillis == that.failedNotificationElapsedMillis;
+            && failedNotificationElapsedMillis == that.failedNotificationElapsedMillis
+            && executorStats.equals(that.executorStats);
     }
 
     @Override
@@ -324,7 +402,105 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
             failedCommitElapsedMillis,
             failedCompletionElapsedMillis,
             failedMasterApplyElapsedMillis,
-            failedNotificationElapsedMillis
+            failedNotificationElapsedMillis,
+            executorStats
         );
     }
+
+    /**
+     * Statistics about the batches of tasks that share a {@link org.elasticsearch.cluster.ClusterStateTaskExecutor}.
+     */
+    public static class ExecutorStats implements Writeable, ToXContentFragment {
+
+        private final long batchCount;
+        private final long taskCount;
+        private final long queueElapsedMillis;
+        private final long computationElapsedMillis;
+
+        public ExecutorStats(long batchCount, long taskCount, long queueElapsedMillis, long computationElapsedMillis) {
+            this.batchCount = nonNegative(batchCount);
+            this.taskCount = nonNegative(taskCount);
+            this.queueElapsedMillis = nonNegative(queueElapsedMillis);
+            this.computationElapsedMillis = nonNegative(computationElapsedMillis);
+        }
+
+        public ExecutorStats(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(batchCount);
+            out.writeVLong(taskCount);
+            out.writeVLong(queueElapsedMillis);
+            out.writeVLong(computationElapsedMillis);
+        }
+
+        /**
+         * @return the number of batches that were computed
+         */
+        public long getBatchCount() {
+            return batchCount;
+        }
+
+        /**
+         * @return the number of tasks in these batches, which divided by the number of batches gives the average batch size
+         */
+        public long getTaskCount() {
+            return taskCount;
+        }
+
+        /**
+         * @return the total time the tasks spent in the pending tasks queue before their batch was computed
+         */
+        public long getQueueElapsedMillis() {
+            return queueElapsedMillis;
+        }
+
+        /**
+         * @return the total time spent computing the new cluster states of these batches
+         */
+        public long getComputationElapsedMillis() {
+            return computationElapsedMillis;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.field("batch_count", batchCount);
+            builder.field("task_count", taskCount);
+            msField(builder, "queue", queueElapsedMillis);
+            msField(builder, "computation", computationElapsedMillis);
+            return builder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ExecutorStats that = (ExecutorStats) o;
+            return batchCount == that.batchCount
+                && taskCount == that.taskCount
+                && queueElapsedMillis == that.queueElapsedMillis
+                && computationElapsedMillis == that.computationElapsedMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(batchCount, taskCount, queueElapsedMillis, computationElapsedMillis);
+        }
+
+        @Override
+        public String toString() {
+            return "ExecutorStats{"
+                + "batchCount="
+                + batchCount
+                + ", taskCount="
+                + taskCount
+                + ", queueElapsedMillis="
+                + queueElapsedMillis
+                + ", computationElapsedMillis="
+                + computationElapsedMillis
+                + '}';
+        }
+    }
 }
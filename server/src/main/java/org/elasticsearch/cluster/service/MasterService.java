@@ -46,6 +46,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -231,11 +232,22 @@ public class MasterService extends AbstractLifecycleComponent {
             return;
         }
 
+        long queueElapsedMillis = 0L;
+        for (Batcher.UpdateTask updateTask : taskInputs.updateTasks) {
+            queueElapsedMillis += updateTask.getAgeInMillis();
+        }
+
         final long computationStartTime = threadPool.rawRelativeTimeInMillis();
         final TaskOutputs taskOutputs = calculateTaskOutputs(taskInputs, previousClusterState);
         taskOutputs.notifyFailedTasks();
         final TimeValue computationTime = getTimeSince(computationStartTime);
         logExecutionTime(computationTime, "compute cluster state update", summary);
+        clusterStateUpdateStatsTracker.onBatchComputed(
+            statsName(taskInputs.executor),
+            taskInputs.updateTasks.size(),
+            queueElapsedMillis,
+            computationTime.millis()
+        );
 
         if (taskOutputs.clusterStateUnchanged()) {
             final long notificationStartTime = threadPool.rawRelativeTimeInMillis();
@@ -283,6 +295,21 @@ public class MasterService extends AbstractLifecycleComponent {
         }
     }
 
+    /**
+     * The name under which the batches of the given executor are reported in the {@link ClusterStateUpdateStats}: its explicit stats name
+     * if it has one, otherwise the fully-qualified name of its class. Lambdas and method references get a hidden class whose name is not
+     * stable, so they are reported under the name of the class that declares them.
+     */
+    static String statsName(ClusterStateTaskExecutor<?> executor) {
+        final String name = executor.statsName();
+        if (name != null) {
+            return name;
+        }
+        final String className = executor.getClass().getName();
+        final int lambdaIndex = className.indexOf("$$Lambda");
+        return lambdaIndex == -1 ? className : className.substring(0, lambdaIndex);
+    }
+
     private TimeValue getTimeSince(long startTimeMillis) {
         return TimeValue.timeValueMillis(Math.max(0, threadPool.rawRelativeTimeInMillis() - startTimeMillis));
     }
@@ -1028,6 +1055,16 @@ public class MasterService extends AbstractLifecycleComponent {
         private long failedMasterApplyElapsedMillis;
         private long failedNotificationElapsedMillis;
 
+        private final Map<String, ExecutorStatsTracker> executorStats = new HashMap<>();
+
+        synchronized void onBatchComputed(String executor, int taskCount, long queueElapsedMillis, long computationElapsedMillis) {
+            final ExecutorStatsTracker tracker = executorStats.computeIfAbsent(executor, k -> new ExecutorStatsTracker());
+            tracker.batchCount += 1;
+            tracker.taskCount += taskCount;
+            tracker.queueElapsedMillis += queueElapsedMillis;
+            tracker.computationElapsedMillis += computationElapsedMillis;
+        }
+
         synchronized void onUnchangedClusterState(long computationElapsedMillis, long notificationElapsedMillis) {
             unchangedTaskCount += 1;
             unchangedComputationElapsedMillis += computationElapsedMillis;
@@ -1065,6 +1102,19 @@ public class MasterService extends AbstractLifecycleComponent {
         }
 
         synchronized ClusterStateUpdateStats getStatistics() {
+            final Map<String, ClusterStateUpdateStats.ExecutorStats> executorStatistics = new HashMap<>(executorStats.size());
+            for (Map.Entry<String, ExecutorStatsTracker> entry : executorStats.entrySet()) {
+                final ExecutorStatsTracker tracker = entry.getValue();
+                executorStatistics.put(
+                    entry.getKey(),
+                    new ClusterStateUpdateStats.ExecutorStats(
+                        tracker.batchCount,
+                        tracker.taskCount,
+                        tracker.queueElapsedMillis,
+                        tracker.computationElapsedMillis
+                    )
+                );
+            }
             return new ClusterStateUpdateStats(
                 unchangedTaskCount,
                 publicationSuccessCount,
@@ -1084,9 +1134,18 @@ public class MasterService extends AbstractLifecycleComponent {
                 failedCommitElapsedMillis,
                 failedCompletionElapsedMillis,
                 failedMasterApplyElapsedMillis,
-                failedNotificationElapsedMillis
+                failedNotificationElapsedMillis,
+                executorStatistics
             );
         }
+
+        // accesses of these mutable fields are synchronized on the enclosing tracker
+        private static class ExecutorStatsTracker {
+            private long batchCount;
+            private long taskCount;
+            private long queueElapsedMillis;
+            private long computationElapsedMillis;
+        }
     }
 
 }
@@ -18,6 +18,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -50,6 +52,14 @@ import java.util.function.ToLongBiFunction;
  * <li>Locks on the list could be taken per node being modified instead of globally.</li>
  * </ol>
  * <p>
+ * The first two are implemented by the frequency-aware eviction mode, see
+ * {@link CacheBuilder#setFrequencyAwareEviction(boolean)}. In this mode, hits on existing entries are recorded in small
+ * per-thread-stripe buffers instead of being applied to the LRU list right away, and the buffers are drained under the LRU lock
+ * when they are full or when the cache is mutated. A hit that cannot be recorded because its buffer is full while the lock is held
+ * by another thread is dropped, so the LRU order is only approximate. The drained accesses also feed a {@link FrequencySketch} so
+ * that, when the cache is full, a new entry is only kept if it has been requested more often recently than the least recently used
+ * entry that it would evict (TinyLFU). This prevents a scan over keys that are used only once from flushing the cache.
+ * <p>
  * Evictions only occur after a mutation to the cache (meaning an entry promotion, a cache insertion, or a manual
  * invalidation) or an explicit call to {@link #refresh()}.
  *
@@ -91,6 +101,14 @@ public class Cache<K, V> {
     // the removal callback
     private RemovalListener<K, V> removalListener = notification -> {};
 
+    // non-null if hits are buffered and new entries are admitted based on the frequency of their keys
+    private ReadBuffer<K, V>[] readBuffers;
+
+    // the recent frequency of keys if the cache is bounded, only accessed under the LRU lock
+    private FrequencySketch frequencySketch;
+
+    private final Consumer<Entry<K, V>> onAccess = this::onAccess;
+
     // use CacheBuilder to construct
     Cache() {}
 
@@ -137,6 +155,23 @@ public class Cache<K, V> {
         this.removalListener = removalListener;
     }
 
+    @SuppressWarnings("unchecked")
+    void enableFrequencyAwareEviction() {
+        final int stripes = Math.min(64, Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors() - 1) << 1);
+        final ReadBuffer<K, V>[] buffers = (ReadBuffer<K, V>[]) new ReadBuffer<?, ?>[stripes];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ReadBuffer<>();
+        }
+        this.readBuffers = buffers;
+        // frequencies are only needed to decide what to evict when the cache is full
+        this.frequencySketch = maximumWeight != -1 ? new FrequencySketch(1024) : null;
+    }
+
+    // pkg-private for testing
+    boolean isFrequencyAwareEviction() {
+        return readBuffers != null;
+    }
+
     /**
      * The relative time used to track time-based evictions.
      *
@@ -171,6 +206,52 @@ public class Cache<K, V> {
         }
     }
 
+    /**
+     * A bounded buffer of entries that were hit, which is drained under the LRU lock. Recording an entry does not block: it fails
+     * if another thread is recording an entry in the same buffer at the same time or if the buffer is full.
+     */
+    private static final class ReadBuffer<K, V> {
+        static final int SIZE = 16;
+        static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Entry<K, V>> slots = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        // only modified under the LRU lock
+        private volatile long readCounter;
+
+        /**
+         * Records the given entry and returns whether the buffer is full and should be drained.
+         */
+        boolean offer(Entry<K, V> entry) {
+            final long head = readCounter;
+            final long tail = writeCounter.get();
+            if (tail - head >= SIZE) {
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) (tail & MASK), entry);
+                return tail + 1 - head >= SIZE;
+            }
+            return false;
+        }
+
+        void drainTo(Consumer<Entry<K, V>> consumer) {
+            long head = readCounter;
+            final long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                final int index = (int) (head & MASK);
+                final Entry<K, V> entry = slots.get(index);
+                if (entry == null) {
+                    // the slot was claimed but the entry is not visible yet, it will be drained next time
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(entry);
+            }
+            readCounter = head;
+        }
+    }
+
     /**
      * A cache segment.
      * <p>
@@ -559,6 +640,9 @@ public class Cache<K, V> {
     public void refresh() {
         long now = now();
         try (ReleasableLock ignored = lruLock.acquire()) {
+            if (readBuffers != null) {
+                drainReadBuffers();
+            }
             evict(now);
         }
     }
@@ -735,8 +819,19 @@ public class Cache<K, V> {
     }
 
     private void promote(Entry<K, V> entry, long now) {
+        if (readBuffers != null && entry.state == State.EXISTING) {
+            recordAccess(entry, now);
+            return;
+        }
         boolean promoted = true;
         try (ReleasableLock ignored = lruLock.acquire()) {
+            Entry<K, V> candidate = null;
+            if (readBuffers != null) {
+                drainReadBuffers();
+                if (frequencySketch != null) {
+                    frequencySketch.increment(entry.key.hashCode());
+                }
+            }
             switch (entry.state) {
                 case DELETED:
                     promoted = false;
@@ -746,22 +841,81 @@ public class Cache<K, V> {
                     break;
                 case NEW:
                     linkAtHead(entry);
+                    if (frequencySketch != null) {
+                        candidate = entry;
+                        if (count > frequencySketch.capacity()) {
+                            frequencySketch.ensureCapacity(2L * count);
+                        }
+                    }
                     break;
             }
             if (promoted) {
-                evict(now);
+                evict(now, candidate);
             }
         }
     }
 
+    private void recordAccess(Entry<K, V> entry, long now) {
+        final ReadBuffer<K, V> buffer = readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)];
+        if (buffer.offer(entry)) {
+            // don't wait if another thread is draining the buffers already
+            try (ReleasableLock locked = lruLock.tryAcquire()) {
+                if (locked != null) {
+                    drainReadBuffers();
+                    evict(now);
+                }
+            }
+        }
+    }
+
+    private void drainReadBuffers() {
+        assert lruLock.isHeldByCurrentThread();
+
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drainTo(onAccess);
+        }
+    }
+
+    private void onAccess(Entry<K, V> entry) {
+        assert lruLock.isHeldByCurrentThread();
+
+        if (frequencySketch != null) {
+            frequencySketch.increment(entry.key.hashCode());
+        }
+        if (entry.state == State.EXISTING) {
+            relinkAtHead(entry);
+        }
+    }
+
     private void evict(long now) {
+        evict(now, null);
+    }
+
+    /**
+     * Evicts entries from the tail of the LRU list until the cache is within its limits. If a newly added candidate entry is
+     * provided then it is evicted instead of an entry that is accessed more frequently.
+     */
+    private void evict(long now, Entry<K, V> candidate) {
         assert lruLock.isHeldByCurrentThread();
 
         while (tail != null && shouldPrune(tail, now)) {
-            evictEntry(tail);
+            if (candidate != null
+                && candidate != tail
+                && candidate.state == State.EXISTING
+                && isExpired(tail, now) == false
+                && admit(candidate, tail) == false) {
+                evictEntry(candidate);
+                candidate = null;
+            } else {
+                evictEntry(tail);
+            }
         }
     }
 
+    private boolean admit(Entry<K, V> candidate, Entry<K, V> victim) {
+        return frequencySketch.frequency(candidate.key.hashCode()) > frequencySketch.frequency(victim.key.hashCode());
+    }
+
     private void evictEntry(Entry<K, V> entry) {
         assert lruLock.isHeldByCurrentThread();
 
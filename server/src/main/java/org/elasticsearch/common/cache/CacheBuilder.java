@@ -19,6 +19,7 @@ public class CacheBuilder<K, V> {
     private long expireAfterWriteNanos = -1;
     private ToLongBiFunction<K, V> weigher;
     private RemovalListener<K, V> removalListener;
+    private boolean frequencyAwareEviction;
 
     public static <K, V> CacheBuilder<K, V> builder() {
         return new CacheBuilder<>();
@@ -78,6 +79,16 @@ public class CacheBuilder<K, V> {
         return this;
     }
 
+    /**
+     * Sets whether hits should be recorded in buffers that are applied to the LRU list in batches, rather than under a global lock on
+     * every hit, and whether new entries should only evict entries that are accessed less frequently. This improves the throughput of
+     * hot caches and protects them from scans at the expense of an approximate LRU order.
+     */
+    public CacheBuilder<K, V> setFrequencyAwareEviction(boolean frequencyAwareEviction) {
+        this.frequencyAwareEviction = frequencyAwareEviction;
+        return this;
+    }
+
     public Cache<K, V> build() {
         Cache<K, V> cache = new Cache<>();
         if (maximumWeight != -1) {
@@ -95,6 +106,9 @@ public class CacheBuilder<K, V> {
         if (removalListener != null) {
             cache.setRemovalListener(removalListener);
         }
+        if (frequencyAwareEviction) {
+            cache.enableFrequencyAwareEviction();
+        }
         return cache;
     }
 }
@@ -8,6 +8,8 @@
 
 package org.elasticsearch.common.compress;
 
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.Version;
 import org.elasticsearch.common.bytes.BytesArray;
@@ -55,6 +57,9 @@ public final class CompressedXContent {
     }
 
     private static String sha256FromCompressed(byte[] compressed) {
+        if (isDeflate(compressed) == false) {
+            return sha256(uncompress(compressed));
+        }
         MessageDigest messageDigest = MessageDigests.sha256();
         try (InflaterAndBuffer inflaterAndBuffer = inflater.get()) {
             final Inflater inflater = inflaterAndBuffer.inflater;
@@ -93,7 +98,10 @@ public final class CompressedXContent {
     public CompressedXContent(ToXContent xcontent, ToXContent.Params params) throws IOException {
         BytesStreamOutput bStream = new BytesStreamOutput();
         MessageDigest messageDigest = MessageDigests.sha256();
-        OutputStream checkedStream = new DigestOutputStream(CompressorFactory.COMPRESSOR.threadLocalOutputStream(bStream), messageDigest);
+        OutputStream checkedStream = new DigestOutputStream(
+            CompressorFactory.XCONTENT_COMPRESSOR.threadLocalOutputStream(bStream),
+            messageDigest
+        );
         try (XContentBuilder builder = XContentFactory.jsonBuilder(checkedStream)) {
             if (xcontent.isFragment()) {
                 builder.startObject();
@@ -119,7 +127,7 @@ public final class CompressedXContent {
             this.bytes = BytesReference.toBytes(data);
             this.sha256 = sha256FromCompressed(this.bytes);
         } else {
-            this.bytes = BytesReference.toBytes(CompressorFactory.COMPRESSOR.compress(data));
+            this.bytes = BytesReference.toBytes(CompressorFactory.XCONTENT_COMPRESSOR.compress(data));
             this.sha256 = sha256(data);
         }
         assertConsistent();
@@ -151,11 +159,7 @@ public final class CompressedXContent {
 
     /** Return the uncompressed bytes. */
     public BytesReference uncompressed() {
-        try {
-            return CompressorFactory.uncompress(new BytesArray(bytes));
-        } catch (IOException e) {
-            throw new IllegalStateException("Cannot decompress compressed string", e);
-        }
+        return uncompress(bytes);
     }
 
     public String string() {
@@ -187,7 +191,12 @@ public final class CompressedXContent {
             int crc32 = crc32FromCompressed(bytes);
             out.writeInt(crc32);
         }
-        out.writeByteArray(bytes);
+        if (isDeflate(bytes) || out.getVersion().onOrAfter(Lz4Compressor.MINIMUM_COMPATIBLE_VERSION)) {
+            out.writeByteArray(bytes);
+        } else {
+            // older nodes can only read deflate compressed xcontent
+            out.writeBytesReference(CompressorFactory.COMPRESSOR.compress(uncompressed()));
+        }
     }
 
     @Override
@@ -211,6 +220,19 @@ public final class CompressedXContent {
 
     private static int crc32FromCompressed(byte[] compressed) {
         CRC32 crc32 = new CRC32();
+        if (isDeflate(compressed) == false) {
+            final BytesReference uncompressed = uncompress(compressed);
+            final BytesRefIterator iterator = uncompressed.iterator();
+            try {
+                BytesRef ref;
+                while ((ref = iterator.next()) != null) {
+                    crc32.update(ref.bytes, ref.offset, ref.length);
+                }
+            } catch (IOException e) {
+                throw new AssertionError("cannot happen", e);
+            }
+            return (int) crc32.getValue();
+        }
         try (InflaterAndBuffer inflaterAndBuffer = inflater.get()) {
             final Inflater inflater = inflaterAndBuffer.inflater;
             final ByteBuffer buffer = inflaterAndBuffer.buffer;
@@ -228,6 +250,18 @@ public final class CompressedXContent {
         }
     }
 
+    private static boolean isDeflate(byte[] compressed) {
+        return CompressorFactory.COMPRESSOR.isCompressed(new BytesArray(compressed));
+    }
+
+    private static BytesReference uncompress(byte[] compressed) {
+        try {
+            return CompressorFactory.uncompress(new BytesArray(compressed));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot decompress compressed string", e);
+        }
+    }
+
     /**
      * Set the given bytes as inflater input, accounting for the fact that they start with our header of size
      * {@link DeflateCompressor#HEADER_SIZE}.
@@ -8,6 +8,7 @@
 
 package org.elasticsearch.common.compress;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.Nullable;
@@ -20,18 +21,53 @@ public class CompressorFactory {
 
     public static final Compressor COMPRESSOR = new DeflateCompressor();
 
+    public static final Compressor LZ4_COMPRESSOR = new Lz4Compressor();
+
+    /**
+     * The compressor used for new {@link CompressedXContent} instances and for cluster state publications, selected with the
+     * {@code es.xcontent.compressor} system property. Bytes compressed with any of the known compressors are detected by their header
+     * so this only changes how new bytes are compressed.
+     */
+    public static final Compressor XCONTENT_COMPRESSOR = xContentCompressor(System.getProperty("es.xcontent.compressor", "deflate"));
+
+    private static final Compressor[] COMPRESSORS = new Compressor[] { COMPRESSOR, LZ4_COMPRESSOR };
+
+    static Compressor xContentCompressor(String name) {
+        switch (name) {
+            case "deflate":
+                return COMPRESSOR;
+            case "lz4":
+                return LZ4_COMPRESSOR;
+            default:
+                throw new IllegalArgumentException("unknown xcontent compressor [" + name + "], must be one of [deflate, lz4]");
+        }
+    }
+
+    /**
+     * Returns the compressor to use for xcontent that is sent to a node of the given version, falling back to {@link #COMPRESSOR}
+     * if that node cannot read {@link #XCONTENT_COMPRESSOR}.
+     */
+    public static Compressor xContentCompressor(Version version) {
+        if (XCONTENT_COMPRESSOR == LZ4_COMPRESSOR && version.before(Lz4Compressor.MINIMUM_COMPATIBLE_VERSION)) {
+            return COMPRESSOR;
+        }
+        return XCONTENT_COMPRESSOR;
+    }
+
     public static boolean isCompressed(BytesReference bytes) {
         return compressor(bytes) != null;
     }
 
     @Nullable
     public static Compressor compressor(BytesReference bytes) {
-        if (COMPRESSOR.isCompressed(bytes)) {
-            // bytes should be either detected as compressed or as xcontent,
-            // if we have bytes that can be either detected as compressed or
-            // as a xcontent, we have a problem
-            assert XContentHelper.xContentType(bytes) == null;
-            return COMPRESSOR;
+        for (Compressor compressor : COMPRESSORS) {
+            if (compressor.isCompressed(bytes)) {
+                // bytes should be either detected as compressed or as xcontent,
+                // if we have bytes that can be either detected as compressed or
+                // as a xcontent, we have a problem
+                assert XContentHelper.xContentType(bytes) == null;
+                return compressor;
+            }
         }
 
         XContentType contentType = XContentHelper.xContentType(bytes);
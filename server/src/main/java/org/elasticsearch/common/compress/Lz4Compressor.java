@@ -0,0 +1,115 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.compress;
+
+import net.jpountz.lz4.LZ4BlockInputStream;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.transport.Compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Checksum;
+
+/**
+ * {@link Compressor} implementation based on the LZ4 block format that is also used to compress transport messages. It trades some
+ * compression ratio for a much lower CPU cost than {@link DeflateCompressor}, both when compressing and when decompressing.
+ */
+public class Lz4Compressor implements Compressor {
+
+    /**
+     * The first version that is able to read xcontent that was compressed with this compressor.
+     */
+    public static final Version MINIMUM_COMPATIBLE_VERSION = Version.V_8_1_0;
+
+    // Same header as the one used by LZ4 compressed transport messages, it needs to be different from other compressors and to not
+    // be specific enough so that no stream starting with these bytes could be detected as a XContent
+    private static final byte[] HEADER = new byte[] { 'L', 'Z', '4', '\0' };
+
+    // Blocks are written without a checksum, see ReuseBuffersLZ4BlockOutputStream
+    private static final Checksum NO_CHECKSUM = new Checksum() {
+        @Override
+        public void update(int b) {}
+
+        @Override
+        public void update(byte[] b, int off, int len) {}
+
+        @Override
+        public long getValue() {
+            return 0;
+        }
+
+        @Override
+        public void reset() {}
+    };
+
+    @Override
+    public boolean isCompressed(BytesReference bytes) {
+        if (bytes.length() < HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; ++i) {
+            if (bytes.get(i) != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int headerLength() {
+        return HEADER.length;
+    }
+
+    @Override
+    public InputStream threadLocalInputStream(InputStream in) throws IOException {
+        final byte[] headerBytes = new byte[HEADER.length];
+        int len = 0;
+        while (len < headerBytes.length) {
+            final int read = in.read(headerBytes, len, headerBytes.length - len);
+            if (read == -1) {
+                break;
+            }
+            len += read;
+        }
+        if (len != HEADER.length || Arrays.equals(headerBytes, HEADER) == false) {
+            throw new IllegalArgumentException("Input stream is not compressed with LZ4!");
+        }
+        return new LZ4BlockInputStream(in, Compression.Scheme.lz4Decompressor(), NO_CHECKSUM, true);
+    }
+
+    @Override
+    public OutputStream threadLocalOutputStream(OutputStream out) throws IOException {
+        // writes the header before the compressed blocks
+        return Compression.Scheme.lz4OutputStream(out);
+    }
+
+    private static final ThreadLocal<BytesStreamOutput> baos = ThreadLocal.withInitial(BytesStreamOutput::new);
+
+    @Override
+    public BytesReference uncompress(BytesReference bytesReference) throws IOException {
+        return Streams.readFully(threadLocalInputStream(bytesReference.streamInput()));
+    }
+
+    @Override
+    public BytesReference compress(BytesReference bytesReference) throws IOException {
+        final BytesStreamOutput buffer = baos.get();
+        try (OutputStream out = threadLocalOutputStream(Streams.noCloseStream(buffer))) {
+            bytesReference.writeTo(out);
+        }
+        final BytesReference res = buffer.copyBytes();
+        buffer.reset();
+        return res;
+    }
+}
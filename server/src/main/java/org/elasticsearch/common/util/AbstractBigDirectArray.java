@@ -0,0 +1,93 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Common implementation for arrays of fixed-width values that slice data into fixed-size blocks that are allocated outside of the heap.
+ * Pages are obtained from the {@link PageCacheRecycler} so that they are reused across arrays rather than left to the garbage collector.
+ */
+abstract class AbstractBigDirectArray extends AbstractBigArray {
+
+    protected ByteBuffer[] pages;
+
+    protected AbstractBigDirectArray(int pageSize, long size, BigArrays bigArrays, boolean clearOnResize) {
+        super(pageSize, bigArrays, clearOnResize);
+        this.size = size;
+        pages = new ByteBuffer[numPages(size)];
+        for (int i = 0; i < pages.length; ++i) {
+            pages[i] = newDirectPage(i);
+        }
+    }
+
+    /** Change the size of this array. Content between indexes <code>0</code> and <code>min(size(), newSize)</code> will be preserved. */
+    @Override
+    public final void resize(long newSize) {
+        final int numPages = numPages(newSize);
+        if (numPages > pages.length) {
+            pages = Arrays.copyOf(pages, ArrayUtil.oversize(numPages, RamUsageEstimator.NUM_BYTES_OBJECT_REF));
+        }
+        for (int i = numPages - 1; i >= 0 && pages[i] == null; --i) {
+            pages[i] = newDirectPage(i);
+        }
+        for (int i = numPages; i < pages.length && pages[i] != null; ++i) {
+            pages[i] = null;
+            releasePage(i);
+        }
+        this.size = newSize;
+    }
+
+    /**
+     * Bulk copies the first <code>len</code> values of this array to the given target, which usually is an on-heap array that
+     * replaces this one.
+     */
+    final void copyTo(BulkSetter target, long len) {
+        assert len <= size();
+        final int shift = Integer.numberOfTrailingZeros(numBytesPerElement());
+        final byte[] buffer = new byte[pageSize() << shift];
+        for (long index = 0; index < len;) {
+            final int copyLen = (int) Math.min(pageSize(), len - index);
+            pages[pageIndex(index)].duplicate().get(buffer, 0, copyLen << shift);
+            target.set(index, buffer, 0, copyLen);
+            index += copyLen;
+        }
+    }
+
+    /**
+     * The target of {@link #copyTo(BulkSetter, long)}, see {@link IntArray#set(long, byte[], int, int)}.
+     */
+    @FunctionalInterface
+    interface BulkSetter {
+        void set(long index, byte[] buf, int offset, int len);
+    }
+
+    /**
+     * Bulk copies an on-heap array of values that are <code>1 &lt;&lt; shift</code> bytes long to the pages.
+     */
+    protected final void set(long index, byte[] buf, int offset, int len, int shift) {
+        assert index + len <= size();
+        int pageIndex = pageIndex(index);
+        int indexInPage = indexInPage(index);
+        while (len > 0) {
+            final int copyLen = Math.min(len, pageSize() - indexInPage);
+            final ByteBuffer page = pages[pageIndex].duplicate();
+            page.position(indexInPage << shift);
+            page.put(buf, offset << shift, copyLen << shift);
+            ++pageIndex;
+            indexInPage = 0;
+            offset += copyLen;
+            len -= copyLen;
+        }
+    }
+}
@@ -482,6 +482,23 @@ public class BigArrays {
         return this.circuitBreakingInstance.breakerService;
     }
 
+    /**
+     * Whether big arrays of fixed-width values that need the given number of bytes are allocated outside of the heap. They are
+     * still accounted in the circuit breaker for their full size since they consume memory of the node all the same.
+     */
+    private boolean offHeapPages(long bytes) {
+        return recycler != null && recycler.hasDirectCapacity(bytes);
+    }
+
+    /**
+     * Whether the given off-heap array can be resized in place, or needs to be moved to the heap because growing it would use too
+     * much direct memory.
+     */
+    private boolean resizeOffHeap(AbstractBigDirectArray array, long newSize) {
+        final long increase = (newSize - array.size()) * array.numBytesPerElement();
+        return increase <= 0 || offHeapPages(increase);
+    }
+
     private <T extends AbstractBigArray> T resizeInPlace(T array, long newSize) {
         final long oldMemSize = array.ramBytesUsed();
         final long oldSize = array.size();
@@ -603,6 +620,9 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigIntArray.estimateRamBytes(size), false);
+            if (offHeapPages(size * Integer.BYTES)) {
+                return new BigDirectIntArray(size, this, clearOnResize);
+            }
             return new BigIntArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsIntArrayWrapper(this, size, clearOnResize));
@@ -621,6 +641,15 @@ public class BigArrays {
     public IntArray resize(IntArray array, long size) {
         if (array instanceof BigIntArray) {
             return resizeInPlace((BigIntArray) array, size);
+        } else if (array instanceof BigDirectIntArray) {
+            final BigDirectIntArray directArray = (BigDirectIntArray) array;
+            if (resizeOffHeap(directArray, size)) {
+                return resizeInPlace(directArray, size);
+            }
+            final IntArray newArray = newIntArray(size, directArray.clearOnResize);
+            directArray.copyTo(newArray::set, Math.min(size, array.size()));
+            array.close();
+            return newArray;
         } else {
             AbstractArray arr = (AbstractArray) array;
             final IntArray newArray = newIntArray(size, arr.clearOnResize);
@@ -650,6 +679,9 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigLongArray.estimateRamBytes(size), false);
+            if (offHeapPages(size * Long.BYTES)) {
+                return new BigDirectLongArray(size, this, clearOnResize);
+            }
             return new BigLongArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsLongArrayWrapper(this, size, clearOnResize));
@@ -668,6 +700,15 @@ public class BigArrays {
     public LongArray resize(LongArray array, long size) {
         if (array instanceof BigLongArray) {
             return resizeInPlace((BigLongArray) array, size);
+        } else if (array instanceof BigDirectLongArray) {
+            final BigDirectLongArray directArray = (BigDirectLongArray) array;
+            if (resizeOffHeap(directArray, size)) {
+                return resizeInPlace(directArray, size);
+            }
+            final LongArray newArray = newLongArray(size, directArray.clearOnResize);
+            directArray.copyTo(newArray::set, Math.min(size, array.size()));
+            array.close();
+            return newArray;
         } else {
             AbstractArray arr = (AbstractArray) array;
             final LongArray newArray = newLongArray(size, arr.clearOnResize);
@@ -697,6 +738,9 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigDoubleArray.estimateRamBytes(size), false);
+            if (offHeapPages(size * Double.BYTES)) {
+                return new BigDirectDoubleArray(size, this, clearOnResize);
+            }
             return new BigDoubleArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsDoubleArrayWrapper(this, size, clearOnResize));
@@ -712,6 +756,15 @@ public class BigArrays {
     public DoubleArray resize(DoubleArray array, long size) {
         if (array instanceof BigDoubleArray) {
             return resizeInPlace((BigDoubleArray) array, size);
+        } else if (array instanceof BigDirectDoubleArray) {
+            final BigDirectDoubleArray directArray = (BigDirectDoubleArray) array;
+            if (resizeOffHeap(directArray, size)) {
+                return resizeInPlace(directArray, size);
+            }
+            final DoubleArray newArray = newDoubleArray(size, directArray.clearOnResize);
+            directArray.copyTo(newArray::set, Math.min(size, array.size()));
+            array.close();
+            return newArray;
         } else {
             AbstractArray arr = (AbstractArray) array;
             final DoubleArray newArray = newDoubleArray(size, arr.clearOnResize);
@@ -770,6 +823,9 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigFloatArray.estimateRamBytes(size), false);
+            if (offHeapPages(size * Float.BYTES)) {
+                return new BigDirectFloatArray(size, this, clearOnResize);
+            }
             return new BigFloatArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsFloatArrayWrapper(this, size, clearOnResize));
@@ -785,6 +841,15 @@ public class BigArrays {
     public FloatArray resize(FloatArray array, long size) {
         if (array instanceof BigFloatArray) {
             return resizeInPlace((BigFloatArray) array, size);
+        } else if (array instanceof BigDirectFloatArray) {
+            final BigDirectFloatArray directArray = (BigDirectFloatArray) array;
+            if (resizeOffHeap(directArray, size)) {
+                return resizeInPlace(directArray, size);
+            }
+            final FloatArray newArray = newFloatArray(size, directArray.clearOnResize);
+            directArray.copyTo(newArray::set, Math.min(size, array.size()));
+            array.close();
+            return newArray;
         } else {
             AbstractArray arr = (AbstractArray) array;
             final FloatArray newArray = newFloatArray(size, arr.clearOnResize);
@@ -0,0 +1,73 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import static org.elasticsearch.common.util.PageCacheRecycler.FLOAT_PAGE_SIZE;
+
+/**
+ * Float array abstraction able to support more than 2B values, whose values are stored in pages that are allocated outside of the heap.
+ */
+final class BigDirectFloatArray extends AbstractBigDirectArray implements FloatArray {
+
+    private static final VarHandle VH_NATIVE_FLOAT = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.nativeOrder());
+
+    /** Constructor. */
+    BigDirectFloatArray(long size, BigArrays bigArrays, boolean clearOnResize) {
+        super(FLOAT_PAGE_SIZE, size, bigArrays, clearOnResize);
+    }
+
+    @Override
+    public float get(long index) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        return (float) VH_NATIVE_FLOAT.get(pages[pageIndex], indexInPage << 2);
+    }
+
+    @Override
+    public float set(long index, float value) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        final float ret = (float) VH_NATIVE_FLOAT.get(pages[pageIndex], indexInPage << 2);
+        VH_NATIVE_FLOAT.set(pages[pageIndex], indexInPage << 2, value);
+        return ret;
+    }
+
+    @Override
+    public float increment(long index, float inc) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        final float newVal = (float) VH_NATIVE_FLOAT.get(pages[pageIndex], indexInPage << 2) + inc;
+        VH_NATIVE_FLOAT.set(pages[pageIndex], indexInPage << 2, newVal);
+        return newVal;
+    }
+
+    @Override
+    protected int numBytesPerElement() {
+        return Float.BYTES;
+    }
+
+    @Override
+    public void fill(long fromIndex, long toIndex, float value) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        for (long i = fromIndex; i < toIndex; ++i) {
+            VH_NATIVE_FLOAT.set(pages[pageIndex(i)], indexInPage(i) << 2, value);
+        }
+    }
+
+    @Override
+    public void set(long index, byte[] buf, int offset, int len) {
+        set(index, buf, offset, len, 2);
+    }
+}
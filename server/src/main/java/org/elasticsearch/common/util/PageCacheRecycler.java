@@ -16,9 +16,13 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.monitor.jvm.JvmInfo;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.elasticsearch.common.recycler.Recyclers.concurrent;
 import static org.elasticsearch.common.recycler.Recyclers.concurrentDeque;
@@ -59,6 +63,12 @@ public class PageCacheRecycler {
         Property.NodeScope,
         Property.DeprecatedWarning
     );
+    /**
+     * Whether the pages of big arrays of fixed-width values (ints, longs, floats and doubles) are allocated outside of the heap.
+     * The pages that are recycled are then split evenly between on-heap byte pages and off-heap pages. This has no effect if pages
+     * aren't recycled, since direct buffers that aren't recycled are only freed once they are garbage collected.
+     */
+    public static final Setting<Boolean> OFF_HEAP_SETTING = Setting.boolSetting("cache.recycler.page.off_heap", false, Property.NodeScope);
     // object pages are less useful to us so we give them a lower weight by default
     public static final Setting<Double> WEIGHT_OBJECTS_SETTING = Setting.doubleSetting(
         "cache.recycler.page.weight.objects",
@@ -76,8 +86,14 @@ public class PageCacheRecycler {
     public static final int DOUBLE_PAGE_SIZE = PAGE_SIZE_IN_BYTES / Double.BYTES;
     public static final int BYTE_PAGE_SIZE = PAGE_SIZE_IN_BYTES;
 
+    private static final byte[] ZERO_PAGE = new byte[BYTE_PAGE_SIZE];
+
     private final Recycler<byte[]> bytePage;
     private final Recycler<Object[]> objectPage;
+    private final Recycler<ByteBuffer> directBytePage;
+    // the number of off-heap pages that are in use and the limit of this number, recycled off-heap pages come on top of it
+    private final AtomicLong directBytePagesInUse = new AtomicLong();
+    private final long maxDirectBytePagesInUse;
 
     public static final PageCacheRecycler NON_RECYCLING_INSTANCE;
 
@@ -86,6 +102,10 @@ public class PageCacheRecycler {
     }
 
     public PageCacheRecycler(Settings settings) {
+        this(settings, JvmInfo.jvmInfo().getMem().getDirectMemoryMax().getBytes());
+    }
+
+    PageCacheRecycler(Settings settings, long maxDirectMemory) {
         final Type type = TYPE_SETTING.get(settings);
         final long limit = LIMIT_HEAP_SETTING.get(settings).getBytes();
         final int allocatedProcessors = EsExecutors.allocatedProcessors(settings);
@@ -98,7 +118,16 @@ public class PageCacheRecycler {
         final double totalWeight = bytesWeight + objectsWeight;
         final int maxPageCount = (int) Math.min(Integer.MAX_VALUE, limit / PAGE_SIZE_IN_BYTES);
 
-        final int maxBytePageCount = (int) (bytesWeight * maxPageCount / totalWeight);
+        int maxBytePageCount = (int) (bytesWeight * maxPageCount / totalWeight);
+        // off-heap pages use at most half of the direct memory of the JVM, the rest is left to the network layer and Lucene
+        final long maxDirectPages = maxDirectMemory / 2 / PAGE_SIZE_IN_BYTES;
+        final int maxRecycledDirectPageCount;
+        if (OFF_HEAP_SETTING.get(settings) && type != Type.NONE && maxDirectPages > 1 && maxBytePageCount > 1) {
+            maxRecycledDirectPageCount = (int) Math.min(maxBytePageCount / 2, maxDirectPages / 2);
+            maxBytePageCount -= maxRecycledDirectPageCount;
+        } else {
+            maxRecycledDirectPageCount = 0;
+        }
         bytePage = build(type, maxBytePageCount, allocatedProcessors, new AbstractRecyclerC<byte[]>() {
             @Override
             public byte[] newInstance() {
@@ -124,7 +153,44 @@ public class PageCacheRecycler {
             }
         });
 
-        assert PAGE_SIZE_IN_BYTES * (maxBytePageCount + maxObjectPageCount) <= limit;
+        assert PAGE_SIZE_IN_BYTES * ((long) maxBytePageCount + maxRecycledDirectPageCount + maxObjectPageCount) <= limit;
+
+        if (maxRecycledDirectPageCount > 0) {
+            // direct buffers are only freed when they are garbage collected, so it is important to recycle them
+            directBytePage = build(type, maxRecycledDirectPageCount, allocatedProcessors, new AbstractRecyclerC<ByteBuffer>() {
+                @Override
+                public ByteBuffer newInstance() {
+                    return ByteBuffer.allocateDirect(BYTE_PAGE_SIZE).order(ByteOrder.nativeOrder());
+                }
+
+                @Override
+                public void recycle(ByteBuffer value) {
+                    // nothing to do
+                }
+            });
+            maxDirectBytePagesInUse = maxDirectPages - maxRecycledDirectPageCount;
+        } else {
+            directBytePage = null;
+            maxDirectBytePagesInUse = 0;
+        }
+    }
+
+    /**
+     * Returns whether big arrays of fixed-width values should use pages that are allocated outside of the heap,
+     * see {@link #directBytePage(boolean)}.
+     */
+    public boolean isOffHeap() {
+        return directBytePage != null;
+    }
+
+    /**
+     * Returns whether off-heap pages for the given number of bytes can be used without the off-heap pages that are in use or
+     * recycled going over half of the direct memory of the JVM. Big arrays fall back to on-heap pages otherwise. Since this isn't
+     * a reservation, concurrent allocations may go over this limit by a few pages.
+     */
+    public boolean hasDirectCapacity(long bytes) {
+        final long pages = (bytes + PAGE_SIZE_IN_BYTES - 1) / PAGE_SIZE_IN_BYTES;
+        return directBytePage != null && directBytePagesInUse.get() + pages <= maxDirectBytePagesInUse;
     }
 
     public Recycler.V<byte[]> bytePage(boolean clear) {
@@ -135,6 +201,34 @@ public class PageCacheRecycler {
         return v;
     }
 
+    public Recycler.V<ByteBuffer> directBytePage(boolean clear) {
+        if (directBytePage == null) {
+            throw new IllegalStateException("off-heap pages are disabled, see [" + OFF_HEAP_SETTING.getKey() + "]");
+        }
+        final Recycler.V<ByteBuffer> v = directBytePage.obtain();
+        directBytePagesInUse.incrementAndGet();
+        if (v.isRecycled() && clear) {
+            v.v().duplicate().put(ZERO_PAGE);
+        }
+        return new Recycler.V<ByteBuffer>() {
+            @Override
+            public ByteBuffer v() {
+                return v.v();
+            }
+
+            @Override
+            public boolean isRecycled() {
+                return v.isRecycled();
+            }
+
+            @Override
+            public void close() {
+                v.close();
+                directBytePagesInUse.decrementAndGet();
+            }
+        };
+    }
+
     public Recycler.V<Object[]> objectPage() {
         // object pages are cleared on release anyway
         return objectPage.obtain();
@@ -8,6 +8,8 @@
 package org.elasticsearch.common.util.concurrent;
 
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.core.Tuple;
 
 import java.io.IOException;
@@ -16,6 +18,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -25,12 +28,19 @@ import java.util.function.Supplier;
  * by a single worker. A worker in this context can be any caller of the {@link #put(Object, Consumer)} method since it will
  * hijack a worker if nobody else is currently processing queued items. If the internal queue has reached it's capacity incoming threads
  * might be blocked until other items are processed
+ *
+ * Implementations can set a batch window (see {@link #maxBatchWindow()}) in which the worker waits for more items to be queued before
+ * processing them. The worker only waits if the previous batch contained more than one item, which indicates concurrent callers, and
+ * never waits longer than the recent average processing time since waiting longer would cost more than processing twice.
  */
 public abstract class AsyncIOProcessor<Item> {
     private final Logger logger;
     private final ArrayBlockingQueue<Tuple<Item, Consumer<Exception>>> queue;
     private final ThreadContext threadContext;
     private final Semaphore promiseSemaphore = new Semaphore(1);
+    // only accessed by the thread that made the promise
+    private int lastBatchSize;
+    private final ExponentiallyWeightedMovingAverage writeNanos = new ExponentiallyWeightedMovingAverage(0.3, 0);
 
     protected AsyncIOProcessor(Logger logger, int queueSize, ThreadContext threadContext) {
         this.logger = logger;
@@ -81,6 +91,10 @@ public abstract class AsyncIOProcessor<Item> {
     private void drainAndProcessAndRelease(List<Tuple<Item, Consumer<Exception>>> candidates) {
         Exception exception;
         try {
+            final long batchWindowNanos = batchWindowNanos();
+            if (batchWindowNanos > 0 && queue.remainingCapacity() > 0) {
+                LockSupport.parkNanos(batchWindowNanos);
+            }
             queue.drainTo(candidates);
             exception = processList(candidates);
         } finally {
@@ -93,8 +107,11 @@ public abstract class AsyncIOProcessor<Item> {
     private Exception processList(List<Tuple<Item, Consumer<Exception>>> candidates) {
         Exception exception = null;
         if (candidates.isEmpty() == false) {
+            lastBatchSize = candidates.size();
+            final long startNanos = System.nanoTime();
             try {
                 write(candidates);
+                writeNanos.addValue(System.nanoTime() - startNanos);
             } catch (Exception ex) { // if this fails we are in deep shit - fail the request
                 logger.debug("failed to write candidates", ex);
                 // this exception is passed to all listeners - we don't retry. if this doesn't work we are in deep shit
@@ -124,6 +141,25 @@ public abstract class AsyncIOProcessor<Item> {
         };
     }
 
+    private long batchWindowNanos() {
+        if (lastBatchSize <= 1) {
+            return 0;
+        }
+        final TimeValue maxBatchWindow = maxBatchWindow();
+        if (maxBatchWindow.nanos() <= 0) {
+            return 0;
+        }
+        return Math.min(maxBatchWindow.nanos(), (long) writeNanos.getAverage());
+    }
+
+    /**
+     * Returns the maximum time to wait for more items to be queued before processing a batch. Defaults to 0 which processes the
+     * queued items right away.
+     */
+    protected TimeValue maxBatchWindow() {
+        return TimeValue.ZERO;
+    }
+
     /**
      * Writes or processes the items out or to disk.
      */
@@ -0,0 +1,86 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.elasticsearch.core.Releasable;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class manages a fixed number of locks that keys are mapped to by their hash code. Unlike {@link KeyedLock}, acquiring and
+ * releasing a lock does not allocate and does not touch a shared map, at the price of keys that map to the same stripe also sharing
+ * their lock.
+ * Note: this lock is reentrant
+ */
+public final class StripedLock<T> {
+
+    private final ReentrantLock[] locks;
+    private final Releasable[] releasables;
+    private final int mask;
+
+    /**
+     * Creates a new lock
+     * @param stripes the minimum number of stripes, rounded up to the next power of two
+     */
+    public StripedLock(int stripes) {
+        if (stripes <= 0 || stripes > 1 << 30) {
+            throw new IllegalArgumentException("stripes must be between 1 and 2^30 but was [" + stripes + "]");
+        }
+        final int size = 1 << (32 - Integer.numberOfLeadingZeros(stripes - 1));
+        this.locks = new ReentrantLock[size];
+        this.releasables = new Releasable[size];
+        for (int i = 0; i < size; i++) {
+            final ReentrantLock lock = new ReentrantLock();
+            locks[i] = lock;
+            releasables[i] = lock::unlock;
+        }
+        this.mask = size - 1;
+    }
+
+    private int stripe(T key) {
+        final int h = key.hashCode();
+        // spread the higher bits since only the lower bits are used to pick the stripe
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Acquires the lock of the stripe of the given key. The lock can be acquired by the same thread multiple times. The lock is
+     * released by closing the returned {@link Releasable}, which must happen exactly once.
+     */
+    public Releasable acquire(T key) {
+        final int stripe = stripe(key);
+        locks[stripe].lock();
+        return releasables[stripe];
+    }
+
+    /**
+     * Tries to acquire the lock of the stripe of the given key and returns it. If the lock can't be acquired null is returned.
+     */
+    public Releasable tryAcquire(T key) {
+        final int stripe = stripe(key);
+        if (locks[stripe].tryLock()) {
+            return releasables[stripe];
+        }
+        return null;
+    }
+
+    /**
+     * Returns <code>true</code> iff the caller thread holds the lock of the stripe of the given key
+     */
+    public boolean isHeldByCurrentThread(T key) {
+        return locks[stripe(key)].isHeldByCurrentThread();
+    }
+
+    /**
+     * Returns the number of stripes.
+     */
+    public int stripes() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.xcontent.support;
+
+import org.apache.lucene.util.automaton.Automata;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.regex.Regex;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentParseException;
+import org.elasticsearch.xcontent.XContentParser;
+import org.elasticsearch.xcontent.XContentParserConfiguration;
+import org.elasticsearch.xcontent.XContentType;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Includes and excludes compiled to automata, that filter a document either as a map or as a stream of xcontent tokens. Both ways
+ * follow the rules of {@link XContentMapValues#filter(Map, String[], String[])}, but the streaming one copies the matching tokens
+ * from the parser straight to the output without building an intermediate map and keeps the original order of the fields.
+ */
+public final class SourceFilter {
+
+    private final CharacterRunAutomaton include;
+    private final CharacterRunAutomaton exclude;
+    private final CharacterRunAutomaton matchAllAutomaton;
+
+    public SourceFilter(String[] includes, String[] excludes) {
+        matchAllAutomaton = new CharacterRunAutomaton(Automata.makeAnyString());
+
+        if (includes == null || includes.length == 0) {
+            include = matchAllAutomaton;
+        } else {
+            Automaton includeA = Regex.simpleMatchToAutomaton(includes);
+            includeA = XContentMapValues.makeMatchDotsInFieldNames(includeA);
+            include = new CharacterRunAutomaton(includeA, XContentMapValues.MAX_DETERMINIZED_STATES);
+        }
+
+        Automaton excludeA;
+        if (excludes == null || excludes.length == 0) {
+            excludeA = Automata.makeEmpty();
+        } else {
+            excludeA = Regex.simpleMatchToAutomaton(excludes);
+            excludeA = XContentMapValues.makeMatchDotsInFieldNames(excludeA);
+        }
+        exclude = new CharacterRunAutomaton(excludeA, XContentMapValues.MAX_DETERMINIZED_STATES);
+
+        // NOTE: We cannot use Operations.minus because of the special case that
+        // we want all sub properties to match as soon as an object matches
+    }
+
+    /**
+     * Filters the given document map.
+     */
+    public Map<String, Object> filter(Map<String, ?> map) {
+        return XContentMapValues.filter(map, include, 0, exclude, 0, matchAllAutomaton);
+    }
+
+    /**
+     * Filters the given document bytes into bytes of the same content type.
+     */
+    public BytesReference filter(BytesReference source, XContentType xContentType, int initialCapacity) throws IOException {
+        BytesStreamOutput streamOutput = new BytesStreamOutput(initialCapacity);
+        XContentBuilder builder = new XContentBuilder(xContentType.xContent(), streamOutput);
+        try (XContentParser parser = XContentHelper.createParser(XContentParserConfiguration.EMPTY, source, xContentType)) {
+            filter(parser, builder);
+        }
+        return BytesReference.bytes(builder);
+    }
+
+    /**
+     * Copies the parts of the object that the parser is positioned on, or that starts with the next token, that match the filter
+     * to the builder. An object is written even if nothing matches, like {@link #filter(Map)} returns an empty map.
+     */
+    public void filter(XContentParser parser, XContentBuilder builder) throws IOException {
+        XContentParser.Token token = parser.currentToken();
+        if (token == null) {
+            token = parser.nextToken();
+        }
+        if (token != XContentParser.Token.START_OBJECT) {
+            throw new XContentParseException(parser.getTokenLocation(), "expected an object but got [" + token + "]");
+        }
+        PendingContainer root = new PendingContainer(null, null, false);
+        filterObject(parser, builder, root, include, 0, 0);
+        root.write(builder);
+        builder.endObject();
+    }
+
+    private void filterObject(
+        XContentParser parser,
+        XContentBuilder builder,
+        PendingContainer container,
+        CharacterRunAutomaton includeAutomaton,
+        int initialIncludeState,
+        int initialExcludeState
+    ) throws IOException {
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String key = parser.currentName();
+            XContentParser.Token token = parser.nextToken();
+
+            int includeState = XContentMapValues.step(includeAutomaton, key, initialIncludeState);
+            if (includeState == -1) {
+                parser.skipChildren();
+                continue;
+            }
+
+            int excludeState = XContentMapValues.step(exclude, key, initialExcludeState);
+            if (excludeState != -1 && exclude.isAccept(excludeState)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            CharacterRunAutomaton subIncludeAutomaton = includeAutomaton;
+            int subIncludeState = includeState;
+            if (includeAutomaton.isAccept(includeState)) {
+                if (excludeState == -1 || exclude.step(excludeState, '.') == -1) {
+                    // the exclude has no chances to match inner properties
+                    container.write(builder);
+                    builder.field(key);
+                    builder.copyCurrentStructure(parser);
+                    continue;
+                } else {
+                    // the object matched, so consider that the include matches every inner property
+                    // we only care about excludes now
+                    subIncludeAutomaton = matchAllAutomaton;
+                    subIncludeState = 0;
+                }
+            }
+
+            if (token == XContentParser.Token.START_OBJECT) {
+                subIncludeState = subIncludeAutomaton.step(subIncludeState, '.');
+                if (subIncludeState == -1) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (excludeState != -1) {
+                    excludeState = exclude.step(excludeState, '.');
+                }
+                PendingContainer object = new PendingContainer(container, key, false);
+                filterObject(parser, builder, object, subIncludeAutomaton, subIncludeState, excludeState);
+                if (includeAutomaton.isAccept(includeState)) {
+                    object.write(builder);
+                }
+                if (object.written) {
+                    builder.endObject();
+                }
+            } else if (token == XContentParser.Token.START_ARRAY) {
+                PendingContainer array = new PendingContainer(container, key, true);
+                filterArray(parser, builder, array, subIncludeAutomaton, subIncludeState, excludeState);
+                if (includeAutomaton.isAccept(includeState)) {
+                    array.write(builder);
+                }
+                if (array.written) {
+                    builder.endArray();
+                }
+            } else if (includeAutomaton.isAccept(includeState)) {
+                // leaf property
+                container.write(builder);
+                builder.field(key);
+                builder.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    private void filterArray(
+        XContentParser parser,
+        XContentBuilder builder,
+        PendingContainer container,
+        CharacterRunAutomaton includeAutomaton,
+        int initialIncludeState,
+        int initialExcludeState
+    ) throws IOException {
+        boolean isInclude = includeAutomaton.isAccept(initialIncludeState);
+        XContentParser.Token token;
+        while ((token = parser.nextToken()) != XContentParser.Token.END_ARRAY) {
+            if (token == XContentParser.Token.START_OBJECT) {
+                int includeState = includeAutomaton.step(initialIncludeState, '.');
+                if (includeState == -1) {
+                    parser.skipChildren();
+                    continue;
+                }
+                int excludeState = initialExcludeState;
+                if (excludeState != -1) {
+                    excludeState = exclude.step(excludeState, '.');
+                }
+                // unlike properties, objects in arrays are left out if nothing in them matches
+                PendingContainer object = new PendingContainer(container, null, false);
+                filterObject(parser, builder, object, includeAutomaton, includeState, excludeState);
+                if (object.written) {
+                    builder.endObject();
+                }
+            } else if (token == XContentParser.Token.START_ARRAY) {
+                PendingContainer array = new PendingContainer(container, null, true);
+                filterArray(parser, builder, array, includeAutomaton, initialIncludeState, initialExcludeState);
+                if (array.written) {
+                    builder.endArray();
+                }
+            } else if (isInclude) {
+                // #22557: only accept this array value if the key we are on is accepted:
+                container.write(builder);
+                builder.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    /**
+     * An object or array of the filtered output whose start is only written once something matches within it, so that the
+     * containers that end up empty can be left out without buffering their content.
+     */
+    private static final class PendingContainer {
+        private final PendingContainer parent;
+        private final String fieldName;
+        private final boolean array;
+        private boolean written;
+
+        PendingContainer(PendingContainer parent, String fieldName, boolean array) {
+            this.parent = parent;
+            this.fieldName = fieldName;
+            this.array = array;
+        }
+
+        void write(XContentBuilder builder) throws IOException {
+            if (written) {
+                return;
+            }
+            if (parent != null) {
+                parent.write(builder);
+            }
+            if (fieldName != null) {
+                builder.field(fieldName);
+            }
+            if (array) {
+                builder.startArray();
+            } else {
+                builder.startObject();
+            }
+            written = true;
+        }
+    }
+}
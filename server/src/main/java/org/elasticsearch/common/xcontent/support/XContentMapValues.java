@@ -15,7 +15,6 @@ import org.apache.lucene.util.automaton.Operations;
 import org.elasticsearch.ElasticsearchParseException;
 import org.elasticsearch.common.Numbers;
 import org.elasticsearch.common.Strings;
-import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.core.Booleans;
 import org.elasticsearch.core.TimeValue;
 
@@ -37,7 +36,7 @@ public class XContentMapValues {
      * For what it is worth, 50,000 states is way, way, way too many to
      * visualize.
      */
-    private static final int MAX_DETERMINIZED_STATES = 50_000;
+    static final int MAX_DETERMINIZED_STATES = 50_000;
 
     /**
      * Extracts raw values (string, int, and so on) based on the path provided returning all of them
@@ -263,36 +262,13 @@ public class XContentMapValues {
      * @see #filter(Map, String[], String[]) for details
      */
     public static Function<Map<String, ?>, Map<String, Object>> filter(String[] includes, String[] excludes) {
-        CharacterRunAutomaton matchAllAutomaton = new CharacterRunAutomaton(Automata.makeAnyString());
-
-        CharacterRunAutomaton include;
-        if (includes == null || includes.length == 0) {
-            include = matchAllAutomaton;
-        } else {
-            Automaton includeA = Regex.simpleMatchToAutomaton(includes);
-            includeA = makeMatchDotsInFieldNames(includeA);
-            include = new CharacterRunAutomaton(includeA, MAX_DETERMINIZED_STATES);
-        }
-
-        Automaton excludeA;
-        if (excludes == null || excludes.length == 0) {
-            excludeA = Automata.makeEmpty();
-        } else {
-            excludeA = Regex.simpleMatchToAutomaton(excludes);
-            excludeA = makeMatchDotsInFieldNames(excludeA);
-        }
-        CharacterRunAutomaton exclude = new CharacterRunAutomaton(excludeA, MAX_DETERMINIZED_STATES);
-
-        // NOTE: We cannot use Operations.minus because of the special case that
-        // we want all sub properties to match as soon as an object matches
-
-        return (map) -> filter(map, include, 0, exclude, 0, matchAllAutomaton);
+        return new SourceFilter(includes, excludes)::filter;
     }
 
     /** Make matches on objects also match dots in field names.
      *  For instance, if the original simple regex is `foo`, this will translate
      *  it into `foo` OR `foo.*`. */
-    private static Automaton makeMatchDotsInFieldNames(Automaton automaton) {
+    static Automaton makeMatchDotsInFieldNames(Automaton automaton) {
         /*
          * We presume `automaton` is quite large compared to the mechanisms
          * to match the trailing `.*` bits so we duplicate it only once.
@@ -304,14 +280,14 @@ public class XContentMapValues {
         return Operations.concatenate(automaton, tail);
     }
 
-    private static int step(CharacterRunAutomaton automaton, String key, int state) {
+    static int step(CharacterRunAutomaton automaton, String key, int state) {
         for (int i = 0; state != -1 && i < key.length(); ++i) {
             state = automaton.step(state, key.charAt(i));
         }
         return state;
     }
 
-    private static Map<String, Object> filter(
+    static Map<String, Object> filter(
         Map<String, ?> map,
         CharacterRunAutomaton includeAutomaton,
         int initialIncludeState,
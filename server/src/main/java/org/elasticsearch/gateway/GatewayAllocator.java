@@ -17,6 +17,7 @@ import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.support.nodes.BaseNodeResponse;
 import org.elasticsearch.action.support.nodes.BaseNodesResponse;
 import org.elasticsearch.client.node.NodeClient;
+import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
@@ -33,6 +34,7 @@ import org.elasticsearch.common.util.set.Sets;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.gateway.AsyncShardFetch.Lister;
 import org.elasticsearch.gateway.TransportNodesListGatewayStartedShards.NodeGatewayStartedShards;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShardsBatch.NodesGatewayStartedShardsBatch;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.indices.store.TransportNodesListShardStoreMetadata;
 import org.elasticsearch.indices.store.TransportNodesListShardStoreMetadata.NodeStoreFilesMetadata;
@@ -53,6 +55,7 @@ public class GatewayAllocator implements ExistingShardsAllocator {
 
     private final PrimaryShardAllocator primaryShardAllocator;
     private final ReplicaShardAllocator replicaShardAllocator;
+    private final StartedShardsFetchBatcher startedShardsFetchBatcher;
 
     private final ConcurrentMap<ShardId, AsyncShardFetch<NodeGatewayStartedShards>> asyncFetchStarted = ConcurrentCollections
         .newConcurrentMap();
@@ -65,10 +68,22 @@ public class GatewayAllocator implements ExistingShardsAllocator {
         this.rerouteService = rerouteService;
         this.primaryShardAllocator = new InternalPrimaryShardAllocator(client);
         this.replicaShardAllocator = new InternalReplicaShardAllocator(client);
+        this.startedShardsFetchBatcher = new StartedShardsFetchBatcher(ClusterName.CLUSTER_NAME_SETTING.get(client.settings())) {
+            @Override
+            protected void sendRequest(
+                TransportNodesListGatewayStartedShardsBatch.Request request,
+                ActionListener<NodesGatewayStartedShardsBatch> listener
+            ) {
+                client.executeLocally(TransportNodesListGatewayStartedShardsBatch.TYPE, request, listener);
+            }
+        };
     }
 
     @Override
     public void cleanCaches() {
+        if (startedShardsFetchBatcher != null) {
+            startedShardsFetchBatcher.clear();
+        }
         Releasables.close(asyncFetchStarted.values());
         asyncFetchStarted.clear();
         Releasables.close(asyncFetchStore.values());
@@ -80,6 +95,7 @@ public class GatewayAllocator implements ExistingShardsAllocator {
         this.rerouteService = null;
         this.primaryShardAllocator = null;
         this.replicaShardAllocator = null;
+        this.startedShardsFetchBatcher = null;
     }
 
     @Override
@@ -115,11 +131,18 @@ public class GatewayAllocator implements ExistingShardsAllocator {
         assert primaryShardAllocator != null;
         assert replicaShardAllocator != null;
         ensureAsyncFetchStorePrimaryRecency(allocation);
+        if (startedShardsFetchBatcher != null) {
+            // collect the started shards fetches of the primaries and send them in batches once all primaries have been visited
+            startedShardsFetchBatcher.startBatching();
+        }
     }
 
     @Override
     public void afterPrimariesBeforeReplicas(RoutingAllocation allocation) {
         assert replicaShardAllocator != null;
+        if (startedShardsFetchBatcher != null) {
+            startedShardsFetchBatcher.flush();
+        }
         if (allocation.routingNodes().hasInactiveReplicas()) {
             // cancel existing recoveries if we have a better match
             replicaShardAllocator.processExistingRecoveries(allocation);
@@ -277,6 +300,9 @@ public class GatewayAllocator implements ExistingShardsAllocator {
             DiscoveryNode[] nodes,
             ActionListener<BaseNodesResponse<NodeGatewayStartedShards>> listener
         ) {
+            if (startedShardsFetchBatcher.tryAdd(shardId, customDataPath, nodes, listener)) {
+                return;
+            }
             var request = new TransportNodesListGatewayStartedShards.Request(shardId, customDataPath, nodes);
             client.executeLocally(
                 TransportNodesListGatewayStartedShards.TYPE,
@@ -0,0 +1,246 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.gateway;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.FailedNodeException;
+import org.elasticsearch.action.support.nodes.BaseNodesResponse;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.common.util.concurrent.CountDown;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShards.NodeGatewayStartedShards;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShards.NodesGatewayStartedShards;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShardsBatch.NodeGatewayStartedShardsBatch;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShardsBatch.NodesGatewayStartedShardsBatch;
+import org.elasticsearch.index.shard.ShardId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the started shards fetches that {@link GatewayAllocator} issues for the unassigned primaries while it visits them during a
+ * reroute, and sends them once all primaries have been visited as {@link TransportNodesListGatewayStartedShardsBatch} requests that
+ * each cover up to {@link #MAX_SHARDS_PER_REQUEST} shards of a single node. After a full cluster restart this sends a few requests per
+ * node rather than one per node and shard, and the batches of a node are processed in parallel on its bounded
+ * {@link org.elasticsearch.threadpool.ThreadPool.Names#FETCH_SHARD_STARTED} pool.
+ */
+abstract class StartedShardsFetchBatcher {
+
+    static final int MAX_SHARDS_PER_REQUEST = 100;
+
+    private final ClusterName clusterName;
+    private final int maxShardsPerRequest;
+
+    private boolean batching;
+    private List<PendingFetch> pendingFetches = new ArrayList<>();
+
+    StartedShardsFetchBatcher(ClusterName clusterName) {
+        this(clusterName, MAX_SHARDS_PER_REQUEST);
+    }
+
+    StartedShardsFetchBatcher(ClusterName clusterName, int maxShardsPerRequest) {
+        this.clusterName = clusterName;
+        this.maxShardsPerRequest = maxShardsPerRequest;
+    }
+
+    /**
+     * Sends the given batch request, the request targets a single node.
+     */
+    protected abstract void sendRequest(
+        TransportNodesListGatewayStartedShardsBatch.Request request,
+        ActionListener<NodesGatewayStartedShardsBatch> listener
+    );
+
+    /**
+     * Starts collecting fetches, sending any fetches that are still pending first.
+     */
+    void startBatching() {
+        flush();
+        synchronized (this) {
+            batching = true;
+        }
+    }
+
+    /**
+     * Adds a fetch to the current batch if batching, returns {@code false} if not batching or if one of the nodes is too old to handle
+     * batch requests. The listener is completed once all nodes responded.
+     */
+    synchronized boolean tryAdd(
+        ShardId shardId,
+        String customDataPath,
+        DiscoveryNode[] nodes,
+        ActionListener<BaseNodesResponse<NodeGatewayStartedShards>> listener
+    ) {
+        if (batching == false) {
+            return false;
+        }
+        for (DiscoveryNode node : nodes) {
+            if (node.getVersion().before(TransportNodesListGatewayStartedShardsBatch.MINIMUM_COMPATIBLE_VERSION)) {
+                return false;
+            }
+        }
+        pendingFetches.add(new PendingFetch(shardId, customDataPath, nodes, listener));
+        return true;
+    }
+
+    /**
+     * Stops collecting fetches and sends the pending ones.
+     */
+    void flush() {
+        final List<PendingFetch> fetches;
+        synchronized (this) {
+            batching = false;
+            fetches = pendingFetches;
+            pendingFetches = new ArrayList<>();
+        }
+        if (fetches.isEmpty()) {
+            return;
+        }
+
+        final Map<DiscoveryNode, List<NodeFetch>> fetchesByNode = new LinkedHashMap<>();
+        for (PendingFetch fetch : fetches) {
+            for (DiscoveryNode node : fetch.nodes) {
+                fetchesByNode.computeIfAbsent(node, n -> new ArrayList<>()).add(new NodeFetch(fetch, node));
+            }
+        }
+        for (Map.Entry<DiscoveryNode, List<NodeFetch>> entry : fetchesByNode.entrySet()) {
+            final List<NodeFetch> nodeFetches = entry.getValue();
+            for (int from = 0; from < nodeFetches.size(); from += maxShardsPerRequest) {
+                sendBatch(entry.getKey(), nodeFetches.subList(from, Math.min(from + maxShardsPerRequest, nodeFetches.size())));
+            }
+        }
+    }
+
+    /**
+     * Drops the pending fetches without sending them, for when the fetches that issued them are closed.
+     */
+    synchronized void clear() {
+        batching = false;
+        pendingFetches = new ArrayList<>();
+    }
+
+    synchronized int getNumberOfPendingFetches() {
+        return pendingFetches.size();
+    }
+
+    private void sendBatch(DiscoveryNode node, List<NodeFetch> nodeFetches) {
+        final Map<ShardId, String> shards = new HashMap<>(nodeFetches.size());
+        for (NodeFetch nodeFetch : nodeFetches) {
+            shards.put(nodeFetch.fetch.shardId, nodeFetch.fetch.customDataPath);
+        }
+        sendRequest(new TransportNodesListGatewayStartedShardsBatch.Request(shards, node), new ActionListener<>() {
+            @Override
+            public void onResponse(NodesGatewayStartedShardsBatch response) {
+                assert response.getNodes().size() + response.failures().size() == 1 : "expected a single node but got " + response;
+                for (FailedNodeException failure : response.failures()) {
+                    for (NodeFetch nodeFetch : nodeFetches) {
+                        nodeFetch.fetch.onNodeFailure(failure);
+                    }
+                }
+                for (NodeGatewayStartedShardsBatch nodeResponse : response.getNodes()) {
+                    for (NodeFetch nodeFetch : nodeFetches) {
+                        nodeFetch.onResponse(nodeResponse);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                final FailedNodeException failure = new FailedNodeException(node.getId(), "total failure in fetching", e);
+                for (NodeFetch nodeFetch : nodeFetches) {
+                    nodeFetch.fetch.onNodeFailure(failure);
+                }
+            }
+        });
+    }
+
+    /**
+     * A fetch of a shard from a single node, which is part of the batch request to that node.
+     */
+    private static class NodeFetch {
+        private final PendingFetch fetch;
+        private final DiscoveryNode node;
+
+        NodeFetch(PendingFetch fetch, DiscoveryNode node) {
+            this.fetch = fetch;
+            this.node = node;
+        }
+
+        void onResponse(NodeGatewayStartedShardsBatch nodeResponse) {
+            final NodeGatewayStartedShards startedShard = nodeResponse.getStartedShards().get(fetch.shardId);
+            if (startedShard != null) {
+                // use the node instance of the fetch, which must be the same instance as the one of the allocation
+                fetch.onNodeResponse(
+                    new NodeGatewayStartedShards(node, startedShard.allocationId(), startedShard.primary(), startedShard.storeException())
+                );
+            } else {
+                Exception failure = nodeResponse.getFailures().get(fetch.shardId);
+                if (failure == null) {
+                    assert false : "no response for " + fetch.shardId + " from " + node;
+                    failure = new IllegalStateException("no response for shard [" + fetch.shardId + "]");
+                }
+                fetch.onNodeFailure(new FailedNodeException(node.getId(), "Failed node [" + node.getId() + "]", failure));
+            }
+        }
+    }
+
+    /**
+     * A fetch of a shard from several nodes, which completes its listener once all nodes responded.
+     */
+    private class PendingFetch {
+        private final ShardId shardId;
+        private final String customDataPath;
+        private final DiscoveryNode[] nodes;
+        private final ActionListener<BaseNodesResponse<NodeGatewayStartedShards>> listener;
+        private final CountDown countDown;
+        private final List<NodeGatewayStartedShards> responses = new ArrayList<>();
+        private final List<FailedNodeException> failures = new ArrayList<>();
+
+        PendingFetch(
+            ShardId shardId,
+            String customDataPath,
+            DiscoveryNode[] nodes,
+            ActionListener<BaseNodesResponse<NodeGatewayStartedShards>> listener
+        ) {
+            assert nodes.length > 0 : "no nodes to fetch " + shardId + " from";
+            this.shardId = shardId;
+            this.customDataPath = customDataPath;
+            this.nodes = nodes;
+            this.listener = listener;
+            this.countDown = new CountDown(nodes.length);
+        }
+
+        void onNodeResponse(NodeGatewayStartedShards response) {
+            synchronized (this) {
+                responses.add(response);
+            }
+            onNodeDone();
+        }
+
+        void onNodeFailure(FailedNodeException failure) {
+            synchronized (this) {
+                failures.add(failure);
+            }
+            onNodeDone();
+        }
+
+        private void onNodeDone() {
+            if (countDown.countDown()) {
+                final NodesGatewayStartedShards response;
+                synchronized (this) {
+                    response = new NodesGatewayStartedShards(clusterName, responses, failures);
+                }
+                listener.onResponse(response);
+            }
+        }
+    }
+}
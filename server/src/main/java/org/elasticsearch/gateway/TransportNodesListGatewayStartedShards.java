@@ -8,6 +8,7 @@
 
 package org.elasticsearch.gateway;
 
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.Version;
@@ -43,6 +44,7 @@ import org.elasticsearch.xcontent.NamedXContentRegistry;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * This transport action is used to fetch the shard version from each node during primary allocation in {@link GatewayAllocator}.
@@ -116,67 +118,80 @@ public class TransportNodesListGatewayStartedShards extends TransportNodesAction
     protected NodeGatewayStartedShards nodeOperation(NodeRequest request, Task task) {
         try {
             final ShardId shardId = request.getShardId();
-            logger.trace("{} loading local shard state info", shardId);
-            ShardStateMetadata shardStateMetadata = ShardStateMetadata.FORMAT.loadLatestState(
-                logger,
-                namedXContentRegistry,
-                nodeEnv.availableShardPaths(request.shardId)
-            );
-            if (shardStateMetadata != null) {
-                if (indicesService.getShardOrNull(shardId) == null) {
-                    final String customDataPath;
-                    if (request.getCustomDataPath() != null) {
-                        customDataPath = request.getCustomDataPath();
-                    } else {
-                        // TODO: Fallback for BWC with older ES versions. Remove once request.getCustomDataPath() always returns non-null
-                        final IndexMetadata metadata = clusterService.state().metadata().index(shardId.getIndex());
-                        if (metadata != null) {
-                            customDataPath = new IndexSettings(metadata, settings).customDataPath();
-                        } else {
-                            logger.trace("{} node doesn't have meta data for the requests index", shardId);
-                            throw new ElasticsearchException("node doesn't have meta data for index " + shardId.getIndex());
-                        }
-                    }
-                    // we don't have an open shard on the store, validate the files on disk are openable
-                    ShardPath shardPath = null;
-                    try {
-                        shardPath = ShardPath.loadShardPath(logger, nodeEnv, shardId, customDataPath);
-                        if (shardPath == null) {
-                            throw new IllegalStateException(shardId + " no shard path found");
-                        }
-                        Store.tryOpenIndex(shardPath.resolveIndex(), shardId, nodeEnv::shardLock, logger);
-                    } catch (Exception exception) {
-                        final ShardPath finalShardPath = shardPath;
-                        logger.trace(
-                            () -> new ParameterizedMessage(
-                                "{} can't open index for shard [{}] in path [{}]",
-                                shardId,
-                                shardStateMetadata,
-                                (finalShardPath != null) ? finalShardPath.resolveIndex() : ""
-                            ),
-                            exception
-                        );
-                        String allocationId = shardStateMetadata.allocationId != null ? shardStateMetadata.allocationId.getId() : null;
-                        return new NodeGatewayStartedShards(
-                            clusterService.localNode(),
-                            allocationId,
-                            shardStateMetadata.primary,
-                            exception
-                        );
-                    }
+            return getShardInfoOnLocalNode(logger, shardId, () -> {
+                if (request.getCustomDataPath() != null) {
+                    return request.getCustomDataPath();
                 }
-
-                logger.debug("{} shard state info found: [{}]", shardId, shardStateMetadata);
-                String allocationId = shardStateMetadata.allocationId != null ? shardStateMetadata.allocationId.getId() : null;
-                return new NodeGatewayStartedShards(clusterService.localNode(), allocationId, shardStateMetadata.primary);
-            }
-            logger.trace("{} no local shard info found", shardId);
-            return new NodeGatewayStartedShards(clusterService.localNode(), null, false);
+                // TODO: Fallback for BWC with older ES versions. Remove once request.getCustomDataPath() always returns non-null
+                final IndexMetadata metadata = clusterService.state().metadata().index(shardId.getIndex());
+                if (metadata != null) {
+                    return new IndexSettings(metadata, settings).customDataPath();
+                } else {
+                    logger.trace("{} node doesn't have meta data for the requests index", shardId);
+                    throw new ElasticsearchException("node doesn't have meta data for index " + shardId.getIndex());
+                }
+            }, clusterService.localNode(), nodeEnv, indicesService, namedXContentRegistry);
         } catch (Exception e) {
             throw new ElasticsearchException("failed to load started shards", e);
         }
     }
 
+    /**
+     * Loads the state of the given shard from the local disk. Shared with {@link TransportNodesListGatewayStartedShardsBatch}, which
+     * does the same for many shards in a single request.
+     *
+     * @param customDataPathSupplier supplies the custom data path of the shard, only called if the shard is not open on this node
+     */
+    static NodeGatewayStartedShards getShardInfoOnLocalNode(
+        Logger logger,
+        ShardId shardId,
+        Supplier<String> customDataPathSupplier,
+        DiscoveryNode localNode,
+        NodeEnvironment nodeEnv,
+        IndicesService indicesService,
+        NamedXContentRegistry namedXContentRegistry
+    ) throws IOException {
+        logger.trace("{} loading local shard state info", shardId);
+        ShardStateMetadata shardStateMetadata = ShardStateMetadata.FORMAT.loadLatestState(
+            logger,
+            namedXContentRegistry,
+            nodeEnv.availableShardPaths(shardId)
+        );
+        if (shardStateMetadata != null) {
+            if (indicesService.getShardOrNull(shardId) == null) {
+                final String customDataPath = customDataPathSupplier.get();
+                // we don't have an open shard on the store, validate the files on disk are openable
+                ShardPath shardPath = null;
+                try {
+                    shardPath = ShardPath.loadShardPath(logger, nodeEnv, shardId, customDataPath);
+                    if (shardPath == null) {
+                        throw new IllegalStateException(shardId + " no shard path found");
+                    }
+                    Store.tryOpenIndex(shardPath.resolveIndex(), shardId, nodeEnv::shardLock, logger);
+                } catch (Exception exception) {
+                    final ShardPath finalShardPath = shardPath;
+                    logger.trace(
+                        () -> new ParameterizedMessage(
+                            "{} can't open index for shard [{}] in path [{}]",
+                            shardId,
+                            shardStateMetadata,
+                            (finalShardPath != null) ? finalShardPath.resolveIndex() : ""
+                        ),
+                        exception
+                    );
+                    String allocationId = shardStateMetadata.allocationId != null ? shardStateMetadata.allocationId.getId() : null;
+                    return new NodeGatewayStartedShards(localNode, allocationId, shardStateMetadata.primary, exception);
+                }
+            }
+
+            logger.debug("{} shard state info found: [{}]", shardId, shardStateMetadata);
+            String allocationId = shardStateMetadata.allocationId != null ? shardStateMetadata.allocationId.getId() : null;
+            return new NodeGatewayStartedShards(localNode, allocationId, shardStateMetadata.primary);
+        }
+        logger.trace("{} no local shard info found", shardId);
+        return new NodeGatewayStartedShards(localNode, null, false);
+    }
+
     public static class Request extends BaseNodesRequest<Request> {
 
         private final ShardId shardId;
@@ -0,0 +1,291 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.gateway;
+
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.Version;
+import org.elasticsearch.action.ActionType;
+import org.elasticsearch.action.FailedNodeException;
+import org.elasticsearch.action.support.ActionFilters;
+import org.elasticsearch.action.support.nodes.BaseNodeResponse;
+import org.elasticsearch.action.support.nodes.BaseNodesRequest;
+import org.elasticsearch.action.support.nodes.BaseNodesResponse;
+import org.elasticsearch.action.support.nodes.TransportNodesAction;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.env.NodeEnvironment;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShards.NodeGatewayStartedShards;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.indices.IndicesService;
+import org.elasticsearch.tasks.Task;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.TransportRequest;
+import org.elasticsearch.transport.TransportService;
+import org.elasticsearch.xcontent.NamedXContentRegistry;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Like {@link TransportNodesListGatewayStartedShards} but fetches the shard version of many shards from a single node at once. Used by
+ * {@link GatewayAllocator} to fetch the state of all unassigned primaries after a full cluster restart with one request per node and
+ * batch of shards rather than one request per node and shard.
+ */
+public class TransportNodesListGatewayStartedShardsBatch extends TransportNodesAction<
+    TransportNodesListGatewayStartedShardsBatch.Request,
+    TransportNodesListGatewayStartedShardsBatch.NodesGatewayStartedShardsBatch,
+    TransportNodesListGatewayStartedShardsBatch.NodeRequest,
+    TransportNodesListGatewayStartedShardsBatch.NodeGatewayStartedShardsBatch> {
+
+    public static final String ACTION_NAME = "internal:gateway/local/started_shards_batch";
+    public static final ActionType<NodesGatewayStartedShardsBatch> TYPE = new ActionType<>(
+        ACTION_NAME,
+        NodesGatewayStartedShardsBatch::new
+    );
+
+    /**
+     * The first version whose nodes can handle this action, the master falls back to {@link TransportNodesListGatewayStartedShards} for
+     * older nodes.
+     */
+    public static final Version MINIMUM_COMPATIBLE_VERSION = Version.V_8_1_0;
+
+    private final NodeEnvironment nodeEnv;
+    private final IndicesService indicesService;
+    private final NamedXContentRegistry namedXContentRegistry;
+
+    @Inject
+    public TransportNodesListGatewayStartedShardsBatch(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        NodeEnvironment env,
+        IndicesService indicesService,
+        NamedXContentRegistry namedXContentRegistry
+    ) {
+        super(
+            ACTION_NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            Request::new,
+            NodeRequest::new,
+            ThreadPool.Names.FETCH_SHARD_STARTED,
+            NodeGatewayStartedShardsBatch.class
+        );
+        this.nodeEnv = env;
+        this.indicesService = indicesService;
+        this.namedXContentRegistry = namedXContentRegistry;
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(Request request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected NodeGatewayStartedShardsBatch newNodeResponse(StreamInput in, DiscoveryNode node) throws IOException {
+        final NodeGatewayStartedShardsBatch response = new NodeGatewayStartedShardsBatch(in, node);
+        assert response.getNode() == node;
+        return response;
+    }
+
+    @Override
+    protected NodesGatewayStartedShardsBatch newResponse(
+        Request request,
+        List<NodeGatewayStartedShardsBatch> responses,
+        List<FailedNodeException> failures
+    ) {
+        return new NodesGatewayStartedShardsBatch(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeGatewayStartedShardsBatch nodeOperation(NodeRequest request, Task task) {
+        final DiscoveryNode localNode = clusterService.localNode();
+        final Map<ShardId, NodeGatewayStartedShards> startedShards = new HashMap<>(request.getShards().size());
+        final Map<ShardId, Exception> failures = new HashMap<>();
+        for (Map.Entry<ShardId, String> shard : request.getShards().entrySet()) {
+            final ShardId shardId = shard.getKey();
+            final String customDataPath = shard.getValue();
+            try {
+                startedShards.put(
+                    shardId,
+                    TransportNodesListGatewayStartedShards.getShardInfoOnLocalNode(
+                        logger,
+                        shardId,
+                        () -> customDataPath,
+                        localNode,
+                        nodeEnv,
+                        indicesService,
+                        namedXContentRegistry
+                    )
+                );
+            } catch (Exception e) {
+                // fail this shard only, the other shards of the batch are still usable
+                logger.debug(new ParameterizedMessage("{} failed to load started shard", shardId), e);
+                failures.put(shardId, new ElasticsearchException("failed to load started shards", e));
+            }
+        }
+        return new NodeGatewayStartedShardsBatch(localNode, startedShards, failures);
+    }
+
+    public static class Request extends BaseNodesRequest<Request> {
+
+        private final Map<ShardId, String> shards;
+
+        public Request(StreamInput in) throws IOException {
+            super(in);
+            shards = in.readMap(ShardId::new, StreamInput::readString);
+        }
+
+        /**
+         * @param shards the shards to fetch, mapped to the custom data path of their index or to an empty string if there is none
+         */
+        public Request(Map<ShardId, String> shards, DiscoveryNode... nodes) {
+            super(nodes);
+            this.shards = Objects.requireNonNull(shards);
+        }
+
+        public Map<ShardId, String> getShards() {
+            return shards;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeMap(shards, (o, shardId) -> shardId.writeTo(o), StreamOutput::writeString);
+        }
+    }
+
+    public static class NodesGatewayStartedShardsBatch extends BaseNodesResponse<NodeGatewayStartedShardsBatch> {
+
+        public NodesGatewayStartedShardsBatch(StreamInput in) throws IOException {
+            super(in);
+        }
+
+        public NodesGatewayStartedShardsBatch(
+            ClusterName clusterName,
+            List<NodeGatewayStartedShardsBatch> nodes,
+            List<FailedNodeException> failures
+        ) {
+            super(clusterName, nodes, failures);
+        }
+
+        @Override
+        protected List<NodeGatewayStartedShardsBatch> readNodesFrom(StreamInput in) throws IOException {
+            return in.readList(NodeGatewayStartedShardsBatch::new);
+        }
+
+        @Override
+        protected void writeNodesTo(StreamOutput out, List<NodeGatewayStartedShardsBatch> nodes) throws IOException {
+            out.writeList(nodes);
+        }
+    }
+
+    public static class NodeRequest extends TransportRequest {
+
+        private final Map<ShardId, String> shards;
+
+        public NodeRequest(StreamInput in) throws IOException {
+            super(in);
+            shards = in.readMap(ShardId::new, StreamInput::readString);
+        }
+
+        public NodeRequest(Request request) {
+            this.shards = Objects.requireNonNull(request.getShards());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeMap(shards, (o, shardId) -> shardId.writeTo(o), StreamOutput::writeString);
+        }
+
+        public Map<ShardId, String> getShards() {
+            return shards;
+        }
+    }
+
+    public static class NodeGatewayStartedShardsBatch extends BaseNodeResponse {
+
+        private final Map<ShardId, NodeGatewayStartedShards> startedShards;
+        private final Map<ShardId, Exception> failures;
+
+        public NodeGatewayStartedShardsBatch(StreamInput in) throws IOException {
+            this(in, null);
+        }
+
+        public NodeGatewayStartedShardsBatch(StreamInput in, DiscoveryNode node) throws IOException {
+            super(in, node);
+            // the per-shard responses do not repeat the node, which is the same for all of them
+            final int size = in.readVInt();
+            startedShards = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                final ShardId shardId = new ShardId(in);
+                final String allocationId = in.readOptionalString();
+                final boolean primary = in.readBoolean();
+                final Exception storeException = in.readBoolean() ? in.readException() : null;
+                startedShards.put(shardId, new NodeGatewayStartedShards(getNode(), allocationId, primary, storeException));
+            }
+            failures = in.readMap(ShardId::new, StreamInput::readException);
+        }
+
+        public NodeGatewayStartedShardsBatch(
+            DiscoveryNode node,
+            Map<ShardId, NodeGatewayStartedShards> startedShards,
+            Map<ShardId, Exception> failures
+        ) {
+            super(node);
+            this.startedShards = Objects.requireNonNull(startedShards);
+            this.failures = Objects.requireNonNull(failures);
+        }
+
+        /**
+         * The state of the shards that could be loaded, by shard id.
+         */
+        public Map<ShardId, NodeGatewayStartedShards> getStartedShards() {
+            return startedShards;
+        }
+
+        /**
+         * The failures of the shards whose state could not be loaded, by shard id.
+         */
+        public Map<ShardId, Exception> getFailures() {
+            return failures;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeVInt(startedShards.size());
+            for (Map.Entry<ShardId, NodeGatewayStartedShards> entry : startedShards.entrySet()) {
+                final NodeGatewayStartedShards startedShard = entry.getValue();
+                entry.getKey().writeTo(out);
+                out.writeOptionalString(startedShard.allocationId());
+                out.writeBoolean(startedShard.primary());
+                if (startedShard.storeException() != null) {
+                    out.writeBoolean(true);
+                    out.writeException(startedShard.storeException());
+                } else {
+                    out.writeBoolean(false);
+                }
+            }
+            out.writeMap(failures, (o, shardId) -> shardId.writeTo(o), StreamOutput::writeException);
+        }
+    }
+}
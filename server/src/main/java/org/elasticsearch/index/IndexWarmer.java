@@ -11,7 +11,11 @@ package org.elasticsearch.index;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.index.LeafReaderContext;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ActionRunnable;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.common.util.concurrent.CountDown;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.fielddata.IndexFieldData;
 import org.elasticsearch.index.fielddata.IndexFieldDataService;
@@ -29,6 +33,7 @@ import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class IndexWarmer {
 
@@ -114,19 +119,22 @@ public final class IndexWarmer {
             }
             final CountDownLatch latch = new CountDownLatch(warmUpGlobalOrdinals.size());
             for (final MappedFieldType fieldType : warmUpGlobalOrdinals.values()) {
-                executor.execute(() -> {
-                    try {
-                        final long start = System.nanoTime();
-                        IndexFieldData.Global<?> ifd = indexFieldDataService.getForField(
-                            fieldType,
-                            indexFieldDataService.index().getName(),
-                            () -> { throw new UnsupportedOperationException("search lookup not available when warming an index"); }
-                        );
-                        IndexFieldData<?> global = ifd.loadGlobal(reader);
-                        if (reader.leaves().isEmpty() == false) {
-                            global.load(reader.leaves().get(0));
-                        }
-
+                final long start = System.nanoTime();
+                final IndexFieldData.Global<?> ifd;
+                try {
+                    ifd = indexFieldDataService.getForField(
+                        fieldType,
+                        indexFieldDataService.index().getName(),
+                        () -> { throw new UnsupportedOperationException("search lookup not available when warming an index"); }
+                    );
+                } catch (Exception e) {
+                    onFailure(indexShard, fieldType, e);
+                    latch.countDown();
+                    continue;
+                }
+                warmGlobalOrdinals(executor, reader, ifd, ActionListener.runAfter(new ActionListener<Void>() {
+                    @Override
+                    public void onResponse(Void unused) {
                         if (indexShard.warmerService().logger().isTraceEnabled()) {
                             indexShard.warmerService()
                                 .logger()
@@ -136,17 +144,72 @@ public final class IndexWarmer {
                                     TimeValue.timeValueNanos(System.nanoTime() - start)
                                 );
                         }
-                    } catch (Exception e) {
-                        indexShard.warmerService()
-                            .logger()
-                            .warn(() -> new ParameterizedMessage("failed to warm-up global ordinals for [{}]", fieldType.name()), e);
-                    } finally {
-                        latch.countDown();
                     }
-                });
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        FieldDataWarmer.onFailure(indexShard, fieldType, e);
+                    }
+                }, latch::countDown));
             }
             return () -> latch.await();
         }
+
+        private static void onFailure(IndexShard indexShard, MappedFieldType fieldType, Exception e) {
+            indexShard.warmerService()
+                .logger()
+                .warn(() -> new ParameterizedMessage("failed to warm-up global ordinals for [{}]", fieldType.name()), e);
+        }
+    }
+
+    /**
+     * Builds the global ordinals of the given field data on the given executor. Building global ordinals loads the field data of every
+     * segment one after the other before merging their terms, so the field data of the segments is loaded in parallel first and the
+     * last segment to complete builds the global ordinals out of the cached segments, or fails the listener if any segment failed to
+     * load. No task ever waits on another one so this is safe on a bounded pool.
+     */
+    static void warmGlobalOrdinals(
+        Executor executor,
+        ElasticsearchDirectoryReader reader,
+        IndexFieldData.Global<?> ifd,
+        ActionListener<Void> listener
+    ) {
+        final List<LeafReaderContext> leaves = reader.leaves();
+        if (leaves.size() <= 1) {
+            executor.execute(ActionRunnable.run(listener, () -> loadGlobalOrdinals(reader, ifd)));
+            return;
+        }
+        final CountDown pendingLeaves = new CountDown(leaves.size());
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        for (final LeafReaderContext leaf : leaves) {
+            executor.execute(() -> {
+                try {
+                    ifd.load(leaf);
+                } catch (Exception e) {
+                    if (failure.compareAndSet(null, e) == false) {
+                        failure.get().addSuppressed(e);
+                    }
+                }
+                if (pendingLeaves.countDown()) {
+                    final Exception e = failure.get();
+                    if (e != null) {
+                        listener.onFailure(e);
+                    } else {
+                        ActionListener.completeWith(listener, () -> {
+                            loadGlobalOrdinals(reader, ifd);
+                            return null;
+                        });
+                    }
+                }
+            });
+        }
+    }
+
+    private static void loadGlobalOrdinals(ElasticsearchDirectoryReader reader, IndexFieldData.Global<?> ifd) {
+        IndexFieldData<?> global = ifd.loadGlobal(reader);
+        if (reader.leaves().isEmpty() == false) {
+            global.load(reader.leaves().get(0));
+        }
     }
 
 }
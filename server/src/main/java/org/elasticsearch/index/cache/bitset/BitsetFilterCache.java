@@ -82,7 +82,11 @@ public final class BitsetFilterCache extends AbstractIndexComponent
             throw new IllegalArgumentException("listener must not be null");
         }
         this.loadRandomAccessFiltersEagerly = this.indexSettings.getValue(INDEX_LOAD_RANDOM_ACCESS_FILTERS_EAGERLY_SETTING);
-        this.loadedFilters = CacheBuilder.<IndexReader.CacheKey, Cache<Query, Value>>builder().removalListener(this).build();
+        // every search looks up the filters of each segment, don't serialize these lookups on the LRU lock
+        this.loadedFilters = CacheBuilder.<IndexReader.CacheKey, Cache<Query, Value>>builder()
+            .setFrequencyAwareEviction(true)
+            .removalListener(this)
+            .build();
         this.listener = listener;
     }
 
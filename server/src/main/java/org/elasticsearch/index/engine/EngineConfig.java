@@ -51,6 +51,7 @@ public final class EngineConfig {
     private volatile boolean enableGcDeletes = true;
     private final TimeValue flushMergesAfter;
     private final String codecName;
+    private final int versionMapLockStripes;
     private final IndexStorePlugin.SnapshotCommitSupplier snapshotCommitSupplier;
     private final ThreadPool threadPool;
     private final Engine.Warmer warmer;
@@ -108,6 +109,19 @@ public final class EngineConfig {
         }
     }, Property.IndexScope, Property.NodeScope);
 
+    /**
+     * Index setting to stripe the per-uid locks of the live version map over a fixed number of locks, which avoids allocating a lock
+     * per indexing operation. The default of 0 keeps a dedicated lock per uid.
+     * This setting is <b>not</b> realtime updateable.
+     */
+    public static final Setting<Integer> INDEX_VERSION_MAP_LOCK_STRIPES_SETTING = Setting.intSetting(
+        "index.engine.version_map.lock_stripes",
+        0,
+        0,
+        1 << 16,
+        Property.IndexScope
+    );
+
     private final TranslogConfig translogConfig;
 
     /**
@@ -149,6 +163,7 @@ public final class EngineConfig {
         this.codecService = codecService;
         this.eventListener = eventListener;
         codecName = indexSettings.getValue(INDEX_CODEC_SETTING);
+        versionMapLockStripes = indexSettings.getValue(INDEX_VERSION_MAP_LOCK_STRIPES_SETTING);
         // We need to make the indexing buffer for this shard at least as large
         // as the amount of memory that is available for all engines on the
         // local node so that decisions to flush segments to disk are made by
@@ -219,6 +234,16 @@ public final class EngineConfig {
         return codecService.codec(codecName);
     }
 
+    /**
+     * Returns the number of locks the uid locks of the live version map are striped over, or 0 if each uid gets its own lock.
+     * <p>
+     *     Note: this settings is only read on startup.
+     * </p>
+     */
+    public int getVersionMapLockStripes() {
+        return versionMapLockStripes;
+    }
+
     /**
      * Returns a thread-pool mainly used to get estimated time stamps from
      * {@link org.elasticsearch.threadpool.ThreadPool#relativeTimeInMillis()} and to schedule
@@ -14,6 +14,7 @@ import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.KeyedLock;
+import org.elasticsearch.common.util.concurrent.StripedLock;
 import org.elasticsearch.core.Releasable;
 
 import java.io.IOException;
@@ -21,18 +22,42 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /** Maps _uid value to its version information. */
 final class LiveVersionMap implements ReferenceManager.RefreshListener, Accountable {
 
-    private final KeyedLock<BytesRef> keyedLock = new KeyedLock<>();
+    // exactly one of these is non-null: either every uid gets its own lock or uids are striped over a fixed number of locks
+    private final KeyedLock<BytesRef> keyedLock;
+    private final StripedLock<BytesRef> stripedLock;
+
+    /**
+     * Creates a version map that locks each uid with its own lock.
+     */
+    LiveVersionMap() {
+        this(0);
+    }
+
+    /**
+     * Creates a version map that stripes the locks of uids over the given number of locks, or that locks each uid with its own lock
+     * if <code>lockStripes</code> is 0. Striped locks don't allocate per operation, but uids that share a stripe also share a lock.
+     */
+    LiveVersionMap(int lockStripes) {
+        if (lockStripes == 0) {
+            keyedLock = new KeyedLock<>();
+            stripedLock = null;
+        } else {
+            keyedLock = null;
+            stripedLock = new StripedLock<>(lockStripes);
+        }
+    }
 
     private static final class VersionLookup {
 
         /** Tracks bytes used by current map, i.e. what is freed on refresh. For deletes, which are also added to tombstones,
          *  we only account for the CHM entry here, and account for BytesRef/VersionValue against the tombstones, since refresh would not
          *  clear this RAM. */
-        final AtomicLong ramBytesUsed = new AtomicLong();
+        final LongAdder ramBytesUsed = new LongAdder();
 
         private static final VersionLookup EMPTY = new VersionLookup(Collections.emptyMap());
         private final Map<BytesRef, VersionValue> map;
@@ -154,8 +179,10 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
 
         void adjustRam(long value) {
             if (value != 0) {
-                long v = current.ramBytesUsed.addAndGet(value);
-                assert v >= 0 : "bytes=" + v;
+                // a LongAdder rather than an AtomicLong since all indexing threads of the shard update it, the sum is only read
+                // periodically by the indexing memory controller and for stats. The sum is not an atomic snapshot, it may see the
+                // decrement of a concurrent update without the matching increment, so it can't be asserted to be non-negative.
+                current.ramBytesUsed.add(value);
             }
         }
 
@@ -224,7 +251,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
     /**
      * Tracks bytes used by tombstones (deletes)
      */
-    private final AtomicLong ramBytesUsedTombstones = new AtomicLong();
+    private final LongAdder ramBytesUsedTombstones = new LongAdder();
 
     @Override
     public void beforeRefresh() throws IOException {
@@ -344,8 +371,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
             accountRam -= (BASE_BYTES_PER_CHM_ENTRY + prevTombstone.ramBytesUsed() + uidRAMBytesUsed);
         }
         if (accountRam != 0) {
-            long v = ramBytesUsedTombstones.addAndGet(accountRam);
-            assert v >= 0 : "bytes=" + v;
+            ramBytesUsedTombstones.add(accountRam);
         }
     }
 
@@ -358,8 +384,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
         final VersionValue prev = tombstones.remove(uid);
         if (prev != null) {
             assert prev.isDelete();
-            long v = ramBytesUsedTombstones.addAndGet(-(BASE_BYTES_PER_CHM_ENTRY + prev.ramBytesUsed() + uidRAMBytesUsed));
-            assert v >= 0 : "bytes=" + v;
+            ramBytesUsedTombstones.add(-(BASE_BYTES_PER_CHM_ENTRY + prev.ramBytesUsed() + uidRAMBytesUsed));
         }
     }
 
@@ -383,7 +408,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
             // we won't collect the tombstone below since it must be newer than this one.
             if (canRemoveTombstone(maxTimestampToPrune, maxSeqNoToPrune, entry.getValue())) {
                 final BytesRef uid = entry.getKey();
-                try (Releasable lock = keyedLock.tryAcquire(uid)) {
+                try (Releasable lock = tryAcquireLock(uid)) {
                     // we use tryAcquire here since this is a best effort and we try to be least disruptive
                     // this method is also called under lock in the engine under certain situations such that this can lead to deadlocks
                     // if we do use a blocking acquire. see #28714
@@ -415,7 +440,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
 
     @Override
     public long ramBytesUsed() {
-        return maps.current.ramBytesUsed.get() + ramBytesUsedTombstones.get();
+        return maps.current.ramBytesUsed.sum() + ramBytesUsedTombstones.sum();
     }
 
     /**
@@ -423,7 +448,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
      * don't clear on refresh.
      */
     long ramBytesUsedForRefresh() {
-        return maps.current.ramBytesUsed.get();
+        return maps.current.ramBytesUsed.sum();
     }
 
     /**
@@ -431,7 +456,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
      * except does not include tombstones because they don't clear on refresh.
      */
     long getRefreshingBytes() {
-        return maps.old.ramBytesUsed.get();
+        return maps.old.ramBytesUsed.sum();
     }
 
     @Override
@@ -458,13 +483,19 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
      * this lock to be hold by the caller otherwise the visibility guarantees of this version
      * map are broken. We assert on this lock to be hold when calling these methods.
      * @see KeyedLock
+     * @see StripedLock
      */
     Releasable acquireLock(BytesRef uid) {
-        return keyedLock.acquire(uid);
+        return keyedLock != null ? keyedLock.acquire(uid) : stripedLock.acquire(uid);
+    }
+
+    private Releasable tryAcquireLock(BytesRef uid) {
+        return keyedLock != null ? keyedLock.tryAcquire(uid) : stripedLock.tryAcquire(uid);
     }
 
     boolean assertKeyedLockHeldByCurrentThread(BytesRef uid) {
-        assert keyedLock.isHeldByCurrentThread(uid) : "Thread [" + Thread.currentThread().getName() + "], uid [" + uid.utf8ToString() + "]";
+        final boolean held = keyedLock != null ? keyedLock.isHeldByCurrentThread(uid) : stripedLock.isHeldByCurrentThread(uid);
+        assert held : "Thread [" + Thread.currentThread().getName() + "], uid [" + uid.utf8ToString() + "]";
         return true;
     }
 }
@@ -8,16 +8,20 @@
 
 package org.elasticsearch.index.fielddata;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.FieldMemoryStats;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 public class FieldDataStats implements Writeable, ToXContentFragment {
@@ -27,25 +31,40 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
     private static final String MEMORY_SIZE_IN_BYTES = "memory_size_in_bytes";
     private static final String EVICTIONS = "evictions";
     private static final String FIELDS = "fields";
+    private static final String GLOBAL_ORDINALS = "global_ordinals";
+    private static final String BUILD_TIME = "build_time";
+    private static final String BUILD_TIME_IN_MILLIS = "build_time_in_millis";
+    private static final String SHARD_MAX_VALUE_COUNT = "shard_max_value_count";
     private long memorySize;
     private long evictions;
     @Nullable
     private FieldMemoryStats fields;
+    private GlobalOrdinalsStats globalOrdinalsStats;
 
     public FieldDataStats() {
-
+        this.globalOrdinalsStats = new GlobalOrdinalsStats(0, new HashMap<>());
     }
 
     public FieldDataStats(StreamInput in) throws IOException {
         memorySize = in.readVLong();
         evictions = in.readVLong();
         fields = in.readOptionalWriteable(FieldMemoryStats::new);
+        if (in.getVersion().onOrAfter(Version.V_8_1_0)) {
+            globalOrdinalsStats = new GlobalOrdinalsStats(in);
+        } else {
+            globalOrdinalsStats = new GlobalOrdinalsStats(0, new HashMap<>());
+        }
     }
 
     public FieldDataStats(long memorySize, long evictions, @Nullable FieldMemoryStats fields) {
+        this(memorySize, evictions, fields, new GlobalOrdinalsStats(0, new HashMap<>()));
+    }
+
+    public FieldDataStats(long memorySize, long evictions, @Nullable FieldMemoryStats fields, GlobalOrdinalsStats globalOrdinalsStats) {
         this.memorySize = memorySize;
         this.evictions = evictions;
         this.fields = fields;
+        this.globalOrdinalsStats = Objects.requireNonNull(globalOrdinalsStats);
     }
 
     public void add(FieldDataStats stats) {
@@ -58,6 +77,7 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
                 fields.add(stats.fields);
             }
         }
+        globalOrdinalsStats.add(stats.globalOrdinalsStats);
     }
 
     public long getMemorySizeInBytes() {
@@ -77,11 +97,18 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
         return fields;
     }
 
+    public GlobalOrdinalsStats getGlobalOrdinalsStats() {
+        return globalOrdinalsStats;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeVLong(memorySize);
         out.writeVLong(evictions);
         out.writeOptionalWriteable(fields);
+        if (out.getVersion().onOrAfter(Version.V_8_1_0)) {
+            globalOrdinalsStats.writeTo(out);
+        }
     }
 
     @Override
@@ -92,6 +119,19 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
         if (fields != null) {
             fields.toXContent(builder, FIELDS, MEMORY_SIZE_IN_BYTES, MEMORY_SIZE);
         }
+        builder.startObject(GLOBAL_ORDINALS);
+        builder.humanReadableField(BUILD_TIME_IN_MILLIS, BUILD_TIME, new TimeValue(globalOrdinalsStats.buildTimeMillis));
+        if (globalOrdinalsStats.fieldGlobalOrdinalsStats.isEmpty() == false) {
+            builder.startObject(FIELDS);
+            for (Map.Entry<String, GlobalOrdinalFieldStats> entry : globalOrdinalsStats.fieldGlobalOrdinalsStats.entrySet()) {
+                builder.startObject(entry.getKey());
+                builder.humanReadableField(BUILD_TIME_IN_MILLIS, BUILD_TIME, new TimeValue(entry.getValue().totalBuildingTime));
+                builder.field(SHARD_MAX_VALUE_COUNT, entry.getValue().valueCount);
+                builder.endObject();
+            }
+            builder.endObject();
+        }
+        builder.endObject();
         builder.endObject();
         return builder;
     }
@@ -101,11 +141,124 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         FieldDataStats that = (FieldDataStats) o;
-        return memorySize == that.memorySize && evictions == that.evictions && Objects.equals(fields, that.fields);
+        return memorySize == that.memorySize
+            && evictions == that.evictions
+            && Objects.equals(fields, that.fields)
+            && Objects.equals(globalOrdinalsStats, that.globalOrdinalsStats);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(memorySize, evictions, fields);
+        return Objects.hash(memorySize, evictions, fields, globalOrdinalsStats);
+    }
+
+    /**
+     * The time spent building global ordinals, in total and per field, along with the highest number of unique values of a field in a
+     * shard. Global ordinals are built lazily on first use after a refresh unless the field is configured to build them eagerly.
+     */
+    public static class GlobalOrdinalsStats implements Writeable {
+
+        private long buildTimeMillis;
+        private final Map<String, GlobalOrdinalFieldStats> fieldGlobalOrdinalsStats;
+
+        public GlobalOrdinalsStats(long buildTimeMillis, Map<String, GlobalOrdinalFieldStats> fieldGlobalOrdinalsStats) {
+            this.buildTimeMillis = buildTimeMillis;
+            this.fieldGlobalOrdinalsStats = fieldGlobalOrdinalsStats;
+        }
+
+        public GlobalOrdinalsStats(StreamInput in) throws IOException {
+            buildTimeMillis = in.readVLong();
+            fieldGlobalOrdinalsStats = new HashMap<>(in.readMap(StreamInput::readString, GlobalOrdinalFieldStats::new));
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(buildTimeMillis);
+            out.writeMap(fieldGlobalOrdinalsStats, StreamOutput::writeString, (o, v) -> v.writeTo(o));
+        }
+
+        void add(GlobalOrdinalsStats other) {
+            buildTimeMillis += other.buildTimeMillis;
+            for (Map.Entry<String, GlobalOrdinalFieldStats> entry : other.fieldGlobalOrdinalsStats.entrySet()) {
+                fieldGlobalOrdinalsStats.merge(
+                    entry.getKey(),
+                    entry.getValue(),
+                    (a, b) -> new GlobalOrdinalFieldStats(a.totalBuildingTime + b.totalBuildingTime, Math.max(a.valueCount, b.valueCount))
+                );
+            }
+        }
+
+        public long getBuildTimeMillis() {
+            return buildTimeMillis;
+        }
+
+        public Map<String, GlobalOrdinalFieldStats> getFieldGlobalOrdinalsStats() {
+            return fieldGlobalOrdinalsStats;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            GlobalOrdinalsStats that = (GlobalOrdinalsStats) o;
+            return buildTimeMillis == that.buildTimeMillis && Objects.equals(fieldGlobalOrdinalsStats, that.fieldGlobalOrdinalsStats);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(buildTimeMillis, fieldGlobalOrdinalsStats);
+        }
+    }
+
+    /**
+     * The global ordinals stats of a single field.
+     */
+    public static class GlobalOrdinalFieldStats implements Writeable {
+
+        private final long totalBuildingTime;
+        private final long valueCount;
+
+        public GlobalOrdinalFieldStats(long totalBuildingTime, long valueCount) {
+            this.totalBuildingTime = totalBuildingTime;
+            this.valueCount = valueCount;
+        }
+
+        public GlobalOrdinalFieldStats(StreamInput in) throws IOException {
+            totalBuildingTime = in.readVLong();
+            valueCount = in.readVLong();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(totalBuildingTime);
+            out.writeVLong(valueCount);
+        }
+
+        /**
+         * The total time spent building the global ordinals of this field, in milliseconds.
+         */
+        public long getTotalBuildingTime() {
+            return totalBuildingTime;
+        }
+
+        /**
+         * The highest number of unique values of this field in a shard.
+         */
+        public long getValueCount() {
+            return valueCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            GlobalOrdinalFieldStats that = (GlobalOrdinalFieldStats) o;
+            return totalBuildingTime == that.totalBuildingTime && valueCount == that.valueCount;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(totalBuildingTime, valueCount);
+        }
     }
 }
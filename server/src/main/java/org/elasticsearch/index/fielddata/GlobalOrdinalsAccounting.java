@@ -0,0 +1,27 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.fielddata;
+
+import org.elasticsearch.core.TimeValue;
+
+/**
+ * Exposes how expensive it was to build global ordinals, for {@link FieldDataStats}.
+ */
+public interface GlobalOrdinalsAccounting {
+
+    /**
+     * The number of unique values across all segments.
+     */
+    long getValueCount();
+
+    /**
+     * The time it took to build the global ordinals.
+     */
+    TimeValue getBuildingTime();
+}
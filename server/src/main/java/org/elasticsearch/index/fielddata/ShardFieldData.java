@@ -18,6 +18,7 @@ import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.index.shard.ShardId;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
@@ -26,6 +27,9 @@ public class ShardFieldData implements IndexFieldDataCache.Listener {
     private final CounterMetric evictionsMetric = new CounterMetric();
     private final CounterMetric totalMetric = new CounterMetric();
     private final ConcurrentMap<String, CounterMetric> perFieldTotals = ConcurrentCollections.newConcurrentMap();
+    private final CounterMetric globalOrdinalsBuildTimeInMillis = new CounterMetric();
+    private final ConcurrentMap<String, FieldDataStats.GlobalOrdinalFieldStats> perFieldGlobalOrdinals = ConcurrentCollections
+        .newConcurrentMap();
 
     public FieldDataStats stats(String... fields) {
         ObjectLongHashMap<String> fieldTotals = null;
@@ -40,12 +44,27 @@ public class ShardFieldData implements IndexFieldDataCache.Listener {
         return new FieldDataStats(
             totalMetric.count(),
             evictionsMetric.count(),
-            fieldTotals == null ? null : new FieldMemoryStats(fieldTotals)
+            fieldTotals == null ? null : new FieldMemoryStats(fieldTotals),
+            new FieldDataStats.GlobalOrdinalsStats(globalOrdinalsBuildTimeInMillis.count(), new HashMap<>(perFieldGlobalOrdinals))
         );
     }
 
     @Override
     public void onCache(ShardId shardId, String fieldName, Accountable ramUsage) {
+        if (ramUsage instanceof GlobalOrdinalsAccounting) {
+            final GlobalOrdinalsAccounting globalOrdinals = (GlobalOrdinalsAccounting) ramUsage;
+            final long buildTimeInMillis = globalOrdinals.getBuildingTime().millis();
+            globalOrdinalsBuildTimeInMillis.inc(buildTimeInMillis);
+            perFieldGlobalOrdinals.merge(
+                fieldName,
+                new FieldDataStats.GlobalOrdinalFieldStats(buildTimeInMillis, globalOrdinals.getValueCount()),
+                // the value count of the latest global ordinals, they are rebuilt from all segments on every refresh
+                (previous, latest) -> new FieldDataStats.GlobalOrdinalFieldStats(
+                    previous.getTotalBuildingTime() + latest.getTotalBuildingTime(),
+                    latest.getValueCount()
+                )
+            );
+        }
         totalMetric.inc(ramUsage.ramBytesUsed());
         CounterMetric total = perFieldTotals.get(fieldName);
         if (total != null) {
@@ -72,7 +72,8 @@ public enum GlobalOrdinalsBuilder {
             atomicFD,
             ordinalMap,
             memorySizeInBytes,
-            scriptFunction
+            scriptFunction,
+            new TimeValue(System.nanoTime() - startTimeNS, TimeUnit.NANOSECONDS)
         );
     }
 
@@ -110,7 +111,8 @@ public enum GlobalOrdinalsBuilder {
             atomicFD,
             ordinalMap,
             0,
-            AbstractLeafOrdinalsFieldData.DEFAULT_SCRIPT_FUNCTION
+            AbstractLeafOrdinalsFieldData.DEFAULT_SCRIPT_FUNCTION,
+            TimeValue.ZERO
         );
     }
 
@@ -12,6 +12,7 @@ import org.elasticsearch.Version;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.MappingMetadata;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.compress.CompressorFactory;
 import org.elasticsearch.common.settings.Setting;
@@ -232,8 +233,9 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
      */
     public static Map<String, Object> parseMapping(NamedXContentRegistry xContentRegistry, CompressedXContent mappingSource)
         throws IOException {
+        final BytesReference compressed = mappingSource.compressedReference();
         try (
-            InputStream in = CompressorFactory.COMPRESSOR.threadLocalInputStream(mappingSource.compressedReference().streamInput());
+            InputStream in = CompressorFactory.compressor(compressed).threadLocalInputStream(compressed.streamInput());
             XContentParser parser = XContentType.JSON.xContent()
                 .createParser(
                     XContentParserConfiguration.EMPTY.withRegistry(xContentRegistry)
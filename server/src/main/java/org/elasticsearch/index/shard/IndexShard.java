@@ -327,7 +327,12 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         this.indexSortSupplier = indexSortSupplier;
         this.indexEventListener = indexEventListener;
         this.threadPool = threadPool;
-        this.translogSyncProcessor = createTranslogSyncProcessor(logger, threadPool.getThreadContext(), this::getEngine);
+        this.translogSyncProcessor = createTranslogSyncProcessor(
+            logger,
+            threadPool.getThreadContext(),
+            this::getEngine,
+            indexSettings::getTranslogSyncWindow
+        );
         this.mapperService = mapperService;
         this.indexCache = indexCache;
         this.internalIndexingStats = new InternalIndexingStats();
@@ -3588,9 +3593,15 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     private static AsyncIOProcessor<Translog.Location> createTranslogSyncProcessor(
         Logger logger,
         ThreadContext threadContext,
-        Supplier<Engine> engineSupplier
+        Supplier<Engine> engineSupplier,
+        Supplier<TimeValue> syncWindowSupplier
     ) {
         return new AsyncIOProcessor<>(logger, 1024, threadContext) {
+            @Override
+            protected TimeValue maxBatchWindow() {
+                return syncWindowSupplier.get();
+            }
+
             @Override
             protected void write(List<Tuple<Translog.Location, Consumer<Exception>>> candidates) throws IOException {
                 try {
@@ -51,7 +51,6 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -123,6 +122,7 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
     private final String translogUUID;
     private final TranslogDeletionPolicy deletionPolicy;
     private final LongConsumer persistedSequenceNumberConsumer;
+    private final TranslogSyncTracker syncTracker = new TranslogSyncTracker();
 
     /**
      * Creates a new Translog instance. This method will create a new transaction log unless the given {@link TranslogGeneration} is
@@ -768,7 +768,12 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
     public void sync() throws IOException {
         try (ReleasableLock lock = readLock.acquire()) {
             if (closed.get() == false) {
+                final boolean syncNeeded = current.syncNeeded();
+                final long startNanos = System.nanoTime();
                 current.sync();
+                if (syncNeeded) {
+                    syncTracker.onSync(System.nanoTime() - startNanos, 0);
+                }
             }
         } catch (final Exception ex) {
             closeOnTragicEvent(ex);
@@ -842,10 +847,19 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
      * @return Returns <code>true</code> iff this call caused an actual sync operation otherwise <code>false</code>
      */
     public boolean ensureSynced(Location location) throws IOException {
+        return ensureSynced(location, 1);
+    }
+
+    private boolean ensureSynced(Location location, int numLocations) throws IOException {
         try (ReleasableLock lock = readLock.acquire()) {
             if (location.generation == current.getGeneration()) { // if we have a new one it's already synced
                 ensureOpen();
-                return current.syncUpTo(location.translogLocation + location.size);
+                final long startNanos = System.nanoTime();
+                final boolean synced = current.syncUpTo(location.translogLocation + location.size);
+                if (synced) {
+                    syncTracker.onSync(System.nanoTime() - startNanos, numLocations);
+                }
+                return synced;
             }
         } catch (final Exception ex) {
             closeOnTragicEvent(ex);
@@ -862,11 +876,19 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
      * @return Returns <code>true</code> iff this call caused an actual sync operation otherwise <code>false</code>
      */
     public boolean ensureSynced(Stream<Location> locations) throws IOException {
-        final Optional<Location> max = locations.max(Location::compareTo);
+        int numLocations = 0;
+        Location max = null;
+        for (Iterator<Location> iterator = locations.iterator(); iterator.hasNext();) {
+            final Location location = iterator.next();
+            numLocations++;
+            if (max == null || location.compareTo(max) > 0) {
+                max = location;
+            }
+        }
         // we only need to sync the max location since it will sync all other
         // locations implicitly
-        if (max.isPresent()) {
-            return ensureSynced(max.get());
+        if (max != null) {
+            return ensureSynced(max, numLocations);
         } else {
             return false;
         }
@@ -911,7 +933,8 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
                 sizeInBytes(),
                 totalOperationsByMinGen(uncommittedGen),
                 sizeInBytesByMinGen(uncommittedGen),
-                earliestLastModifiedAge()
+                earliestLastModifiedAge(),
+                syncTracker.stats()
             );
         }
     }
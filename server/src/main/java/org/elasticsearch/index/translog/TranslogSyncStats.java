@@ -0,0 +1,190 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stats about the fsyncs of the translog: how many there were, how long they took and how many locations that needed to be synced
+ * were covered by a single fsync. Latencies and batch sizes are also tracked in fixed buckets.
+ */
+public class TranslogSyncStats implements Writeable, ToXContentFragment {
+
+    /**
+     * The exclusive upper bounds of the latency buckets in milliseconds, the last bucket counts fsyncs that took longer than the last
+     * bound
+     */
+    static final long[] LATENCY_BUCKETS_MILLIS = new long[] { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 };
+
+    /**
+     * The inclusive upper bounds of the batch size buckets, the last bucket counts fsyncs that covered more locations than the last bound
+     */
+    static final long[] BATCH_SIZE_BUCKETS = new long[] { 1, 2, 4, 8, 16, 32, 64 };
+
+    private long total;
+    private long totalTimeInNanos;
+    private long syncedLocations;
+    private final long[] latencyCounts;
+    private final long[] batchSizeCounts;
+
+    public TranslogSyncStats() {
+        latencyCounts = new long[LATENCY_BUCKETS_MILLIS.length + 1];
+        batchSizeCounts = new long[BATCH_SIZE_BUCKETS.length + 1];
+    }
+
+    public TranslogSyncStats(long total, long totalTimeInNanos, long syncedLocations, long[] latencyCounts, long[] batchSizeCounts) {
+        if (latencyCounts.length != LATENCY_BUCKETS_MILLIS.length + 1) {
+            throw new IllegalArgumentException("expected [" + (LATENCY_BUCKETS_MILLIS.length + 1) + "] latency buckets");
+        }
+        if (batchSizeCounts.length != BATCH_SIZE_BUCKETS.length + 1) {
+            throw new IllegalArgumentException("expected [" + (BATCH_SIZE_BUCKETS.length + 1) + "] batch size buckets");
+        }
+        this.total = total;
+        this.totalTimeInNanos = totalTimeInNanos;
+        this.syncedLocations = syncedLocations;
+        this.latencyCounts = latencyCounts;
+        this.batchSizeCounts = batchSizeCounts;
+    }
+
+    public TranslogSyncStats(StreamInput in) throws IOException {
+        total = in.readVLong();
+        totalTimeInNanos = in.readVLong();
+        syncedLocations = in.readVLong();
+        latencyCounts = readBuckets(in, LATENCY_BUCKETS_MILLIS.length + 1, "latency");
+        batchSizeCounts = readBuckets(in, BATCH_SIZE_BUCKETS.length + 1, "batch size");
+    }
+
+    private static long[] readBuckets(StreamInput in, int expectedLength, String name) throws IOException {
+        final long[] counts = in.readVLongArray();
+        if (counts.length != expectedLength) {
+            throw new IllegalStateException("expected [" + expectedLength + "] " + name + " buckets but got [" + counts.length + "]");
+        }
+        return counts;
+    }
+
+    public void add(TranslogSyncStats other) {
+        if (other == null) {
+            return;
+        }
+        total += other.total;
+        totalTimeInNanos += other.totalTimeInNanos;
+        syncedLocations += other.syncedLocations;
+        for (int i = 0; i < latencyCounts.length; i++) {
+            latencyCounts[i] += other.latencyCounts[i];
+        }
+        for (int i = 0; i < batchSizeCounts.length; i++) {
+            batchSizeCounts[i] += other.batchSizeCounts[i];
+        }
+    }
+
+    /**
+     * The total number of fsyncs.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * The total time spent in fsyncs.
+     */
+    public TimeValue getTotalTime() {
+        return new TimeValue(totalTimeInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The total number of locations that requested to be synced and that were covered by a fsync.
+     */
+    public long getSyncedLocations() {
+        return syncedLocations;
+    }
+
+    /**
+     * The number of fsyncs per latency bucket, see {@link #LATENCY_BUCKETS_MILLIS}.
+     */
+    public long[] getLatencyCounts() {
+        return Arrays.copyOf(latencyCounts, latencyCounts.length);
+    }
+
+    /**
+     * The number of fsyncs per batch size bucket, see {@link #BATCH_SIZE_BUCKETS}.
+     */
+    public long[] getBatchSizeCounts() {
+        return Arrays.copyOf(batchSizeCounts, batchSizeCounts.length);
+    }
+
+    static int latencyBucket(long tookInNanos) {
+        final long tookInMillis = TimeUnit.NANOSECONDS.toMillis(tookInNanos);
+        for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; i++) {
+            if (tookInMillis < LATENCY_BUCKETS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS_MILLIS.length;
+    }
+
+    static int batchSizeBucket(long batchSize) {
+        for (int i = 0; i < BATCH_SIZE_BUCKETS.length; i++) {
+            if (batchSize <= BATCH_SIZE_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return BATCH_SIZE_BUCKETS.length;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("sync");
+        builder.field("total", total);
+        builder.humanReadableField("total_time_in_millis", "total_time", getTotalTime());
+        builder.field("synced_locations", syncedLocations);
+        builder.startArray("latency_histogram");
+        for (int i = 0; i < latencyCounts.length; i++) {
+            builder.startObject();
+            if (i < LATENCY_BUCKETS_MILLIS.length) {
+                builder.field("lt_millis", LATENCY_BUCKETS_MILLIS[i]);
+            } else {
+                builder.field("ge_millis", LATENCY_BUCKETS_MILLIS[LATENCY_BUCKETS_MILLIS.length - 1]);
+            }
+            builder.field("count", latencyCounts[i]);
+            builder.endObject();
+        }
+        builder.endArray();
+        builder.startArray("batch_size_histogram");
+        for (int i = 0; i < batchSizeCounts.length; i++) {
+            builder.startObject();
+            if (i < BATCH_SIZE_BUCKETS.length) {
+                builder.field("lte", BATCH_SIZE_BUCKETS[i]);
+            } else {
+                builder.field("gt", BATCH_SIZE_BUCKETS[BATCH_SIZE_BUCKETS.length - 1]);
+            }
+            builder.field("count", batchSizeCounts[i]);
+            builder.endObject();
+        }
+        builder.endArray();
+        builder.endObject();
+        return builder;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(total);
+        out.writeVLong(totalTimeInNanos);
+        out.writeVLong(syncedLocations);
+        out.writeVLongArray(latencyCounts);
+        out.writeVLongArray(batchSizeCounts);
+    }
+}
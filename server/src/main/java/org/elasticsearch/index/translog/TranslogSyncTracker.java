@@ -0,0 +1,62 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.metrics.CounterMetric;
+
+/**
+ * Records the fsyncs of a {@link Translog} for {@link TranslogSyncStats}. Safe to use from concurrent threads.
+ */
+final class TranslogSyncTracker {
+
+    private final CounterMetric total = new CounterMetric();
+    private final CounterMetric totalTimeInNanos = new CounterMetric();
+    private final CounterMetric syncedLocations = new CounterMetric();
+    private final CounterMetric[] latencyCounts = newCounters(TranslogSyncStats.LATENCY_BUCKETS_MILLIS.length + 1);
+    private final CounterMetric[] batchSizeCounts = newCounters(TranslogSyncStats.BATCH_SIZE_BUCKETS.length + 1);
+
+    private static CounterMetric[] newCounters(int size) {
+        final CounterMetric[] counters = new CounterMetric[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new CounterMetric();
+        }
+        return counters;
+    }
+
+    /**
+     * Records a fsync that took the given time and that covered the given number of locations, 0 if the sync was not triggered by
+     * syncing specific locations
+     */
+    void onSync(long tookInNanos, int locations) {
+        total.inc();
+        totalTimeInNanos.inc(Math.max(0, tookInNanos));
+        latencyCounts[TranslogSyncStats.latencyBucket(tookInNanos)].inc();
+        if (locations > 0) {
+            syncedLocations.inc(locations);
+            batchSizeCounts[TranslogSyncStats.batchSizeBucket(locations)].inc();
+        }
+    }
+
+    TranslogSyncStats stats() {
+        return new TranslogSyncStats(
+            total.count(),
+            totalTimeInNanos.count(),
+            syncedLocations.count(),
+            counts(latencyCounts),
+            counts(batchSizeCounts)
+        );
+    }
+
+    private static long[] counts(CounterMetric[] counters) {
+        final long[] counts = new long[counters.length];
+        for (int i = 0; i < counters.length; i++) {
+            counts[i] = counters[i].count();
+        }
+        return counts;
+    }
+}
@@ -31,12 +31,18 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.env.ShardLockObtainFailedException;
 import org.elasticsearch.gateway.GatewayService;
 import org.elasticsearch.index.Index;
@@ -76,6 +82,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -88,6 +98,17 @@ import static org.elasticsearch.indices.cluster.IndicesClusterStateService.Alloc
 public class IndicesClusterStateService extends AbstractLifecycleComponent implements ClusterStateApplier {
     private static final Logger logger = LogManager.getLogger(IndicesClusterStateService.class);
 
+    /**
+     * The number of indices whose metadata and mappings are updated at the same time while a cluster state is applied, the cluster
+     * applier thread included. The other threads come from the generic thread pool.
+     */
+    public static final Setting<Integer> CONCURRENT_INDEX_UPDATES_SETTING = new Setting<>(
+        "indices.cluster.concurrent_index_updates",
+        (s) -> Integer.toString(Math.max(1, Math.min(4, EsExecutors.allocatedProcessors(s) / 2))),
+        (s) -> Setting.parseInt(s, 1, "indices.cluster.concurrent_index_updates"),
+        Property.NodeScope
+    );
+
     final AllocatedIndices<? extends Shard, ? extends AllocatedIndex<? extends Shard>> indicesService;
     private final ClusterService clusterService;
     private final ThreadPool threadPool;
@@ -108,6 +129,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
     private final PrimaryReplicaSyncer primaryReplicaSyncer;
     private final RetentionLeaseSyncer retentionLeaseSyncer;
     private final NodeClient client;
+    private final int concurrentIndexUpdates;
 
     @Inject
     public IndicesClusterStateService(
@@ -169,6 +191,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
         this.primaryReplicaSyncer = primaryReplicaSyncer;
         this.retentionLeaseSyncer = retentionLeaseSyncer;
         this.client = client;
+        this.concurrentIndexUpdates = CONCURRENT_INDEX_UPDATES_SETTING.get(settings);
     }
 
     @Override
@@ -210,19 +233,99 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
 
         updateFailedShardsCache(state);
 
-        deleteIndices(event); // also deletes shards of deleted indices
+        try (Releasable ignored = recordPhase("delete_indices")) {
+            deleteIndices(event); // also deletes shards of deleted indices
+        }
 
-        removeIndices(event); // also removes shards of removed indices
+        try (Releasable ignored = recordPhase("remove_indices")) {
+            removeIndices(event); // also removes shards of removed indices
+        }
 
-        failMissingShards(state);
+        try (Releasable ignored = recordPhase("remove_shards")) {
+            failMissingShards(state);
 
-        removeShards(state);   // removes any local shards that doesn't match what the master expects
+            removeShards(state);   // removes any local shards that doesn't match what the master expects
+        }
 
-        updateIndices(event); // can also fail shards, but these are then guaranteed to be in failedShardsCache
+        try (Releasable ignored = recordPhase("update_indices")) {
+            updateIndices(event); // can also fail shards, but these are then guaranteed to be in failedShardsCache
+        }
 
-        createIndices(state);
+        try (Releasable ignored = recordPhase("create_indices")) {
+            createIndices(state);
+        }
+
+        try (Releasable ignored = recordPhase("create_or_update_shards")) {
+            createOrUpdateShards(state);
+        }
+    }
+
+    private Releasable recordPhase(String phase) {
+        return clusterService.getClusterApplierService().recordPhase(phase);
+    }
 
-        createOrUpdateShards(state);
+    private void runConcurrently(List<Runnable> tasks) {
+        runConcurrently(tasks, concurrentIndexUpdates, threadPool.generic());
+    }
+
+    /**
+     * Runs the given tasks on up to the given number of threads and returns once all of them are completed. The calling thread runs
+     * tasks too and takes every task that no other thread started yet, so it never waits for a task that is still queued in the
+     * executor. If a task throws, the tasks that weren't started yet are skipped and the failure is rethrown on the calling thread
+     * once the running tasks are completed, like if the tasks had been run one after the other on the calling thread.
+     */
+    static void runConcurrently(List<Runnable> tasks, int maxThreads, Executor executor) {
+        final int threads = Math.min(maxThreads, tasks.size());
+        if (threads <= 1) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        final AtomicInteger nextTask = new AtomicInteger();
+        final CountDownLatch completedTasks = new CountDownLatch(tasks.size());
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Runnable worker = () -> {
+            int task;
+            while ((task = nextTask.getAndIncrement()) < tasks.size()) {
+                try {
+                    if (failure.get() == null) {
+                        tasks.get(task).run();
+                    }
+                } catch (Throwable t) {
+                    if (failure.compareAndSet(null, t) == false) {
+                        failure.get().addSuppressed(t);
+                    }
+                } finally {
+                    completedTasks.countDown();
+                }
+            }
+        };
+        for (int i = 1; i < threads; i++) {
+            try {
+                executor.execute(worker);
+            } catch (EsRejectedExecutionException e) {
+                // shutting down, the remaining tasks are run by the calling thread
+                break;
+            }
+        }
+        worker.run();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                // only tasks that were started by other threads can still be running
+                completedTasks.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        final Throwable t = failure.get();
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        ExceptionsHelper.reThrowIfNotNull(t);
     }
 
     /**
@@ -486,26 +589,38 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             }
         }
 
+        // index services are created one at a time, the mappings of the created indices are then merged concurrently
+        final List<Runnable> mappingUpdates = new ArrayList<>(indicesToCreate.size());
+        final ConcurrentMap<Index, Exception> failedMappingUpdates = ConcurrentCollections.newConcurrentMap();
         for (Map.Entry<Index, List<ShardRouting>> entry : indicesToCreate.entrySet()) {
             final Index index = entry.getKey();
             final IndexMetadata indexMetadata = state.metadata().index(index);
             logger.debug("[{}] creating index", index);
 
-            AllocatedIndex<? extends Shard> indexService = null;
+            final AllocatedIndex<? extends Shard> indexService;
             try {
                 indexService = indicesService.createIndex(indexMetadata, buildInIndexListener, true);
-                indexService.updateMapping(null, indexMetadata);
             } catch (Exception e) {
-                final String failShardReason;
-                if (indexService == null) {
-                    failShardReason = "failed to create index";
-                } else {
-                    failShardReason = "failed to update mapping for index";
-                    indicesService.removeIndex(index, FAILURE, "removing index (mapping update failed)");
-                }
                 for (ShardRouting shardRouting : entry.getValue()) {
-                    sendFailShard(shardRouting, failShardReason, e, state);
+                    sendFailShard(shardRouting, "failed to create index", e, state);
                 }
+                continue;
+            }
+            mappingUpdates.add(() -> {
+                try {
+                    indexService.updateMapping(null, indexMetadata);
+                } catch (Exception e) {
+                    failedMappingUpdates.put(index, e);
+                }
+            });
+        }
+        runConcurrently(mappingUpdates);
+
+        for (Map.Entry<Index, Exception> failure : failedMappingUpdates.entrySet()) {
+            final Index index = failure.getKey();
+            indicesService.removeIndex(index, FAILURE, "removing index (mapping update failed)");
+            for (ShardRouting shardRouting : indicesToCreate.get(index)) {
+                sendFailShard(shardRouting, "failed to update mapping for index", failure.getValue(), state);
             }
         }
     }
@@ -515,35 +630,47 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             return;
         }
         final ClusterState state = event.state();
+        // the indices are updated concurrently, failed indices are removed afterwards
+        final List<Runnable> indexUpdates = new ArrayList<>();
+        final ConcurrentMap<Index, Tuple<String, Exception>> failedIndexUpdates = ConcurrentCollections.newConcurrentMap();
         for (AllocatedIndex<? extends Shard> indexService : indicesService) {
             final Index index = indexService.index();
             final IndexMetadata currentIndexMetadata = indexService.getIndexSettings().getIndexMetadata();
             final IndexMetadata newIndexMetadata = state.metadata().index(index);
             assert newIndexMetadata != null : "index " + index + " should have been removed by deleteIndices";
             if (ClusterChangedEvent.indexMetadataChanged(currentIndexMetadata, newIndexMetadata)) {
-                String reason = null;
-                try {
-                    reason = "metadata update failed";
+                indexUpdates.add(() -> {
+                    String reason = null;
                     try {
-                        indexService.updateMetadata(currentIndexMetadata, newIndexMetadata);
+                        reason = "metadata update failed";
+                        try {
+                            indexService.updateMetadata(currentIndexMetadata, newIndexMetadata);
+                        } catch (Exception e) {
+                            assert false : e;
+                            throw e;
+                        }
+
+                        reason = "mapping update failed";
+                        indexService.updateMapping(currentIndexMetadata, newIndexMetadata);
                     } catch (Exception e) {
-                        assert false : e;
-                        throw e;
+                        failedIndexUpdates.put(index, new Tuple<>(reason, e));
                     }
-
-                    reason = "mapping update failed";
-                    indexService.updateMapping(currentIndexMetadata, newIndexMetadata);
-                } catch (Exception e) {
-                    indicesService.removeIndex(indexService.index(), FAILURE, "removing index (" + reason + ")");
-
-                    // fail shards that would be created or updated by createOrUpdateShards
-                    RoutingNode localRoutingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
-                    if (localRoutingNode != null) {
-                        for (final ShardRouting shardRouting : localRoutingNode) {
-                            if (shardRouting.index().equals(index) && failedShardsCache.containsKey(shardRouting.shardId()) == false) {
-                                sendFailShard(shardRouting, "failed to update index (" + reason + ")", e, state);
-                            }
-                        }
+                });
+            }
+        }
+        runConcurrently(indexUpdates);
+
+        for (Map.Entry<Index, Tuple<String, Exception>> failure : failedIndexUpdates.entrySet()) {
+            final Index index = failure.getKey();
+            final String reason = failure.getValue().v1();
+            indicesService.removeIndex(index, FAILURE, "removing index (" + reason + ")");
+
+            // fail shards that would be created or updated by createOrUpdateShards
+            RoutingNode localRoutingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
+            if (localRoutingNode != null) {
+                for (final ShardRouting shardRouting : localRoutingNode) {
+                    if (shardRouting.index().equals(index) && failedShardsCache.containsKey(shardRouting.shardId()) == false) {
+                        sendFailShard(shardRouting, "failed to update index (" + reason + ")", failure.getValue().v2(), state);
                     }
                 }
             }
@@ -34,6 +34,7 @@ public class CompoundProcessor implements Processor {
     private final List<Processor> processors;
     private final List<Processor> onFailureProcessors;
     private final List<Tuple<Processor, IngestMetric>> processorsWithMetrics;
+    private final boolean[] asyncProcessors;
     private final LongSupplier relativeTimeProvider;
 
     CompoundProcessor(LongSupplier relativeTimeProvider, Processor... processor) {
@@ -61,6 +62,23 @@ public class CompoundProcessor implements Processor {
         this.relativeTimeProvider = relativeTimeProvider;
         this.processorsWithMetrics = new ArrayList<>(processors.size());
         processors.forEach(p -> processorsWithMetrics.add(new Tuple<>(p, new IngestMetric())));
+        this.asyncProcessors = new boolean[processors.size()];
+        for (int i = 0; i < processors.size(); i++) {
+            asyncProcessors[i] = isAsync(processors.get(i));
+        }
+    }
+
+    /**
+     * Returns whether the given processor may complete asynchronously, which is the case if it overrides
+     * {@link Processor#execute(IngestDocument, BiConsumer)}. Other processors only implement {@link Processor#execute(IngestDocument)}
+     * and are executed in a loop rather than through a chain of callbacks.
+     */
+    static boolean isAsync(Processor processor) {
+        try {
+            return processor.getClass().getMethod("execute", IngestDocument.class, BiConsumer.class).getDeclaringClass() != Processor.class;
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
     }
 
     List<Tuple<Processor, IngestMetric>> getProcessorsWithMetrics() {
@@ -123,6 +141,45 @@ public class CompoundProcessor implements Processor {
     }
 
     void innerExecute(int currentProcessor, IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+        // synchronous processors are executed in a loop, this saves allocating and chaining a callback per document and processor
+        while (currentProcessor < processorsWithMetrics.size() && asyncProcessors[currentProcessor] == false) {
+            Tuple<Processor, IngestMetric> processorWithMetric = processorsWithMetrics.get(currentProcessor);
+            final Processor processor = processorWithMetric.v1();
+            final IngestMetric metric = processorWithMetric.v2();
+            final long startTimeInNanos = relativeTimeProvider.getAsLong();
+            metric.preIngest();
+            IngestDocument result = null;
+            Exception failure = null;
+            try {
+                result = processor.execute(ingestDocument);
+            } catch (Exception e) {
+                failure = e;
+            }
+            long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
+            metric.postIngest(ingestTimeInNanos);
+
+            if (failure != null) {
+                metric.ingestFailed();
+                if (ignoreFailure) {
+                    currentProcessor++;
+                    continue;
+                }
+                IngestProcessorException compoundProcessorException = newCompoundProcessorException(failure, processor, ingestDocument);
+                if (onFailureProcessors.isEmpty()) {
+                    handler.accept(null, compoundProcessorException);
+                } else {
+                    executeOnFailureAsync(0, ingestDocument, compoundProcessorException, handler);
+                }
+                return;
+            }
+            if (result == null) {
+                handler.accept(null, null);
+                return;
+            }
+            ingestDocument = result;
+            currentProcessor++;
+        }
+
         if (currentProcessor == processorsWithMetrics.size()) {
             handler.accept(ingestDocument, null);
             return;
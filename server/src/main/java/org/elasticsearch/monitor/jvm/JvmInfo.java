@@ -52,7 +52,6 @@ public class JvmInfo implements ReportingService.Info {
             // ignore
         }
         String[] inputArguments = runtimeMXBean.getInputArguments().toArray(new String[runtimeMXBean.getInputArguments().size()]);
-        Mem mem = new Mem(heapInit, heapMax, nonHeapInit, nonHeapMax, directMemoryMax);
 
         String bootClassPath;
         try {
@@ -137,9 +136,22 @@ public class JvmInfo implements ReportingService.Info {
                 useSerialGC = (String) valueMethod.invoke(useSerialGCVmOptionObject);
             } catch (Exception ignored) {}
 
+            if (directMemoryMax == 0) {
+                // sun.misc.VM is gone since Java 9
+                try {
+                    Object maxDirectMemorySizeVmOptionObject = vmOptionMethod.invoke(hotSpotDiagnosticMXBean, "MaxDirectMemorySize");
+                    directMemoryMax = Long.parseLong((String) valueMethod.invoke(maxDirectMemorySizeVmOptionObject));
+                    if (directMemoryMax == 0) {
+                        // the JVM limits direct memory to the max heap size unless configured otherwise
+                        directMemoryMax = Runtime.getRuntime().maxMemory();
+                    }
+                } catch (Exception ignored) {}
+            }
+
         } catch (Exception ignored) {
 
         }
+        Mem mem = new Mem(heapInit, heapMax, nonHeapInit, nonHeapMax, directMemoryMax);
 
         final boolean bundledJdk = Booleans.parseBoolean(System.getProperty("es.bundled_jdk", Boolean.FALSE.toString()));
         final Boolean usingBundledJdk = bundledJdk ? usingBundledJdk() : null;
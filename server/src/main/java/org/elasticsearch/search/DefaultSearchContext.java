@@ -53,6 +53,7 @@ import org.elasticsearch.search.rescore.RescoreContext;
 import org.elasticsearch.search.slice.SliceBuilder;
 import org.elasticsearch.search.sort.SortAndFormats;
 import org.elasticsearch.search.suggest.SuggestionSearchContext;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -153,7 +154,10 @@ final class DefaultSearchContext extends SearchContext {
             engineSearcher.getSimilarity(),
             engineSearcher.getQueryCache(),
             engineSearcher.getQueryCachingPolicy(),
-            lowLevelCancellation
+            lowLevelCancellation,
+            indexService.getIndexSettings().isConcurrentSegmentSearchEnabled()
+                ? indexShard.getThreadPool().executor(ThreadPool.Names.SEARCH_WORKER)
+                : null
         );
         releasables.addAll(List.of(engineSearcher, searcher));
 
@@ -13,7 +13,7 @@ import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
-import org.elasticsearch.common.xcontent.support.XContentMapValues;
+import org.elasticsearch.common.xcontent.support.SourceFilter;
 import org.elasticsearch.core.Booleans;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.xcontent.ParseField;
@@ -41,7 +41,7 @@ public class FetchSourceContext implements Writeable, ToXContentObject {
     private final boolean fetchSource;
     private final String[] includes;
     private final String[] excludes;
-    private Function<Map<String, ?>, Map<String, Object>> filter;
+    private SourceFilter filter;
 
     public FetchSourceContext(boolean fetchSource, String[] includes, String[] excludes) {
         this.fetchSource = fetchSource;
@@ -250,8 +250,15 @@ public class FetchSourceContext implements Writeable, ToXContentObject {
      * the filtered map.
      */
     public Function<Map<String, ?>, Map<String, Object>> getFilter() {
+        return getSourceFilter()::filter;
+    }
+
+    /**
+     * Returns the includes and excludes compiled to a filter that can also stream the source bytes.
+     */
+    public SourceFilter getSourceFilter() {
         if (filter == null) {
-            filter = XContentMapValues.filter(includes, excludes);
+            filter = new SourceFilter(includes, excludes);
         }
         return filter;
     }
@@ -12,6 +12,7 @@ import org.apache.lucene.index.LeafReaderContext;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.fetch.FetchContext;
 import org.elasticsearch.search.fetch.FetchSubPhase;
@@ -35,6 +36,7 @@ public final class FetchSourcePhase implements FetchSubPhase {
 
         return new FetchSubPhaseProcessor() {
             private int fastPath;
+            private int filterBytes;
 
             @Override
             public void setNextReader(LeafReaderContext readerContext) {
@@ -66,6 +68,24 @@ public final class FetchSourcePhase implements FetchSubPhase {
                     return;
                 }
 
+                // If the source of a parent document hasn't been parsed yet, stream its bytes through the filter.
+                BytesReference sourceRef = source.internalSourceRef();
+                if (nestedHit == false && source.hasSourceAsMap() == false && sourceRef != null) {
+                    // the content type of compressed bytes can't be detected, these are parsed into a map below
+                    XContentType sourceContentType = XContentHelper.xContentType(sourceRef);
+                    if (sourceContentType != null) {
+                        try {
+                            final int initialCapacity = Math.min(1024, sourceRef.length());
+                            hitContext.hit()
+                                .sourceRef(fetchSourceContext.getSourceFilter().filter(sourceRef, sourceContentType, initialCapacity));
+                        } catch (IOException e) {
+                            throw new ElasticsearchException("Error filtering source", e);
+                        }
+                        filterBytes++;
+                        return;
+                    }
+                }
+
                 // Otherwise, filter the source and add it to the hit.
                 Object value = source.filter(fetchSourceContext);
                 if (nestedHit) {
@@ -82,7 +102,7 @@ public final class FetchSourcePhase implements FetchSubPhase {
 
             @Override
             public Map<String, Object> getDebugInfo() {
-                return Map.of("fast_path", fastPath);
+                return Map.of("fast_path", fastPath, "filter_bytes", filterBytes);
             }
         };
     }
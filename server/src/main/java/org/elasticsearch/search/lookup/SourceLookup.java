@@ -23,6 +23,8 @@ import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -31,6 +33,18 @@ import static java.util.Collections.emptyMap;
 
 public class SourceLookup implements Map<String, Object> {
 
+    /**
+     * The number of paths of a document that are extracted by parsing only these paths, before parsing the entire source instead.
+     * Once a document needed more paths, the entire source of the following documents is parsed up front.
+     */
+    static final int MAX_FILTERED_PATHS = 2;
+
+    /**
+     * The maximum number of dots in a path that is extracted by parsing only this path. Since the path can be spread over objects
+     * and field names with dots in any combination, this requires {@code 2^dots} filters.
+     */
+    static final int MAX_FILTERED_PATH_DOTS = 4;
+
     private LeafReader reader;
     CheckedBiConsumer<Integer, FieldsVisitor, IOException> fieldReader;
 
@@ -39,6 +53,12 @@ public class SourceLookup implements Map<String, Object> {
     private BytesReference sourceAsBytes;
     private Map<String, Object> source;
     private XContentType sourceContentType;
+    // the source of the current document that was loaded from the stored fields to extract paths from it
+    private BytesReference loadedSourceAsBytes;
+    // the sources of the current document that only contain a single path, by path
+    private Map<String, Map<String, Object>> filteredSources;
+    // whether a previous document needed more than MAX_FILTERED_PATHS paths
+    private boolean parseEntireSource;
 
     public XContentType sourceContentType() {
         return sourceContentType;
@@ -66,12 +86,11 @@ public class SourceLookup implements Map<String, Object> {
             Tuple<XContentType, Map<String, Object>> tuple = sourceAsMapAndType(sourceAsBytes);
             sourceContentType = tuple.v1();
             source = tuple.v2();
+            filteredSources = null;
             return source;
         }
         try {
-            FieldsVisitor sourceFieldVisitor = new FieldsVisitor(true);
-            fieldReader.accept(docId, sourceFieldVisitor);
-            BytesReference source = sourceFieldVisitor.source();
+            BytesReference source = loadSourceAsBytes();
             if (source == null) {
                 this.source = emptyMap();
                 this.sourceContentType = null;
@@ -83,9 +102,100 @@ public class SourceLookup implements Map<String, Object> {
         } catch (Exception e) {
             throw new ElasticsearchParseException("failed to parse / load source", e);
         }
+        // the parsed source replaces the bytes and the filtered sources
+        this.loadedSourceAsBytes = null;
+        this.filteredSources = null;
         return this.source;
     }
 
+    /**
+     * Loads the source of the current document from the stored fields, and keeps it for later calls on the same document. Unlike
+     * a source that is set with {@link #setSource(BytesReference)}, it isn't exposed through {@link #internalSourceRef()}.
+     */
+    private BytesReference loadSourceAsBytes() throws IOException {
+        if (loadedSourceAsBytes == null) {
+            FieldsVisitor sourceFieldVisitor = new FieldsVisitor(true);
+            fieldReader.accept(docId, sourceFieldVisitor);
+            loadedSourceAsBytes = sourceFieldVisitor.source();
+        }
+        return loadedSourceAsBytes;
+    }
+
+    /**
+     * Returns a map that contains the given path of the source. If the source has not been parsed yet, only the given path is parsed and
+     * the other subtrees of the source are skipped by the parser, unless a few other paths of this document were parsed already. This
+     * is cheaper than parsing the entire source for callers that only need a couple of fields, like value fetchers and runtime fields.
+     * Callers that need more fields parse the source of a single document a few times, after which the entire source is parsed right
+     * away for the following documents.
+     */
+    private Map<String, Object> sourceForPath(String path) {
+        if (source != null || parseEntireSource) {
+            return source();
+        }
+        if (filteredSources != null) {
+            Map<String, Object> filteredSource = filteredSources.get(path);
+            if (filteredSource != null) {
+                return filteredSource;
+            }
+            if (filteredSources.size() >= MAX_FILTERED_PATHS) {
+                parseEntireSource = true;
+                return source();
+            }
+        }
+        Set<String> includes = filterPaths(path);
+        if (includes == null) {
+            return source();
+        }
+        BytesReference bytes = sourceAsBytes;
+        if (bytes == null) {
+            try {
+                bytes = loadSourceAsBytes();
+            } catch (Exception e) {
+                throw new ElasticsearchParseException("failed to parse / load source", e);
+            }
+        }
+        if (bytes == null) {
+            return source();
+        }
+        Tuple<XContentType, Map<String, Object>> tuple = XContentHelper.convertToMap(bytes, false, null, includes, null);
+        sourceContentType = tuple.v1();
+        if (filteredSources == null) {
+            filteredSources = new HashMap<>();
+        }
+        filteredSources.put(path, tuple.v2());
+        return tuple.v2();
+    }
+
+    /**
+     * Returns the filters that match the given path no matter how it is spread over objects and field names with dots, so that
+     * {@code a.b} matches both {@code {"a": {"b": 1}}} and {@code {"a.b": 1}}, or {@code null} if the path can't be filtered on.
+     */
+    static Set<String> filterPaths(String path) {
+        if (path.isEmpty() || path.indexOf('*') >= 0 || path.indexOf('\\') >= 0) {
+            return null;
+        }
+        String[] pathElements = path.split("\\.");
+        if (pathElements.length == 0 || pathElements.length - 1 > MAX_FILTERED_PATH_DOTS) {
+            return null;
+        }
+        for (String pathElement : pathElements) {
+            if (pathElement.isEmpty()) {
+                return null;
+            }
+        }
+        int dots = pathElements.length - 1;
+        Set<String> filters = new HashSet<>();
+        for (int mask = 0; mask < 1 << dots; mask++) {
+            StringBuilder filter = new StringBuilder(pathElements[0]);
+            for (int i = 1; i < pathElements.length; i++) {
+                // an escaped dot matches a dot within a field name
+                filter.append((mask & (1 << (i - 1))) != 0 ? "\\." : ".").append(pathElements[i]);
+            }
+            filters.add(filter.toString());
+        }
+        return filters;
+    }
+
     private static Tuple<XContentType, Map<String, Object>> sourceAsMapAndType(BytesReference source) throws ElasticsearchParseException {
         return XContentHelper.convertToMap(source, false);
     }
@@ -124,11 +234,15 @@ public class SourceLookup implements Map<String, Object> {
         }
         this.source = null;
         this.sourceAsBytes = null;
+        this.loadedSourceAsBytes = null;
+        this.filteredSources = null;
         this.docId = docId;
     }
 
     public void setSource(BytesReference source) {
         this.sourceAsBytes = source;
+        this.loadedSourceAsBytes = null;
+        this.filteredSources = null;
     }
 
     public void setSourceContentType(XContentType sourceContentType) {
@@ -137,6 +251,7 @@ public class SourceLookup implements Map<String, Object> {
 
     public void setSource(Map<String, Object> source) {
         this.source = source;
+        this.filteredSources = null;
     }
 
     /**
@@ -146,12 +261,19 @@ public class SourceLookup implements Map<String, Object> {
         return sourceAsBytes;
     }
 
+    /**
+     * Whether the source of the current document has been parsed into a map, or was set as a map.
+     */
+    public boolean hasSourceAsMap() {
+        return source != null;
+    }
+
     /**
      * Returns the values associated with the path. Those are "low" level values, and it can
      * handle path expression where an array/list is navigated within.
      */
     public List<Object> extractRawValues(String path) {
-        return XContentMapValues.extractRawValues(path, source());
+        return XContentMapValues.extractRawValues(path, sourceForPath(path));
     }
 
     /**
@@ -201,7 +323,7 @@ public class SourceLookup implements Map<String, Object> {
      * @return the value associated with the path in the source or 'null' if the path does not exist.
      */
     public Object extractValue(String path, @Nullable Object nullValue) {
-        return XContentMapValues.extractValue(path, source(), nullValue);
+        return XContentMapValues.extractValue(path, sourceForPath(path), nullValue);
     }
 
     public Object filter(FetchSourceContext context) {
@@ -15,6 +15,7 @@ import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
@@ -220,8 +221,16 @@ public class QueryPhase {
         // add the top docs collector, the first collector context in the chain
         collectors.addFirst(topDocsFactory);
 
+        // leaf slices can only be collected concurrently if the top docs collector is the only one in the chain,
+        // other collectors such as aggregations are not thread safe and are collected sequentially
+        final CollectorManager<? extends Collector, Void> collectorManager = searcher.getExecutor() != null
+            && collectors.size() == 1
+            && searchContext.getProfilers() == null ? topDocsFactory.createCollectorManager() : null;
+
         final Collector queryCollector;
-        if (searchContext.getProfilers() != null) {
+        if (collectorManager != null) {
+            queryCollector = null;
+        } else if (searchContext.getProfilers() != null) {
             InternalProfileCollector profileCollector = QueryCollectorContext.createQueryCollectorWithProfiler(collectors);
             searchContext.getProfilers().getCurrentQueryProfiler().setCollector(profileCollector);
             queryCollector = profileCollector;
@@ -230,7 +239,11 @@ public class QueryPhase {
         }
         QuerySearchResult queryResult = searchContext.queryResult();
         try {
-            searcher.search(query, queryCollector);
+            if (collectorManager != null) {
+                searcher.search(query, collectorManager);
+            } else {
+                searcher.search(query, queryCollector);
+            }
         } catch (EarlyTerminatingCollector.EarlyTerminationException e) {
             queryResult.terminatedEarly(true);
         } catch (TimeExceededException e) {
@@ -20,6 +20,7 @@ import org.apache.lucene.queries.spans.SpanQuery;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BoostQuery;
 import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.DocValuesFieldExistsQuery;
 import org.apache.lucene.search.FieldDoc;
@@ -56,6 +57,9 @@ import org.elasticsearch.search.rescore.RescoreContext;
 import org.elasticsearch.search.sort.SortAndFormats;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -87,6 +91,16 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         return false;
     }
 
+    /**
+     * Returns a {@link CollectorManager} that collects each leaf slice of the searcher with its own collector and
+     * merges the per-slice top docs before {@link #postProcess} is called, or <code>null</code> if this context
+     * can only be collected sequentially.
+     */
+    @Nullable
+    CollectorManager<? extends Collector, Void> createCollectorManager() {
+        return null;
+    }
+
     static class EmptyTopDocsCollectorContext extends TopDocsCollectorContext {
         private final Sort sort;
         private final Collector collector;
@@ -218,10 +232,18 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
 
         protected final @Nullable SortAndFormats sortAndFormats;
+        private final @Nullable ScoreDoc searchAfter;
+        private final int hitCountThreshold;
+        private final boolean hasMaxScoreCollector;
+        private final TopDocsCollector<?> topDocsCollector;
         private final Collector collector;
         private final Supplier<TotalHits> totalHitsSupplier;
         private final Supplier<TopDocs> topDocsSupplier;
         private final Supplier<Float> maxScoreSupplier;
+        // the top docs merged from the slices of a concurrent collection, null if the collection was sequential
+        private TopDocs mergedTopDocs;
+        // the collectors of the leaf slices, when collected concurrently
+        private final List<TopDocsCollector<?>> sliceCollectors = new ArrayList<>();
 
         /**
          * Ctr
@@ -246,34 +268,31 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         ) throws IOException {
             super(REASON_SEARCH_TOP_HITS, numHits);
             this.sortAndFormats = sortAndFormats;
-
-            final TopDocsCollector<?> topDocsCollector;
+            this.searchAfter = searchAfter;
+            this.topDocsSupplier = new CachedSupplier<>(this::collectedTopDocs);
 
             if ((sortAndFormats == null || SortField.FIELD_SCORE.equals(sortAndFormats.sort.getSort()[0])) && hasInfMaxScore(query)) {
                 // disable max score optimization since we have a mandatory clause
                 // that doesn't track the maximum score
-                topDocsCollector = createCollector(sortAndFormats, numHits, searchAfter, Integer.MAX_VALUE);
-                topDocsSupplier = new CachedSupplier<>(topDocsCollector::topDocs);
+                hitCountThreshold = Integer.MAX_VALUE;
                 totalHitsSupplier = () -> topDocsSupplier.get().totalHits;
             } else if (trackTotalHitsUpTo == SearchContext.TRACK_TOTAL_HITS_DISABLED) {
                 // don't compute hit counts via the collector
-                topDocsCollector = createCollector(sortAndFormats, numHits, searchAfter, 1);
-                topDocsSupplier = new CachedSupplier<>(topDocsCollector::topDocs);
+                hitCountThreshold = 1;
                 totalHitsSupplier = () -> new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
             } else {
                 // implicit total hit counts are valid only when there is no filter collector in the chain
                 final int hitCount = hasFilterCollector ? -1 : shortcutTotalHitCount(reader, query);
                 if (hitCount == -1) {
-                    topDocsCollector = createCollector(sortAndFormats, numHits, searchAfter, trackTotalHitsUpTo);
-                    topDocsSupplier = new CachedSupplier<>(topDocsCollector::topDocs);
+                    hitCountThreshold = trackTotalHitsUpTo;
                     totalHitsSupplier = () -> topDocsSupplier.get().totalHits;
                 } else {
                     // don't compute hit counts via the collector
-                    topDocsCollector = createCollector(sortAndFormats, numHits, searchAfter, 1);
-                    topDocsSupplier = new CachedSupplier<>(topDocsCollector::topDocs);
+                    hitCountThreshold = 1;
                     totalHitsSupplier = () -> new TotalHits(hitCount, TotalHits.Relation.EQUAL_TO);
                 }
             }
+            this.topDocsCollector = createCollector(sortAndFormats, numHits, searchAfter, hitCountThreshold);
             MaxScoreCollector maxScoreCollector = null;
             if (sortAndFormats == null) {
                 maxScoreSupplier = () -> {
@@ -291,6 +310,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                 maxScoreSupplier = () -> Float.NaN;
             }
 
+            this.hasMaxScoreCollector = maxScoreCollector != null;
             this.collector = MultiCollector.wrap(topDocsCollector, maxScoreCollector);
 
         }
@@ -301,6 +321,55 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             return collector;
         }
 
+        @Override
+        CollectorManager<TopDocsCollector<?>, Void> createCollectorManager() {
+            if (hasMaxScoreCollector) {
+                // the max score of sorted hits is tracked by a dedicated collector that is not shared across slices
+                return null;
+            }
+            return new CollectorManager<>() {
+                @Override
+                public TopDocsCollector<?> newCollector() {
+                    TopDocsCollector<?> collector = createCollector(sortAndFormats, numHits, searchAfter, hitCountThreshold);
+                    sliceCollectors.add(collector);
+                    return collector;
+                }
+
+                @Override
+                public Void reduce(Collection<TopDocsCollector<?>> collectors) {
+                    mergedTopDocs = mergeTopDocs(collectors);
+                    return null;
+                }
+            };
+        }
+
+        private TopDocs mergeTopDocs(Collection<TopDocsCollector<?>> collectors) {
+            if (sortAndFormats == null) {
+                final TopDocs[] topDocs = new TopDocs[collectors.size()];
+                int i = 0;
+                for (TopDocsCollector<?> collector : collectors) {
+                    topDocs[i++] = collector.topDocs();
+                }
+                return TopDocs.merge(0, numHits, topDocs);
+            } else {
+                final TopFieldDocs[] topDocs = new TopFieldDocs[collectors.size()];
+                int i = 0;
+                for (TopDocsCollector<?> collector : collectors) {
+                    topDocs[i++] = (TopFieldDocs) collector.topDocs();
+                }
+                return TopDocs.merge(sortAndFormats.sort, 0, numHits, topDocs);
+            }
+        }
+
+        private TopDocs collectedTopDocs() {
+            if (mergedTopDocs == null && sliceCollectors.isEmpty() == false) {
+                // the concurrent collection was interrupted before the reduce, for instance because the search timed out,
+                // merge what the slices collected so far like the sequential collector keeps its partial results
+                mergedTopDocs = mergeTopDocs(sliceCollectors);
+            }
+            return mergedTopDocs != null ? mergedTopDocs : topDocsCollector.topDocs();
+        }
+
         TopDocsAndMaxScore newTopDocs() {
             TopDocs in = topDocsSupplier.get();
             float maxScore = maxScoreSupplier.get();
@@ -350,6 +419,12 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             this.numberOfShards = numberOfShards;
         }
 
+        @Override
+        CollectorManager<TopDocsCollector<?>, Void> createCollectorManager() {
+            // scroll rounds resume from the last emitted doc, which requires a sequential collection
+            return null;
+        }
+
         @Override
         void postProcess(QuerySearchResult result) throws IOException {
             final TopDocsAndMaxScore topDocs = newTopDocs();
@@ -324,6 +324,35 @@ public class NodeStatsTests extends ESTestCase {
                             publishStats.getIncompatibleClusterStateDiffReceivedCount(),
                             deserializedPublishStats.getIncompatibleClusterStateDiffReceivedCount()
                         );
+                        final ClusterStateSerializationStats serializationStats = publishStats.getClusterStateSerializationStats();
+                        final ClusterStateSerializationStats deserializedSerializationStats = deserializedPublishStats
+                            .getClusterStateSerializationStats();
+                        assertEquals(serializationStats.getFullStateCount(), deserializedSerializationStats.getFullStateCount());
+                        assertEquals(
+                            serializationStats.getTotalUncompressedFullStateBytes(),
+                            deserializedSerializationStats.getTotalUncompressedFullStateBytes()
+                        );
+                        assertEquals(
+                            serializationStats.getTotalCompressedFullStateBytes(),
+                            deserializedSerializationStats.getTotalCompressedFullStateBytes()
+                        );
+                        assertEquals(
+                            serializationStats.getTotalFullStateSerializationMillis(),
+                            deserializedSerializationStats.getTotalFullStateSerializationMillis()
+                        );
+                        assertEquals(serializationStats.getDiffCount(), deserializedSerializationStats.getDiffCount());
+                        assertEquals(
+                            serializationStats.getTotalUncompressedDiffBytes(),
+                            deserializedSerializationStats.getTotalUncompressedDiffBytes()
+                        );
+                        assertEquals(
+                            serializationStats.getTotalCompressedDiffBytes(),
+                            deserializedSerializationStats.getTotalCompressedDiffBytes()
+                        );
+                        assertEquals(
+                            serializationStats.getTotalDiffSerializationMillis(),
+                            deserializedSerializationStats.getTotalDiffSerializationMillis()
+                        );
                     }
 
                     final ClusterStateUpdateStats clusterStateUpdateStats = discoveryStats.getClusterStateUpdateStats();
@@ -748,6 +777,8 @@ public class NodeStatsTests extends ESTestCase {
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
+                            randomNonNegativeLong(),
+                            randomNonNegativeLong(),
                             randomNonNegativeLong()
                         )
                     )
@@ -8,17 +8,25 @@
 
 package org.elasticsearch.action.search;
 
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.breaker.NoopCircuitBreaker;
 import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsThreadPoolExecutor;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
 import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchService;
 import org.elasticsearch.search.SearchShardTarget;
 import org.elasticsearch.search.aggregations.InternalAggregation;
 import org.elasticsearch.search.aggregations.InternalAggregations;
@@ -36,8 +44,13 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+
 public class QueryPhaseResultConsumerTests extends ESTestCase {
 
     private SearchPhaseController searchPhaseController;
@@ -132,6 +145,147 @@ public class QueryPhaseResultConsumerTests extends ESTestCase {
         assertEquals(1, searchProgressListener.onFinalReduce.get());
     }
 
+    public void testMaxBatchedReduceSize() throws Exception {
+        CircuitBreaker circuitBreaker = newRequestBreaker(ByteSizeUnit.MB.toBytes(100));
+        AtomicLong minBytesDuringPartialReduce = new AtomicLong(Long.MAX_VALUE);
+        ThrowingSearchProgressListener searchProgressListener = new ThrowingSearchProgressListener() {
+            @Override
+            protected void onPartialReduce(List<SearchShard> shards, TotalHits totalHits, InternalAggregations aggs, int reducePhase) {
+                minBytesDuringPartialReduce.accumulateAndGet(circuitBreaker.getUsed(), Math::min);
+                super.onPartialReduce(shards, totalHits, aggs, reducePhase);
+            }
+        };
+        int numShards = randomIntBetween(3, 20);
+        SearchRequest searchRequest = new SearchRequest("index");
+        // the limit of the coordinating node applies even if the request asks for larger batches
+        searchRequest.setBatchedReduceSize(randomIntBetween(numShards, 512));
+        AtomicReference<Exception> onPartialMergeFailure = new AtomicReference<>();
+        QueryPhaseResultConsumer queryPhaseResultConsumer = new QueryPhaseResultConsumer(
+            searchRequest,
+            executor,
+            circuitBreaker,
+            searchPhaseController,
+            () -> false,
+            searchProgressListener,
+            numShards,
+            2,
+            onPartialMergeFailure::set
+        );
+
+        CountDownLatch partialReduceLatch = new CountDownLatch(numShards);
+        TopDocs lastShardTopDocs = null;
+        for (int i = 0; i < numShards; i++) {
+            lastShardTopDocs = new TopDocs(new TotalHits(1, TotalHits.Relation.EQUAL_TO), new ScoreDoc[] { new ScoreDoc(i, 1f) });
+            queryPhaseResultConsumer.consumeResult(newQueryResult(i, lastShardTopDocs), partialReduceLatch::countDown);
+        }
+
+        assertTrue(partialReduceLatch.await(10, TimeUnit.SECONDS));
+        assertNull(onPartialMergeFailure.get());
+        // every shard result but the first and the last one is reduced as soon as the next one arrives
+        assertEquals(numShards - 2, searchProgressListener.onPartialReduce.get());
+        // the top docs that are being reduced are accounted while the partial reduce runs
+        assertThat(minBytesDuringPartialReduce.get(), greaterThan(0L));
+        // the breaker holds the merged top docs of all shards but the last one, which is still buffered
+        ScoreDoc[] mergedScoreDocs = new ScoreDoc[Math.min(numShards - 1, SearchService.DEFAULT_SIZE)];
+        for (int i = 0; i < mergedScoreDocs.length; i++) {
+            mergedScoreDocs[i] = new ScoreDoc(i, 1f);
+        }
+        long mergedSize = QueryPhaseResultConsumer.ramBytesUsedTopDocs(
+            new TopDocs(new TotalHits(numShards - 1, TotalHits.Relation.EQUAL_TO), mergedScoreDocs)
+        );
+        assertThat(circuitBreaker.getUsed(), equalTo(mergedSize + QueryPhaseResultConsumer.ramBytesUsedTopDocs(lastShardTopDocs)));
+
+        SearchPhaseController.ReducedQueryPhase reducedQueryPhase = queryPhaseResultConsumer.reduce();
+        assertEquals(numShards, reducedQueryPhase.totalHits.value);
+        assertEquals(numShards - 1, reducedQueryPhase.numReducePhases);
+        queryPhaseResultConsumer.close();
+        assertThat(circuitBreaker.getUsed(), equalTo(0L));
+    }
+
+    public void testTopDocsTripCircuitBreaker() throws Exception {
+        int numShards = randomIntBetween(2, 20);
+        ScoreDoc[] scoreDocs = new ScoreDoc[randomIntBetween(10, 100)];
+        for (int i = 0; i < scoreDocs.length; i++) {
+            scoreDocs[i] = new ScoreDoc(i, 1f);
+        }
+        long shardSize = QueryPhaseResultConsumer.ramBytesUsedTopDocs(
+            new TopDocs(new TotalHits(scoreDocs.length, TotalHits.Relation.EQUAL_TO), scoreDocs)
+        );
+        // enough room for the top docs of a single shard
+        CircuitBreaker circuitBreaker = newRequestBreaker(shardSize + shardSize / 2);
+        SearchRequest searchRequest = new SearchRequest("index");
+        searchRequest.setBatchedReduceSize(numShards);
+        AtomicReference<Exception> onPartialMergeFailure = new AtomicReference<>();
+        QueryPhaseResultConsumer queryPhaseResultConsumer = new QueryPhaseResultConsumer(
+            searchRequest,
+            executor,
+            circuitBreaker,
+            searchPhaseController,
+            () -> false,
+            SearchProgressListener.NOOP,
+            numShards,
+            onPartialMergeFailure::set
+        );
+
+        TopDocs topDocs = new TopDocs(new TotalHits(scoreDocs.length, TotalHits.Relation.EQUAL_TO), scoreDocs.clone());
+        queryPhaseResultConsumer.consumeResult(newQueryResult(0, topDocs), () -> {});
+        assertNull(onPartialMergeFailure.get());
+        assertThat(circuitBreaker.getUsed(), equalTo(shardSize));
+
+        for (int i = 1; i < numShards; i++) {
+            topDocs = new TopDocs(new TotalHits(scoreDocs.length, TotalHits.Relation.EQUAL_TO), scoreDocs.clone());
+            queryPhaseResultConsumer.consumeResult(newQueryResult(i, topDocs), () -> {});
+        }
+        assertThat(onPartialMergeFailure.get(), instanceOf(CircuitBreakingException.class));
+        // the reservation is released as soon as the breaker trips
+        assertThat(circuitBreaker.getUsed(), equalTo(0L));
+        expectThrows(CircuitBreakingException.class, queryPhaseResultConsumer::reduce);
+        queryPhaseResultConsumer.close();
+        assertThat(circuitBreaker.getUsed(), equalTo(0L));
+    }
+
+    public void testRamBytesUsedTopDocs() {
+        assertEquals(0, QueryPhaseResultConsumer.ramBytesUsedTopDocs(null));
+        TopDocs empty = new TopDocs(new TotalHits(0, TotalHits.Relation.EQUAL_TO), new ScoreDoc[0]);
+        long emptySize = QueryPhaseResultConsumer.ramBytesUsedTopDocs(empty);
+        ScoreDoc[] scoreDocs = new ScoreDoc[randomIntBetween(1, 100)];
+        for (int i = 0; i < scoreDocs.length; i++) {
+            scoreDocs[i] = new ScoreDoc(i, 1f);
+        }
+        long size = QueryPhaseResultConsumer.ramBytesUsedTopDocs(new TopDocs(new TotalHits(1, TotalHits.Relation.EQUAL_TO), scoreDocs));
+        assertThat(size, greaterThan(emptySize));
+
+        FieldDoc[] fieldDocs = new FieldDoc[scoreDocs.length];
+        for (int i = 0; i < fieldDocs.length; i++) {
+            fieldDocs[i] = new FieldDoc(i, 1f, new Object[] { new BytesRef(randomAlphaOfLength(10)) });
+        }
+        long fieldDocsSize = QueryPhaseResultConsumer.ramBytesUsedTopDocs(
+            new TopDocs(new TotalHits(1, TotalHits.Relation.EQUAL_TO), fieldDocs)
+        );
+        assertThat(fieldDocsSize, greaterThan(size));
+    }
+
+    private static QuerySearchResult newQueryResult(int shardIndex, TopDocs topDocs) {
+        QuerySearchResult querySearchResult = new QuerySearchResult();
+        querySearchResult.topDocs(new TopDocsAndMaxScore(topDocs, 1f), new DocValueFormat[0]);
+        querySearchResult.setSearchShardTarget(new SearchShardTarget("node", new ShardId("index", "uuid", shardIndex), null));
+        querySearchResult.setShardIndex(shardIndex);
+        querySearchResult.size(SearchService.DEFAULT_SIZE);
+        return querySearchResult;
+    }
+
+    private static CircuitBreaker newRequestBreaker(long limitInBytes) {
+        HierarchyCircuitBreakerService circuitBreakerService = new HierarchyCircuitBreakerService(
+            Settings.builder()
+                .put(HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), limitInBytes, ByteSizeUnit.BYTES)
+                .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), false)
+                .build(),
+            Collections.emptyList(),
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        return circuitBreakerService.getBreaker(CircuitBreaker.REQUEST);
+    }
+
     private static class ThrowingSearchProgressListener extends SearchProgressListener {
         private final AtomicInteger onQueryResult = new AtomicInteger(0);
         private final AtomicInteger onPartialReduce = new AtomicInteger(0);
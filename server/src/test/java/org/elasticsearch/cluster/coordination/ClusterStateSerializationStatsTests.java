@@ -0,0 +1,85 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.cluster.coordination;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.VersionUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class ClusterStateSerializationStatsTests extends ESTestCase {
+
+    public void testSerialization() throws IOException {
+        final ClusterStateSerializationStats stats = randomStats();
+        final ClusterStateSerializationStats copy = copyWriteable(
+            stats,
+            new NamedWriteableRegistry(List.of()),
+            ClusterStateSerializationStats::new
+        );
+        assertThat(copy.getFullStateCount(), equalTo(stats.getFullStateCount()));
+        assertThat(copy.getTotalUncompressedFullStateBytes(), equalTo(stats.getTotalUncompressedFullStateBytes()));
+        assertThat(copy.getTotalCompressedFullStateBytes(), equalTo(stats.getTotalCompressedFullStateBytes()));
+        assertThat(copy.getTotalFullStateSerializationMillis(), equalTo(stats.getTotalFullStateSerializationMillis()));
+        assertThat(copy.getDiffCount(), equalTo(stats.getDiffCount()));
+        assertThat(copy.getTotalUncompressedDiffBytes(), equalTo(stats.getTotalUncompressedDiffBytes()));
+        assertThat(copy.getTotalCompressedDiffBytes(), equalTo(stats.getTotalCompressedDiffBytes()));
+        assertThat(copy.getTotalDiffSerializationMillis(), equalTo(stats.getTotalDiffSerializationMillis()));
+    }
+
+    public void testSerializationToPreviousVersion() throws IOException {
+        final ClusterStateSerializationStats stats = randomStats();
+        final Version version = VersionUtils.randomVersionBetween(
+            random(),
+            Version.CURRENT.minimumCompatibilityVersion(),
+            VersionUtils.getPreviousVersion(Version.V_8_1_0)
+        );
+        final ClusterStateSerializationStats copy = copyWriteable(
+            stats,
+            new NamedWriteableRegistry(List.of()),
+            ClusterStateSerializationStats::new,
+            version
+        );
+        assertThat(copy.getFullStateCount(), equalTo(stats.getFullStateCount()));
+        assertThat(copy.getTotalCompressedDiffBytes(), equalTo(stats.getTotalCompressedDiffBytes()));
+        assertThat(copy.getTotalFullStateSerializationMillis(), equalTo(0L));
+        assertThat(copy.getTotalDiffSerializationMillis(), equalTo(0L));
+    }
+
+    public void testToXContent() {
+        final ClusterStateSerializationStats stats = new ClusterStateSerializationStats(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(
+            Strings.toString(stats),
+            equalTo(
+                "{\"full_states\":{\"count\":1,\"uncompressed_size_in_bytes\":2,\"compressed_size_in_bytes\":3,"
+                    + "\"serialization_time_millis\":4},"
+                    + "\"diffs\":{\"count\":5,\"uncompressed_size_in_bytes\":6,\"compressed_size_in_bytes\":7,"
+                    + "\"serialization_time_millis\":8}}"
+            )
+        );
+    }
+
+    private static ClusterStateSerializationStats randomStats() {
+        return new ClusterStateSerializationStats(
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong()
+        );
+    }
+}
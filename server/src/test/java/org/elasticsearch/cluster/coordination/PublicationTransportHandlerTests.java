@@ -63,6 +63,7 @@ public class PublicationTransportHandlerTests extends ESTestCase {
         final TransportService transportService = mock(TransportService.class);
         final BytesRefRecycler recycler = new BytesRefRecycler(new MockPageCacheRecycler(Settings.EMPTY));
         when(transportService.newNetworkBytesStream()).then(invocation -> new RecyclerBytesStreamOutput(recycler));
+        when(transportService.getThreadPool()).thenReturn(mock(ThreadPool.class));
 
         final PublicationTransportHandler handler = new PublicationTransportHandler(
             transportService,
@@ -28,13 +28,19 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.ShardRoutingState;
 import org.elasticsearch.cluster.routing.allocation.allocator.BalancedShardsAllocator;
 import org.elasticsearch.cluster.routing.allocation.allocator.ShardsAllocator;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDecider;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
 import org.elasticsearch.cluster.routing.allocation.decider.ClusterRebalanceAllocationDecider;
+import org.elasticsearch.cluster.routing.allocation.decider.Decision;
+import org.elasticsearch.cluster.routing.allocation.decider.SameShardAllocationDecider;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.snapshots.EmptySnapshotsInfoService;
 import org.elasticsearch.test.gateway.TestGatewayAllocator;
 import org.hamcrest.Matchers;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.elasticsearch.cluster.routing.RoutingNodesHelper.shardsWithState;
@@ -284,6 +290,73 @@ public class BalanceConfigurationTests extends ESAllocationTestCase {
         }
     }
 
+    public void testBalancedIndicesDoNotConsultDeciders() {
+        final AtomicInteger indexLevelDecisions = new AtomicInteger();
+        final AllocationDecider countingDecider = new AllocationDecider() {
+            @Override
+            public Decision canAllocate(IndexMetadata indexMetadata, RoutingNode node, RoutingAllocation allocation) {
+                indexLevelDecisions.incrementAndGet();
+                return super.canAllocate(indexMetadata, node, allocation);
+            }
+        };
+        final Settings settings = Settings.builder()
+            .put(
+                ClusterRebalanceAllocationDecider.CLUSTER_ROUTING_ALLOCATION_ALLOW_REBALANCE_SETTING.getKey(),
+                ClusterRebalanceAllocationDecider.ClusterRebalanceType.ALWAYS.toString()
+            )
+            .build();
+        final ClusterSettings clusterSettings = new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        final AllocationService strategy = new AllocationService(
+            new AllocationDeciders(
+                Arrays.asList(
+                    new SameShardAllocationDecider(settings, clusterSettings),
+                    new ClusterRebalanceAllocationDecider(settings, clusterSettings),
+                    countingDecider
+                )
+            ),
+            new TestGatewayAllocator(),
+            new BalancedShardsAllocator(settings),
+            EmptyClusterInfoService.INSTANCE,
+            EmptySnapshotsInfoService.INSTANCE
+        );
+
+        final int numberOfIndices = randomIntBetween(1, 10);
+        Metadata.Builder metadataBuilder = Metadata.builder();
+        RoutingTable.Builder routingTableBuilder = RoutingTable.builder();
+        for (int i = 0; i < numberOfIndices; i++) {
+            metadataBuilder.put(
+                IndexMetadata.builder("test" + i).settings(settings(Version.CURRENT)).numberOfShards(4).numberOfReplicas(0)
+            );
+        }
+        Metadata metadata = metadataBuilder.build();
+        for (IndexMetadata indexMetadata : metadata.indices().values()) {
+            routingTableBuilder.addAsNew(indexMetadata);
+        }
+        ClusterState clusterState = ClusterState.builder(
+            org.elasticsearch.cluster.ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY)
+        ).nodes(DiscoveryNodes.builder().add(newNode("node0"))).metadata(metadata).routingTable(routingTableBuilder.build()).build();
+        clusterState = applyStartedShardsUntilNoChange(strategy.reroute(clusterState, "reroute"), strategy);
+        assertThat(shardsWithState(clusterState.getRoutingNodes(), STARTED).size(), Matchers.equalTo(4 * numberOfIndices));
+
+        logger.info("add a second node, every index is unbalanced and must be considered for rebalancing");
+        indexLevelDecisions.set(0);
+        clusterState = ClusterState.builder(clusterState)
+            .nodes(DiscoveryNodes.builder(clusterState.nodes()).add(newNode("node1")))
+            .build();
+        clusterState = strategy.reroute(clusterState, "reroute");
+        assertThat(indexLevelDecisions.get(), Matchers.greaterThan(0));
+        clusterState = applyStartedShardsUntilNoChange(clusterState, strategy);
+        for (RoutingNode node : clusterState.getRoutingNodes()) {
+            assertThat(node.numberOfShardsWithState(STARTED), Matchers.equalTo(2 * numberOfIndices));
+        }
+
+        logger.info("reroute the balanced cluster, no index needs to be considered for rebalancing");
+        indexLevelDecisions.set(0);
+        final ClusterState rerouted = strategy.reroute(clusterState, "reroute");
+        assertThat(indexLevelDecisions.get(), Matchers.equalTo(0));
+        assertSame(clusterState, rerouted);
+    }
+
     public void testPersistedSettings() {
         Settings.Builder settings = Settings.builder();
         settings.put(BalancedShardsAllocator.INDEX_BALANCE_FACTOR_SETTING.getKey(), 0.2);
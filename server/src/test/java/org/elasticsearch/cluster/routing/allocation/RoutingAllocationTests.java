@@ -0,0 +1,58 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.cluster.routing.allocation;
+
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.cluster.routing.allocation.decider.Decision;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.List;
+
+import static org.elasticsearch.cluster.routing.allocation.RoutingAllocation.MAX_CACHED_INDEX_LEVEL_DECISIONS;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class RoutingAllocationTests extends ESTestCase {
+
+    public void testCachedIndexLevelDecisionsAreBounded() {
+        final ClusterState clusterState = ClusterState.builder(new ClusterName("test")).build();
+        final RoutingAllocation allocation = new RoutingAllocation(
+            new AllocationDeciders(List.of()),
+            clusterState.getRoutingNodes(),
+            clusterState,
+            null,
+            null,
+            0L
+        );
+        final Decision decision = Decision.single(Decision.Type.YES, "test", "cached");
+        final Index first = new Index("first", "_na_");
+        final Index second = new Index("second", "_na_");
+        final Index third = new Index("third", "_na_");
+        final int decisionsPerIndex = MAX_CACHED_INDEX_LEVEL_DECISIONS / 2;
+        for (int i = 0; i < decisionsPerIndex; i++) {
+            allocation.cacheDecision(first, i, decision);
+            allocation.cacheDecision(second, i, decision);
+        }
+        allocation.cacheDecision(null, "node", decision);
+
+        // using the decisions of the first index makes the second one the least recently used
+        assertThat(allocation.getCachedDecision(second, 0), sameInstance(decision));
+        assertThat(allocation.getCachedDecision(first, 0), sameInstance(decision));
+
+        // going over the limit drops all the decisions of the least recently used index
+        allocation.cacheDecision(third, 0, decision);
+        assertThat(allocation.getCachedDecision(third, 0), sameInstance(decision));
+        assertThat(allocation.getCachedDecision(first, decisionsPerIndex - 1), sameInstance(decision));
+        assertThat(allocation.getCachedDecision(second, 0), nullValue());
+        assertThat(allocation.getCachedDecision(null, "node"), sameInstance(decision));
+    }
+}
@@ -25,6 +25,7 @@ import org.hamcrest.Matchers;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AllocationDecidersTests extends ESTestCase {
 
@@ -246,4 +247,152 @@ public class AllocationDecidersTests extends ESTestCase {
         assertEquals(expectedDebugDecision, allocationDeciders.canRebalance(allocation));
         assertEquals(expectedDebugDecision, allocationDeciders.canForceAllocatePrimary(shardRouting, routingNode, allocation));
     }
+
+    public void testCachedDecisions() {
+        final AllocationDecider.DecisionGranularity granularity = randomFrom(
+            AllocationDecider.DecisionGranularity.INDEX_AND_NODE,
+            AllocationDecider.DecisionGranularity.NODE
+        );
+        final AtomicInteger canAllocateCalls = new AtomicInteger();
+        final AtomicInteger canRemainCalls = new AtomicInteger();
+        final AllocationDeciders allocationDeciders = new AllocationDeciders(List.of(new AllocationDecider() {
+            @Override
+            public Decision canAllocate(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
+                canAllocateCalls.incrementAndGet();
+                return allocation.decision(Decision.YES, "test", "can allocate");
+            }
+
+            @Override
+            public Decision canRemain(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
+                canRemainCalls.incrementAndGet();
+                return allocation.decision(Decision.YES, "test", "can remain");
+            }
+
+            @Override
+            public DecisionGranularity decisionGranularity() {
+                return granularity;
+            }
+        }));
+
+        final ShardRouting shardZero = newUnassignedPrimary(new ShardId("test", "testUUID", 0));
+        final ShardRouting shardOne = newUnassignedPrimary(new ShardId("test", "testUUID", 1));
+        final ShardRouting otherIndexShard = newUnassignedPrimary(new ShardId("other", "otherUUID", 0));
+        final RoutingNode nodeOne = new RoutingNode("node1", null);
+        final RoutingNode nodeTwo = new RoutingNode("node2", null);
+        final ClusterState clusterState = ClusterState.builder(new ClusterName("test")).build();
+        RoutingAllocation allocation = new RoutingAllocation(
+            allocationDeciders,
+            clusterState.getRoutingNodes(),
+            clusterState,
+            null,
+            null,
+            0L
+        );
+
+        allocationDeciders.canAllocate(shardZero, nodeOne, allocation);
+        allocationDeciders.canAllocate(shardOne, nodeOne, allocation);
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(1));
+        allocationDeciders.canAllocate(otherIndexShard, nodeOne, allocation);
+        final int expectedCalls = granularity == AllocationDecider.DecisionGranularity.NODE ? 1 : 2;
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(expectedCalls));
+        allocationDeciders.canAllocate(shardZero, nodeTwo, allocation);
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(expectedCalls + 1));
+
+        allocationDeciders.canRemain(shardZero, nodeOne, allocation);
+        allocationDeciders.canRemain(shardOne, nodeOne, allocation);
+        assertThat(canRemainCalls.get(), Matchers.equalTo(1));
+        // the shards of a node belong to mixed indices
+        allocationDeciders.canRemain(otherIndexShard, nodeOne, allocation);
+        allocationDeciders.canRemain(shardZero, nodeOne, allocation);
+        allocationDeciders.canRemain(otherIndexShard, nodeOne, allocation);
+        assertThat(canRemainCalls.get(), Matchers.equalTo(expectedCalls));
+
+        // decisions are only reused within the same allocation
+        allocation = new RoutingAllocation(allocationDeciders, clusterState.getRoutingNodes(), clusterState, null, null, 0L);
+        allocationDeciders.canAllocate(shardZero, nodeOne, allocation);
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(expectedCalls + 2));
+
+        // and never in debug mode where they carry explanations
+        allocation.debugDecision(true);
+        final Decision decision = allocationDeciders.canAllocate(shardOne, nodeOne, allocation);
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(expectedCalls + 3));
+        assertThat(((Decision.Multi) decision).getDecisions(), Matchers.hasSize(1));
+        assertThat(((Decision.Multi) decision).getDecisions().get(0).getExplanation(), Matchers.equalTo("can allocate"));
+    }
+
+    public void testCachedIndexDecisions() {
+        final AtomicInteger indexCalls = new AtomicInteger();
+        final AtomicInteger nodeCalls = new AtomicInteger();
+        final AllocationDeciders allocationDeciders = new AllocationDeciders(List.of(new AllocationDecider() {
+            @Override
+            public Decision canAllocate(IndexMetadata indexMetadata, RoutingNode node, RoutingAllocation allocation) {
+                indexCalls.incrementAndGet();
+                return allocation.decision(Decision.YES, "index", "can allocate index");
+            }
+
+            @Override
+            public DecisionGranularity decisionGranularity() {
+                return DecisionGranularity.INDEX_AND_NODE;
+            }
+        }, new AllocationDecider() {
+            @Override
+            public Decision canAllocate(IndexMetadata indexMetadata, RoutingNode node, RoutingAllocation allocation) {
+                nodeCalls.incrementAndGet();
+                return allocation.decision(Decision.YES, "node", "can allocate index");
+            }
+
+            @Override
+            public DecisionGranularity decisionGranularity() {
+                return DecisionGranularity.NODE;
+            }
+        }));
+
+        final IndexMetadata test = IndexMetadata.builder("test")
+            .settings(settings(Version.CURRENT))
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        final IndexMetadata other = IndexMetadata.builder("other")
+            .settings(settings(Version.CURRENT))
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        final RoutingNode nodeOne = new RoutingNode("node1", null);
+        final RoutingNode nodeTwo = new RoutingNode("node2", null);
+        final ClusterState clusterState = ClusterState.builder(new ClusterName("test")).build();
+        final RoutingAllocation allocation = new RoutingAllocation(
+            allocationDeciders,
+            clusterState.getRoutingNodes(),
+            clusterState,
+            null,
+            null,
+            0L
+        );
+
+        // the index level decisions are asked for repeatedly while balancing the shards of an index
+        for (int i = 0; i < 3; i++) {
+            allocationDeciders.canAllocate(test, nodeOne, allocation);
+            allocationDeciders.canAllocate(test, nodeTwo, allocation);
+        }
+        assertThat(indexCalls.get(), Matchers.equalTo(2));
+        assertThat(nodeCalls.get(), Matchers.equalTo(2));
+
+        // the decisions of an index are kept when moving on to another index and back, as moving shards does node by node
+        allocationDeciders.canAllocate(other, nodeOne, allocation);
+        assertThat(indexCalls.get(), Matchers.equalTo(3));
+        allocationDeciders.canAllocate(test, nodeOne, allocation);
+        allocationDeciders.canAllocate(other, nodeOne, allocation);
+        allocationDeciders.canAllocate(test, nodeTwo, allocation);
+        assertThat(indexCalls.get(), Matchers.equalTo(3));
+        assertThat(nodeCalls.get(), Matchers.equalTo(2));
+    }
+
+    private static ShardRouting newUnassignedPrimary(ShardId shardId) {
+        return ShardRouting.newUnassigned(
+            shardId,
+            true,
+            RecoverySource.ExistingStoreRecoverySource.INSTANCE,
+            new UnassignedInfo(UnassignedInfo.Reason.INDEX_CREATED, "_message")
+        );
+    }
 }
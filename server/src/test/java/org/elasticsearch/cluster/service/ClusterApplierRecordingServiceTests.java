@@ -49,6 +49,27 @@ public class ClusterApplierRecordingServiceTests extends ESTestCase {
         expectThrows(IllegalStateException.class, () -> recorder.record("action2"));
     }
 
+    public void testRecordPhase() {
+        long[] currentTime = new long[1];
+        var recorder = new Recorder(() -> currentTime[0]);
+        expectThrows(IllegalStateException.class, () -> recorder.recordPhase("phase1"));
+        try (var r = recorder.record("action1")) {
+            currentTime[0] = 2;
+            try (var p = recorder.recordPhase("phase1")) {
+                currentTime[0] = 10;
+            }
+            try (var p = recorder.recordPhase("phase2")) {
+                currentTime[0] = 11;
+            }
+            currentTime[0] = 12;
+        }
+
+        assertThat(
+            recorder.getRecordings(),
+            contains(Tuple.tuple("action1/phase1", 8L), Tuple.tuple("action1/phase2", 1L), Tuple.tuple("action1", 12L))
+        );
+    }
+
     public void testRecordingServiceStats() {
         var service = new ClusterApplierRecordingService();
 
@@ -13,6 +13,8 @@ import org.elasticsearch.test.AbstractWireSerializingTestCase;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireSerializingTestCase<ClusterStateUpdateStats> {
 
@@ -39,6 +41,25 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
             randomNonNegativeLong(),
             randomNonNegativeLong(),
             randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomExecutorStats()
+        );
+    }
+
+    private static Map<String, ClusterStateUpdateStats.ExecutorStats> randomExecutorStats() {
+        final Map<String, ClusterStateUpdateStats.ExecutorStats> executorStats = new HashMap<>();
+        final int executorCount = between(0, 5);
+        for (int i = 0; i < executorCount; i++) {
+            executorStats.put(randomAlphaOfLength(10), randomExecutorStatsValue());
+        }
+        return executorStats;
+    }
+
+    private static ClusterStateUpdateStats.ExecutorStats randomExecutorStatsValue() {
+        return new ClusterStateUpdateStats.ExecutorStats(
             randomNonNegativeLong(),
             randomNonNegativeLong(),
             randomNonNegativeLong(),
@@ -52,7 +73,7 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
 
     @Override
     protected ClusterStateUpdateStats mutateInstance(ClusterStateUpdateStats instance) throws IOException {
-        switch (between(1, 19)) {
+        switch (between(1, 20)) {
             case 1:
                 return new ClusterStateUpdateStats(
                     not(instance.getUnchangedTaskCount()),
@@ -73,7 +94,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 2:
                 return new ClusterStateUpdateStats(
@@ -95,7 +117,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 3:
                 return new ClusterStateUpdateStats(
@@ -117,7 +140,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 4:
                 return new ClusterStateUpdateStats(
@@ -139,7 +163,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 5:
                 return new ClusterStateUpdateStats(
@@ -161,7 +186,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 6:
                 return new ClusterStateUpdateStats(
@@ -183,7 +209,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 7:
                 return new ClusterStateUpdateStats(
@@ -205,7 +232,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 8:
                 return new ClusterStateUpdateStats(
@@ -227,7 +255,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 9:
                 return new ClusterStateUpdateStats(
@@ -249,7 +278,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 10:
                 return new ClusterStateUpdateStats(
@@ -271,7 +301,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 11:
                 return new ClusterStateUpdateStats(
@@ -293,7 +324,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 12:
                 return new ClusterStateUpdateStats(
@@ -315,7 +347,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 13:
                 return new ClusterStateUpdateStats(
@@ -337,7 +370,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 14:
                 return new ClusterStateUpdateStats(
@@ -359,7 +393,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 15:
                 return new ClusterStateUpdateStats(
@@ -381,7 +416,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 16:
                 return new ClusterStateUpdateStats(
@@ -403,7 +439,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     not(instance.getFailedCommitElapsedMillis()),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 17:
                 return new ClusterStateUpdateStats(
@@ -425,7 +462,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     not(instance.getFailedCompletionElapsedMillis()),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 18:
                 return new ClusterStateUpdateStats(
@@ -447,7 +485,8 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     not(instance.getFailedMasterApplyElapsedMillis()),
-                    instance.getFailedNotificationElapsedMillis()
+                    instance.getFailedNotificationElapsedMillis(),
+                    instance.getExecutorStats()
                 );
             case 19:
                 return new ClusterStateUpdateStats(
@@ -469,9 +508,49 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedCommitElapsedMillis(),
                     instance.getFailedCompletionElapsedMillis(),
                     instance.getFailedMasterApplyElapsedMillis(),
-                    not(instance.getFailedNotificationElapsedMillis())
+                    not(instance.getFailedNotificationElapsedMillis()),
+                    instance.getExecutorStats()
+                );
+            case 20:
+                return new ClusterStateUpdateStats(
+                    instance.getUnchangedTaskCount(),
+                    instance.getPublicationSuccessCount(),
+                    instance.getPublicationFailureCount(),
+                    instance.getUnchangedComputationElapsedMillis(),
+                    instance.getUnchangedNotificationElapsedMillis(),
+                    instance.getSuccessfulComputationElapsedMillis(),
+                    instance.getSuccessfulPublicationElapsedMillis(),
+                    instance.getSuccessfulContextConstructionElapsedMillis(),
+                    instance.getSuccessfulCommitElapsedMillis(),
+                    instance.getSuccessfulCompletionElapsedMillis(),
+                    instance.getSuccessfulMasterApplyElapsedMillis(),
+                    instance.getSuccessfulNotificationElapsedMillis(),
+                    instance.getFailedComputationElapsedMillis(),
+                    instance.getFailedPublicationElapsedMillis(),
+                    instance.getFailedContextConstructionElapsedMillis(),
+                    instance.getFailedCommitElapsedMillis(),
+                    instance.getFailedCompletionElapsedMillis(),
+                    instance.getFailedMasterApplyElapsedMillis(),
+                    instance.getFailedNotificationElapsedMillis(),
+                    mutateExecutorStats(instance.getExecutorStats())
                 );
         }
         throw new AssertionError("impossible");
     }
+
+    private static Map<String, ClusterStateUpdateStats.ExecutorStats> mutateExecutorStats(
+        Map<String, ClusterStateUpdateStats.ExecutorStats> executorStats
+    ) {
+        final Map<String, ClusterStateUpdateStats.ExecutorStats> mutated = new HashMap<>(executorStats);
+        if (mutated.isEmpty() || randomBoolean()) {
+            mutated.put(randomValueOtherThanMany(mutated::containsKey, () -> randomAlphaOfLength(10)), randomExecutorStatsValue());
+        } else {
+            final String executor = randomFrom(mutated.keySet());
+            mutated.put(
+                executor,
+                randomValueOtherThan(mutated.get(executor), ClusterStateUpdateStatsWireSerializationTests::randomExecutorStatsValue)
+            );
+        }
+        return mutated;
+    }
 }
@@ -254,6 +254,110 @@ public class MasterServiceTests extends ESTestCase {
         master.close();
     }
 
+    public void testExecutorStats() throws InterruptedException {
+        final int taskCount = between(1, 10);
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+        final Map<Object, ClusterStateTaskListener> tasks = new HashMap<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.put(new Object(), new ClusterStateTaskListener() {
+                @Override
+                public void onFailure(String source, Exception e) {
+                    throw new AssertionError("unexpected failure", e);
+                }
+
+                @Override
+                public void clusterStateProcessed(String source, ClusterState oldState, ClusterState newState) {
+                    latch.countDown();
+                }
+            });
+        }
+
+        try (MasterService masterService = createMasterService(true)) {
+            assertThat(masterService.getClusterStateUpdateStats().getExecutorStats(), equalTo(Map.of()));
+
+            masterService.submitStateUpdateTasks(
+                "test",
+                tasks,
+                ClusterStateTaskConfig.build(Priority.NORMAL),
+                new ExecutorStatsTestExecutor()
+            );
+            latch.await();
+
+            final ClusterStateUpdateStats.ExecutorStats executorStats = masterService.getClusterStateUpdateStats()
+                .getExecutorStats()
+                .get("test-executor");
+            assertNotNull(executorStats);
+            assertThat(executorStats.getBatchCount(), equalTo(1L));
+            assertThat(executorStats.getTaskCount(), equalTo((long) taskCount));
+        }
+    }
+
+    public void testExecutorStatsName() {
+        assertThat(MasterService.statsName(new ExecutorStatsTestExecutor()), equalTo("test-executor"));
+        final ClusterStateTaskExecutor<Object> lambdaExecutor = (currentState, tasks) -> { throw new AssertionError("not executed"); };
+        assertThat(MasterService.statsName(lambdaExecutor), equalTo(MasterServiceTests.class.getName()));
+        final ClusterStateUpdateTask updateTask = new ClusterStateUpdateTask() {
+            @Override
+            public ClusterState execute(ClusterState currentState) {
+                throw new AssertionError("not executed");
+            }
+
+            @Override
+            public void onFailure(String source, Exception e) {
+                throw new AssertionError("not executed");
+            }
+        };
+        assertThat(MasterService.statsName(updateTask), equalTo(updateTask.getClass().getName()));
+    }
+
+    public void testExecutorStatsDoNotDependOnSource() throws InterruptedException {
+        final int taskCount = between(2, 10);
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+        final Set<String> executorClasses = new HashSet<>();
+        try (MasterService masterService = createMasterService(true)) {
+            for (int i = 0; i < taskCount; i++) {
+                final ClusterStateUpdateTask task = new ClusterStateUpdateTask() {
+                    @Override
+                    public ClusterState execute(ClusterState currentState) {
+                        return currentState;
+                    }
+
+                    @Override
+                    public void clusterStateProcessed(String source, ClusterState oldState, ClusterState newState) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(String source, Exception e) {
+                        throw new AssertionError("unexpected failure", e);
+                    }
+                };
+                executorClasses.add(task.getClass().getName());
+                // sources typically contain index names and such
+                masterService.submitStateUpdateTask("test [index-" + i + "]", task);
+            }
+            latch.await();
+
+            assertThat(executorClasses.size(), equalTo(1));
+            final Map<String, ClusterStateUpdateStats.ExecutorStats> executorStats = masterService.getClusterStateUpdateStats()
+                .getExecutorStats();
+            assertThat(executorStats.keySet(), equalTo(executorClasses));
+            assertThat(executorStats.get(executorClasses.iterator().next()).getTaskCount(), equalTo((long) taskCount));
+        }
+    }
+
+    private static class ExecutorStatsTestExecutor implements ClusterStateTaskExecutor<Object> {
+        @Override
+        public ClusterTasksResult<Object> execute(ClusterState currentState, List<Object> tasks) {
+            return ClusterTasksResult.builder().successes(tasks).build(currentState);
+        }
+
+        @Override
+        public String statsName() {
+            return "test-executor";
+        }
+    }
+
     /*
     * test that a listener throwing an exception while handling a
     * notification does not prevent publication notification to the
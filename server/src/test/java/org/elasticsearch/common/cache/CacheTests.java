@@ -37,7 +37,10 @@ import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class CacheTests extends ESTestCase {
     private int numberOfEntries;
@@ -850,7 +853,11 @@ public class CacheTests extends ESTestCase {
     // here be dragons: this test did catch one subtle bug during development; do not remove lightly
     public void testTorture() throws BrokenBarrierException, InterruptedException {
         int numberOfThreads = randomIntBetween(2, 32);
-        final Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder().setMaximumWeight(1000).weigher((k, v) -> 2).build();
+        final Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(1000)
+            .weigher((k, v) -> 2)
+            .setFrequencyAwareEviction(randomBoolean())
+            .build();
 
         CyclicBarrier barrier = new CyclicBarrier(1 + numberOfThreads);
         for (int i = 0; i < numberOfThreads; i++) {
@@ -907,4 +914,114 @@ public class CacheTests extends ESTestCase {
             assertEquals(RemovalNotification.RemovalReason.INVALIDATED, removalNotifications.get(i).getRemovalReason());
         }
     }
+
+    public void testFrequencyAwareEvictionResistsScans() {
+        final int maximumWeight = randomIntBetween(50, 200);
+        final AtomicLong evictions = new AtomicLong();
+        Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(maximumWeight)
+            .setFrequencyAwareEviction(true)
+            .removalListener(notification -> evictions.incrementAndGet())
+            .build();
+        assertTrue(cache.isFrequencyAwareEviction());
+
+        for (int i = 0; i < maximumWeight; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < maximumWeight; i++) {
+                assertEquals(Integer.toString(i), cache.get(i));
+            }
+        }
+        cache.refresh();
+
+        // keys that are only used once don't replace the keys that are used frequently
+        final int scanSize = 10 * maximumWeight;
+        for (int i = maximumWeight; i < maximumWeight + scanSize; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+        assertEquals(maximumWeight, cache.count());
+        assertEquals(scanSize, evictions.get());
+        int hotKeys = 0;
+        for (int i = 0; i < maximumWeight; i++) {
+            if (cache.get(i) != null) {
+                hotKeys++;
+            }
+        }
+        // the sketch is probabilistic, a few scanned keys may collide with hot keys
+        assertThat(hotKeys, greaterThanOrEqualTo(maximumWeight * 9 / 10));
+    }
+
+    public void testFrequencyAwareEvictionAdmitsFrequentKeys() {
+        Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(10)
+            .setFrequencyAwareEviction(true)
+            .build();
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+        // a new key needs to be requested more often than the least recently used key to get in
+        final int newKey = 100;
+        int attempts = 0;
+        while (cache.get(newKey) == null) {
+            assertThat(attempts++, lessThan(20));
+            cache.put(newKey, Integer.toString(newKey));
+        }
+        assertEquals(10, cache.count());
+    }
+
+    public void testFrequencyAwareEvictionConcurrentAccess() throws BrokenBarrierException, InterruptedException {
+        final int numberOfThreads = randomIntBetween(2, 16);
+        final int maximumWeight = randomIntBetween(10, 500);
+        final boolean bounded = randomBoolean();
+        final CacheBuilder<Integer, String> builder = CacheBuilder.<Integer, String>builder().setFrequencyAwareEviction(true);
+        if (bounded) {
+            builder.setMaximumWeight(maximumWeight);
+        }
+        final Cache<Integer, String> cache = builder.build();
+        final int numberOfKeys = 2 * maximumWeight;
+
+        CyclicBarrier barrier = new CyclicBarrier(1 + numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                    Random random = new Random(random().nextLong());
+                    for (int j = 0; j < numberOfEntries; j++) {
+                        Integer key = random.nextInt(numberOfKeys);
+                        if (random.nextBoolean()) {
+                            String value = cache.computeIfAbsent(key, Object::toString);
+                            assertEquals(key.toString(), value);
+                        } else {
+                            String value = cache.get(key);
+                            if (value != null) {
+                                assertEquals(key.toString(), value);
+                            }
+                        }
+                    }
+                    barrier.await();
+                } catch (BrokenBarrierException | InterruptedException | ExecutionException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            thread.start();
+        }
+
+        // wait for all threads to be ready
+        barrier.await();
+        // wait for all threads to finish
+        barrier.await();
+
+        cache.refresh();
+        if (bounded) {
+            assertThat(cache.count(), lessThanOrEqualTo(maximumWeight));
+        }
+        int count = 0;
+        for (Integer key : cache.keys()) {
+            assertEquals(key.toString(), cache.get(key));
+            count++;
+        }
+        assertEquals(cache.count(), count);
+        assertEquals(count, cache.weight());
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.cache;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+public class FrequencySketchTests extends ESTestCase {
+
+    public void testIncrement() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        int key = randomInt();
+        assertThat(sketch.frequency(key), equalTo(0));
+        int increments = randomIntBetween(1, 15);
+        for (int i = 0; i < increments; i++) {
+            sketch.increment(key);
+        }
+        // a count-min sketch never underestimates
+        assertThat(sketch.frequency(key), greaterThanOrEqualTo(increments));
+    }
+
+    public void testCountersSaturate() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        int key = randomInt();
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(key);
+        }
+        assertThat(sketch.frequency(key), equalTo(15));
+    }
+
+    public void testReset() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        int key = randomInt();
+        for (int i = 0; i < 15; i++) {
+            sketch.increment(key);
+        }
+        // counters are halved once the sample size is reached
+        for (int i = 0; i < 10 * 16; i++) {
+            sketch.increment(i * 31 + 7);
+        }
+        assertThat(sketch.frequency(key), lessThan(15));
+    }
+
+    public void testEnsureCapacity() {
+        FrequencySketch sketch = new FrequencySketch(randomIntBetween(0, 16));
+        assertThat(sketch.capacity(), equalTo(16));
+        sketch.ensureCapacity(1000);
+        assertThat(sketch.capacity(), equalTo(1024));
+        sketch.ensureCapacity(10);
+        assertThat(sketch.capacity(), equalTo(1024));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.compress;
+
+import org.apache.lucene.util.LineFileDocs;
+import org.apache.lucene.util.TestUtil;
+import org.elasticsearch.Version;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.VersionUtils;
+import org.elasticsearch.xcontent.XContentFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class Lz4CompressTests extends ESTestCase {
+
+    private final Compressor compressor = new Lz4Compressor();
+
+    public void testRandom() throws IOException {
+        Random r = random();
+        for (int i = 0; i < 10; i++) {
+            byte bytes[] = new byte[TestUtil.nextInt(r, 1, 300000)];
+            r.nextBytes(bytes);
+            doTest(bytes);
+        }
+    }
+
+    public void testLineDocs() throws IOException {
+        Random r = random();
+        LineFileDocs lineFileDocs = new LineFileDocs(r);
+        for (int i = 0; i < 10; i++) {
+            int numDocs = TestUtil.nextInt(r, 1, 200);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            for (int j = 0; j < numDocs; j++) {
+                String s = lineFileDocs.nextDoc().get("body");
+                bos.write(s.getBytes(StandardCharsets.UTF_8));
+            }
+            doTest(bos.toByteArray());
+        }
+        lineFileDocs.close();
+    }
+
+    public void testEmpty() throws IOException {
+        doTest(new byte[0]);
+    }
+
+    public void testCompressUncompress() throws IOException {
+        final BytesReference json = BytesReference.bytes(
+            XContentFactory.jsonBuilder().startObject().array("values", generateRandomStringArray(100, 100, false)).endObject()
+        );
+        final BytesReference compressed = compressor.compress(json);
+        assertTrue(compressor.isCompressed(compressed));
+        assertThat(CompressorFactory.compressor(compressed), sameInstance(CompressorFactory.LZ4_COMPRESSOR));
+        assertThat(compressor.uncompress(compressed), equalTo(json));
+        assertThat(CompressorFactory.uncompressIfNeeded(compressed), equalTo(json));
+    }
+
+    public void testCompressedXContentFromLz4Bytes() throws IOException {
+        final BytesReference json = BytesReference.bytes(
+            XContentFactory.jsonBuilder().startObject().field("field", randomAlphaOfLength(100)).endObject()
+        );
+        final CompressedXContent lz4 = new CompressedXContent(compressor.compress(json));
+        final CompressedXContent deflate = new CompressedXContent(CompressorFactory.COMPRESSOR.compress(json));
+        assertThat(lz4, equalTo(deflate));
+        assertThat(lz4.hashCode(), equalTo(deflate.hashCode()));
+        assertThat(lz4.uncompressed(), equalTo(json));
+        assertTrue(compressor.isCompressed(new BytesArray(lz4.compressed())));
+
+        final Version version = VersionUtils.randomVersion(random());
+        final BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        lz4.writeTo(out);
+        final StreamInput in = out.bytes().streamInput();
+        in.setVersion(version);
+        final CompressedXContent read = CompressedXContent.readCompressedString(in);
+        assertThat(read, equalTo(lz4));
+        final boolean expectLz4 = version.onOrAfter(Lz4Compressor.MINIMUM_COMPATIBLE_VERSION);
+        assertThat(compressor.isCompressed(new BytesArray(read.compressed())), equalTo(expectLz4));
+    }
+
+    public void testXContentCompressorSelection() {
+        assertThat(CompressorFactory.xContentCompressor("deflate"), sameInstance(CompressorFactory.COMPRESSOR));
+        assertThat(CompressorFactory.xContentCompressor("lz4"), sameInstance(CompressorFactory.LZ4_COMPRESSOR));
+        expectThrows(IllegalArgumentException.class, () -> CompressorFactory.xContentCompressor("zstd"));
+    }
+
+    private void doTest(byte bytes[]) throws IOException {
+        InputStream rawIn = new ByteArrayInputStream(bytes);
+        final Random r = random();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        int bufferSize = TestUtil.nextInt(r, 1, 70000);
+        byte[] buffer = new byte[bufferSize];
+        int len;
+        try (OutputStream os = compressor.threadLocalOutputStream(bos)) {
+            while ((len = rawIn.read(buffer, 0, bufferSize)) != -1) {
+                os.write(buffer, 0, len);
+            }
+        }
+        rawIn.close();
+
+        ByteArrayOutputStream uncompressedOut = new ByteArrayOutputStream();
+        try (InputStream in = compressor.threadLocalInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            bufferSize = TestUtil.nextInt(r, 1, 70000);
+            buffer = new byte[bufferSize];
+            while ((len = in.read(buffer, 0, bufferSize)) != -1) {
+                uncompressedOut.write(buffer, 0, len);
+            }
+        }
+        assertArrayEquals(bytes, uncompressedOut.toByteArray());
+    }
+}
@@ -31,6 +31,7 @@ import java.util.function.Function;
 import static org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
@@ -242,6 +243,124 @@ public class BigArraysTests extends ESTestCase {
         array2.close();
     }
 
+    public void testOffHeapArrays() {
+        final PageCacheRecycler recycler = new PageCacheRecycler(
+            Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build()
+        );
+        assertTrue(recycler.isOffHeap());
+        final HierarchyCircuitBreakerService hcbs = new HierarchyCircuitBreakerService(
+            Settings.EMPTY,
+            Collections.emptyList(),
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        final BigArrays offHeapArrays = new BigArrays(recycler, hcbs, CircuitBreaker.REQUEST);
+        // recycled pages must be cleared, so run twice
+        for (int round = 0; round < 2; round++) {
+            final int totalLen = randomIntBetween(PageCacheRecycler.INT_PAGE_SIZE + 1, 100000);
+            final int startLen = randomIntBetween(1, totalLen);
+            LongArray longs = offHeapArrays.newLongArray(startLen);
+            DoubleArray doubles = offHeapArrays.newDoubleArray(startLen);
+            IntArray ints = offHeapArrays.newIntArray(startLen);
+            FloatArray floats = offHeapArrays.newFloatArray(startLen);
+            final long[] ref = new long[totalLen];
+            for (int i = 0; i < totalLen; ++i) {
+                longs = offHeapArrays.grow(longs, i + 1);
+                doubles = offHeapArrays.grow(doubles, i + 1);
+                ints = offHeapArrays.grow(ints, i + 1);
+                floats = offHeapArrays.grow(floats, i + 1);
+                assertEquals(0L, longs.get(i));
+                assertEquals(0d, doubles.get(i), 0d);
+                assertEquals(0, ints.get(i));
+                assertEquals(0f, floats.get(i), 0f);
+                ref[i] = randomIntBetween(0, 1000);
+                longs.set(i, ref[i]);
+                doubles.set(i, ref[i]);
+                ints.set(i, (int) ref[i]);
+                floats.set(i, ref[i]);
+            }
+            final int fromIndex = randomIntBetween(0, totalLen - 1);
+            final int toIndex = randomIntBetween(fromIndex, totalLen);
+            Arrays.fill(ref, fromIndex, toIndex, 42);
+            longs.fill(fromIndex, toIndex, 42);
+            doubles.fill(fromIndex, toIndex, 42);
+            ints.fill(fromIndex, toIndex, 42);
+            floats.fill(fromIndex, toIndex, 42);
+            final int incIndex = randomIntBetween(0, totalLen - 1);
+            ref[incIndex] += 3;
+            assertEquals(ref[incIndex], longs.increment(incIndex, 3));
+            assertEquals(ref[incIndex], doubles.increment(incIndex, 3), 0d);
+            assertEquals(ref[incIndex], ints.increment(incIndex, 3));
+            assertEquals(ref[incIndex], floats.increment(incIndex, 3), 0f);
+            for (int i = 0; i < totalLen; ++i) {
+                assertEquals(ref[i], longs.get(i));
+                assertEquals(ref[i], doubles.get(i), 0d);
+                assertEquals(ref[i], ints.get(i));
+                assertEquals(ref[i], floats.get(i), 0f);
+            }
+            final long expectedBytes = BigLongArray.estimateRamBytes(longs.size()) + BigDoubleArray.estimateRamBytes(doubles.size())
+                + BigIntArray.estimateRamBytes(ints.size()) + BigFloatArray.estimateRamBytes(floats.size());
+            assertEquals(expectedBytes, hcbs.getBreaker(CircuitBreaker.REQUEST).getUsed());
+            Releasables.close(longs, doubles, ints, floats);
+            assertEquals(0, hcbs.getBreaker(CircuitBreaker.REQUEST).getUsed());
+        }
+    }
+
+    public void testOffHeapArraysFallBackToHeap() {
+        // off-heap pages may use half of the direct memory, 4 pages in use and up to 4 recycled pages
+        final PageCacheRecycler recycler = new PageCacheRecycler(
+            Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build(),
+            16L * PageCacheRecycler.PAGE_SIZE_IN_BYTES
+        );
+        assertTrue(recycler.isOffHeap());
+        final HierarchyCircuitBreakerService hcbs = new HierarchyCircuitBreakerService(
+            Settings.EMPTY,
+            Collections.emptyList(),
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        final BigArrays offHeapArrays = new BigArrays(recycler, hcbs, CircuitBreaker.REQUEST);
+
+        LongArray longs = offHeapArrays.newLongArray(3 * PageCacheRecycler.LONG_PAGE_SIZE);
+        assertThat(longs, instanceOf(BigDirectLongArray.class));
+        for (long i = 0; i < longs.size(); i++) {
+            longs.set(i, i);
+        }
+        // not enough direct memory left for a second array
+        IntArray ints = offHeapArrays.newIntArray(2 * PageCacheRecycler.INT_PAGE_SIZE);
+        assertThat(ints, instanceOf(BigIntArray.class));
+        // nor to grow the first one, which moves it to the heap
+        final long size = longs.size();
+        longs = offHeapArrays.resize(longs, 5 * PageCacheRecycler.LONG_PAGE_SIZE);
+        assertThat(longs, instanceOf(BigLongArray.class));
+        for (long i = 0; i < longs.size(); i++) {
+            assertEquals(i < size ? i : 0L, longs.get(i));
+        }
+        assertEquals(
+            BigLongArray.estimateRamBytes(longs.size()) + BigIntArray.estimateRamBytes(ints.size()),
+            hcbs.getBreaker(CircuitBreaker.REQUEST).getUsed()
+        );
+        Releasables.close(longs, ints);
+        assertEquals(0, hcbs.getBreaker(CircuitBreaker.REQUEST).getUsed());
+
+        // the pages that were released can be used again
+        longs = offHeapArrays.newLongArray(4 * PageCacheRecycler.LONG_PAGE_SIZE);
+        assertThat(longs, instanceOf(BigDirectLongArray.class));
+        longs.close();
+    }
+
+    public void testNoOffHeapArraysWithoutRecycling() {
+        final PageCacheRecycler recycler = new PageCacheRecycler(
+            Settings.builder()
+                .put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true)
+                .put(PageCacheRecycler.TYPE_SETTING.getKey(), PageCacheRecycler.Type.NONE.name())
+                .build()
+        );
+        assertFalse(recycler.isOffHeap());
+        final BigArrays bigArrays = new BigArrays(recycler, null, CircuitBreaker.REQUEST);
+        try (LongArray longs = bigArrays.newLongArray(2 * PageCacheRecycler.LONG_PAGE_SIZE)) {
+            assertThat(longs, instanceOf(BigLongArray.class));
+        }
+    }
+
     public void testByteArrayBulkGet() {
         final byte[] array1 = new byte[randomIntBetween(1, 4000000)];
         random().nextBytes(array1);
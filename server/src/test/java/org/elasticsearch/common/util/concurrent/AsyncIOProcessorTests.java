@@ -8,6 +8,7 @@
 package org.elasticsearch.common.util.concurrent;
 
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.Before;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.Semaphore;
@@ -83,6 +85,122 @@ public class AsyncIOProcessorTests extends ESTestCase {
         assertEquals(count * thread.length, received.get());
     }
 
+    public void testPutWithBatchWindow() throws Exception {
+        AtomicInteger received = new AtomicInteger(0);
+        AtomicInteger batches = new AtomicInteger(0);
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        AsyncIOProcessor<Object> processor = new AsyncIOProcessor<Object>(logger, scaledRandomIntBetween(10, 2024), threadContext) {
+            @Override
+            protected void write(List<Tuple<Object, Consumer<Exception>>> candidates) throws IOException {
+                if (batches.incrementAndGet() == 1) {
+                    firstWriteStarted.countDown();
+                    try {
+                        assertTrue(releaseFirstWrite.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+                received.addAndGet(candidates.size());
+            }
+
+            @Override
+            protected TimeValue maxBatchWindow() {
+                return TimeValue.timeValueMillis(randomIntBetween(0, 2));
+            }
+        };
+        final int numPuts = randomIntBetween(2, 10);
+        CountDownLatch processed = new CountDownLatch(numPuts + 1);
+
+        // the first put holds the promise to process while its write is blocked
+        Thread first = new Thread(() -> processor.put(new Object(), e -> processed.countDown()));
+        first.start();
+        assertTrue(firstWriteStarted.await(10, TimeUnit.SECONDS));
+
+        // all puts in the meantime are queued and return right away since they can't make the promise
+        Thread[] threads = new Thread[numPuts];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> processor.put(new Object(), e -> processed.countDown()));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(numPuts + 1, processed.getCount());
+
+        releaseFirstWrite.countDown();
+        first.join();
+        assertTrue(processed.await(10, TimeUnit.SECONDS));
+        assertEquals(numPuts + 1, received.get());
+        // the queued puts are written in a single batch after the first one
+        assertEquals(2, batches.get());
+    }
+
+    public void testPutsArrivingDuringBatchWindowAreWrittenTogether() throws Exception {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        final AsyncIOProcessor<Object> processor = new AsyncIOProcessor<Object>(logger, 1024, threadContext) {
+            @Override
+            protected void write(List<Tuple<Object, Consumer<Exception>>> candidates) throws IOException {
+                batchSizes.add(candidates.size());
+                if (batchSizes.size() == 1) {
+                    firstWriteStarted.countDown();
+                    try {
+                        assertTrue(releaseFirstWrite.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            }
+
+            @Override
+            protected TimeValue maxBatchWindow() {
+                return TimeValue.timeValueSeconds(10);
+            }
+        };
+
+        // first record a batch of more than one item and a slow write, so that the next worker waits for a batch window that is
+        // bounded by the average write time
+        final int numQueuedPuts = randomIntBetween(2, 5);
+        final CountDownLatch queuedProcessed = new CountDownLatch(numQueuedPuts + 1);
+        final Thread first = new Thread(() -> processor.put(new Object(), e -> queuedProcessed.countDown()));
+        first.start();
+        assertTrue(firstWriteStarted.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < numQueuedPuts; i++) {
+            final Thread thread = new Thread(() -> processor.put(new Object(), e -> queuedProcessed.countDown()));
+            thread.start();
+            thread.join();
+        }
+        Thread.sleep(1000);
+        releaseFirstWrite.countDown();
+        first.join();
+        assertTrue(queuedProcessed.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(1, numQueuedPuts), batchSizes);
+
+        // whoever makes the promise now parks for the batch window, so all puts that arrive in the meantime are written together
+        final int numConcurrentPuts = randomIntBetween(2, 5);
+        final CountDownLatch concurrentProcessed = new CountDownLatch(numConcurrentPuts);
+        final CyclicBarrier barrier = new CyclicBarrier(numConcurrentPuts);
+        final Thread[] threads = new Thread[numConcurrentPuts];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    throw new AssertionError(e);
+                }
+                processor.put(new Object(), e -> concurrentProcessed.countDown());
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(concurrentProcessed.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(1, numQueuedPuts, numConcurrentPuts), batchSizes);
+    }
+
     public void testRandomFail() throws InterruptedException {
         AtomicInteger received = new AtomicInteger(0);
         AtomicInteger failed = new AtomicInteger(0);
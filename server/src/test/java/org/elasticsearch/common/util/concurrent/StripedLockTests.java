@@ -0,0 +1,105 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class StripedLockTests extends ESTestCase {
+
+    public void testStripesRoundedUpToPowerOfTwo() {
+        assertThat(new StripedLock<String>(1).stripes(), equalTo(1));
+        assertThat(new StripedLock<String>(3).stripes(), equalTo(4));
+        assertThat(new StripedLock<String>(64).stripes(), equalTo(64));
+        assertThat(new StripedLock<String>(65).stripes(), equalTo(128));
+        expectThrows(IllegalArgumentException.class, () -> new StripedLock<String>(0));
+        expectThrows(IllegalArgumentException.class, () -> new StripedLock<String>(-1));
+    }
+
+    public void testMutualExclusion() throws InterruptedException {
+        final StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 16));
+        final String[] keys = new String[randomIntBetween(1, 40)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomAlphaOfLengthBetween(5, 10);
+        }
+        // only mutated under the lock of the key
+        final Map<String, int[]> counters = new HashMap<>();
+        for (String key : keys) {
+            counters.put(key, new int[1]);
+        }
+        final int numThreads = randomIntBetween(2, 8);
+        final int iterations = randomIntBetween(100, 1000);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                for (int i = 0; i < iterations; i++) {
+                    final String key = keys[i % keys.length];
+                    try (Releasable ignored = lock.acquire(key)) {
+                        assertTrue(lock.isHeldByCurrentThread(key));
+                        counters.get(key)[0]++;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int total = 0;
+        for (int[] counter : counters.values()) {
+            total += counter[0];
+        }
+        assertThat(total, equalTo(numThreads * iterations));
+        for (String key : keys) {
+            assertFalse(lock.isHeldByCurrentThread(key));
+        }
+    }
+
+    public void testTryAcquire() throws InterruptedException {
+        final StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 16));
+        final String key = randomAlphaOfLength(10);
+        try (Releasable ignored = lock.acquire(key)) {
+            // reentrant
+            Releasable reentrant = lock.tryAcquire(key);
+            assertThat(reentrant, notNullValue());
+            reentrant.close();
+            assertTrue(lock.isHeldByCurrentThread(key));
+
+            final Thread thread = new Thread(() -> {
+                assertFalse(lock.isHeldByCurrentThread(key));
+                assertThat(lock.tryAcquire(key), nullValue());
+            });
+            thread.start();
+            thread.join();
+        }
+        assertFalse(lock.isHeldByCurrentThread(key));
+        final Thread thread = new Thread(() -> {
+            Releasable releasable = lock.tryAcquire(key);
+            assertThat(releasable, notNullValue());
+            releasable.close();
+        });
+        thread.start();
+        thread.join();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.xcontent.support;
+
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
+import org.elasticsearch.xcontent.XContentParseException;
+import org.elasticsearch.xcontent.XContentType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.nik9000.mapmatcher.MapMatcher.assertMap;
+import static io.github.nik9000.mapmatcher.MapMatcher.matchesMap;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SourceFilterTests extends ESTestCase {
+
+    private static final String[] PATTERNS = new String[] {
+        "a",
+        "a.b",
+        "a.b.c",
+        "a.*",
+        "*.c",
+        "*c",
+        "d",
+        "d.e",
+        "d.*",
+        "f",
+        "f.g",
+        "f.*.h",
+        "obj",
+        "obj.empty",
+        "n",
+        "*",
+        "missing",
+        "a.b.c.d" };
+
+    private static BytesReference document(XContentType xContentType) throws IOException {
+        XContentBuilder builder = XContentFactory.contentBuilder(xContentType);
+        builder.startObject();
+        {
+            builder.startObject("a");
+            builder.field("b.c", 1);
+            builder.startObject("b").field("c", "x").field("d", 2.5).endObject();
+            builder.endObject();
+            builder.field("a.b.c", true);
+            builder.startArray("d");
+            builder.value(1).value("two").nullValue();
+            builder.startObject().field("e", 3).field("x", 4).endObject();
+            builder.startObject().endObject();
+            builder.startArray().value(5).startObject().field("e", 6).endObject().endArray();
+            builder.endArray();
+            builder.startObject("f");
+            builder.startArray("g").startObject().startObject("h").field("i", "j").endObject().endObject().endArray();
+            builder.startObject("g.h").field("k", "l").endObject();
+            builder.endObject();
+            builder.startObject("obj").startObject("empty").endObject().startArray("empty_array").endArray().endObject();
+            builder.nullField("n");
+        }
+        builder.endObject();
+        return BytesReference.bytes(builder);
+    }
+
+    public void testMatchesMapFilter() throws IOException {
+        XContentType xContentType = randomFrom(XContentType.values()).canonical();
+        BytesReference document = document(xContentType);
+        Map<String, Object> documentAsMap = XContentHelper.convertToMap(document, true, xContentType).v2();
+        for (int i = 0; i < 100; i++) {
+            String[] includes = randomPatterns();
+            String[] excludes = randomPatterns();
+            SourceFilter filter = new SourceFilter(includes, excludes);
+            BytesReference filtered = filter.filter(document, xContentType, randomIntBetween(0, 1024));
+            assertThat(XContentHelper.xContentType(filtered), equalTo(xContentType));
+            assertMap(XContentHelper.convertToMap(filtered, true, xContentType).v2(), matchesMap(filter.filter(documentAsMap)));
+        }
+    }
+
+    public void testKeepsFieldOrder() throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder();
+        builder.startObject().field("z", 1).field("y", 2).startObject("x").field("c", 3).field("b", 4).field("a", 5).endObject();
+        builder.field("w", 6).endObject();
+        SourceFilter filter = new SourceFilter(new String[] { "z", "x", "w" }, new String[] { "x.b" });
+        BytesReference filtered = filter.filter(BytesReference.bytes(builder), XContentType.JSON, 0);
+        assertThat(filtered.utf8ToString(), equalTo("{\"z\":1,\"x\":{\"c\":3,\"a\":5},\"w\":6}"));
+    }
+
+    public void testEmptyResult() throws IOException {
+        BytesReference document = document(XContentType.JSON);
+        SourceFilter filter = new SourceFilter(new String[] { "missing" }, Strings.EMPTY_ARRAY);
+        assertThat(filter.filter(document, XContentType.JSON, 0).utf8ToString(), equalTo("{}"));
+        filter = new SourceFilter(Strings.EMPTY_ARRAY, new String[] { "*" });
+        assertThat(filter.filter(document, XContentType.JSON, 0).utf8ToString(), equalTo("{}"));
+    }
+
+    public void testNotAnObject() throws IOException {
+        BytesReference document = BytesReference.bytes(XContentFactory.jsonBuilder().startArray().value(1).endArray());
+        SourceFilter filter = new SourceFilter(new String[] { "a" }, Strings.EMPTY_ARRAY);
+        expectThrows(XContentParseException.class, () -> filter.filter(document, XContentType.JSON, 0));
+    }
+
+    private static String[] randomPatterns() {
+        int count = randomIntBetween(0, 3);
+        List<String> patterns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            patterns.add(randomFrom(PATTERNS));
+        }
+        return patterns.toArray(Strings.EMPTY_ARRAY);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.gateway;
+
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.Version;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.FailedNodeException;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.action.support.nodes.BaseNodesResponse;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShards.NodeGatewayStartedShards;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShardsBatch.NodeGatewayStartedShardsBatch;
+import org.elasticsearch.gateway.TransportNodesListGatewayStartedShardsBatch.NodesGatewayStartedShardsBatch;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.VersionUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class StartedShardsFetchBatcherTests extends ESTestCase {
+
+    private final DiscoveryNode node1 = new DiscoveryNode("node1", buildNewFakeTransportAddress(), Version.CURRENT);
+    private final DiscoveryNode node2 = new DiscoveryNode("node2", buildNewFakeTransportAddress(), Version.CURRENT);
+
+    private final List<TransportNodesListGatewayStartedShardsBatch.Request> requests = new ArrayList<>();
+    private final List<ActionListener<NodesGatewayStartedShardsBatch>> listeners = new ArrayList<>();
+
+    private StartedShardsFetchBatcher batcher(int maxShardsPerRequest) {
+        return new StartedShardsFetchBatcher(ClusterName.DEFAULT, maxShardsPerRequest) {
+            @Override
+            protected void sendRequest(
+                TransportNodesListGatewayStartedShardsBatch.Request request,
+                ActionListener<NodesGatewayStartedShardsBatch> listener
+            ) {
+                requests.add(request);
+                listeners.add(listener);
+            }
+        };
+    }
+
+    public void testDoesNotBatchUnlessStarted() {
+        final StartedShardsFetchBatcher batcher = batcher(StartedShardsFetchBatcher.MAX_SHARDS_PER_REQUEST);
+        final ShardId shardId = new ShardId("index", "_na_", 0);
+        assertFalse(batcher.tryAdd(shardId, "", new DiscoveryNode[] { node1 }, new PlainActionFuture<>()));
+
+        batcher.startBatching();
+        assertTrue(batcher.tryAdd(shardId, "", new DiscoveryNode[] { node1 }, new PlainActionFuture<>()));
+        assertThat(batcher.getNumberOfPendingFetches(), equalTo(1));
+
+        batcher.flush();
+        assertThat(batcher.getNumberOfPendingFetches(), equalTo(0));
+        assertThat(requests, hasSize(1));
+        assertFalse(batcher.tryAdd(shardId, "", new DiscoveryNode[] { node1 }, new PlainActionFuture<>()));
+    }
+
+    public void testDoesNotBatchForOldNodes() {
+        final StartedShardsFetchBatcher batcher = batcher(StartedShardsFetchBatcher.MAX_SHARDS_PER_REQUEST);
+        final DiscoveryNode oldNode = new DiscoveryNode(
+            "old",
+            buildNewFakeTransportAddress(),
+            VersionUtils.getPreviousVersion(TransportNodesListGatewayStartedShardsBatch.MINIMUM_COMPATIBLE_VERSION)
+        );
+        batcher.startBatching();
+        final ShardId shardId = new ShardId("index", "_na_", 0);
+        assertFalse(batcher.tryAdd(shardId, "", new DiscoveryNode[] { node1, oldNode }, new PlainActionFuture<>()));
+        assertThat(batcher.getNumberOfPendingFetches(), equalTo(0));
+    }
+
+    public void testClearDropsPendingFetches() {
+        final StartedShardsFetchBatcher batcher = batcher(StartedShardsFetchBatcher.MAX_SHARDS_PER_REQUEST);
+        batcher.startBatching();
+        assertTrue(batcher.tryAdd(new ShardId("index", "_na_", 0), "", new DiscoveryNode[] { node1 }, new PlainActionFuture<>()));
+        batcher.clear();
+        batcher.flush();
+        assertThat(requests, hasSize(0));
+    }
+
+    public void testBatchesFetchesByNode() {
+        final int maxShardsPerRequest = between(1, 10);
+        final int numShards = between(1, 50);
+        final StartedShardsFetchBatcher batcher = batcher(maxShardsPerRequest);
+        batcher.startBatching();
+
+        final List<PlainActionFuture<BaseNodesResponse<NodeGatewayStartedShards>>> futures = new ArrayList<>();
+        for (int i = 0; i < numShards; i++) {
+            final PlainActionFuture<BaseNodesResponse<NodeGatewayStartedShards>> future = new PlainActionFuture<>();
+            futures.add(future);
+            assertTrue(batcher.tryAdd(new ShardId("index", "_na_", i), "path", new DiscoveryNode[] { node1, node2 }, future));
+        }
+        batcher.flush();
+
+        final int requestsPerNode = (numShards + maxShardsPerRequest - 1) / maxShardsPerRequest;
+        assertThat(requests, hasSize(2 * requestsPerNode));
+        for (int i = 0; i < requests.size(); i++) {
+            final TransportNodesListGatewayStartedShardsBatch.Request request = requests.get(i);
+            assertThat(request.concreteNodes().length, equalTo(1));
+            assertThat(request.getShards().size(), lessThanOrEqualTo(maxShardsPerRequest));
+            final DiscoveryNode node = request.concreteNodes()[0];
+            if (node.equals(node1)) {
+                // node1 loads all shards
+                final Map<ShardId, NodeGatewayStartedShards> startedShards = new HashMap<>();
+                for (Map.Entry<ShardId, String> shard : request.getShards().entrySet()) {
+                    assertThat(shard.getValue(), equalTo("path"));
+                    startedShards.put(shard.getKey(), new NodeGatewayStartedShards(node, "alloc-" + shard.getKey().id(), true));
+                }
+                listeners.get(i)
+                    .onResponse(
+                        new NodesGatewayStartedShardsBatch(
+                            ClusterName.DEFAULT,
+                            List.of(new NodeGatewayStartedShardsBatch(node, startedShards, Map.of())),
+                            List.of()
+                        )
+                    );
+            } else {
+                // node2 fails to load all shards
+                final Map<ShardId, Exception> failures = new HashMap<>();
+                for (ShardId shardId : request.getShards().keySet()) {
+                    failures.put(shardId, new ElasticsearchException("simulated"));
+                }
+                listeners.get(i)
+                    .onResponse(
+                        new NodesGatewayStartedShardsBatch(
+                            ClusterName.DEFAULT,
+                            List.of(new NodeGatewayStartedShardsBatch(node, Map.of(), failures)),
+                            List.of()
+                        )
+                    );
+            }
+        }
+
+        for (int i = 0; i < numShards; i++) {
+            final BaseNodesResponse<NodeGatewayStartedShards> response = futures.get(i).actionGet();
+            assertThat(response.getNodes(), hasSize(1));
+            assertThat(response.getNodes().get(0).getNode(), sameInstance(node1));
+            assertThat(response.getNodes().get(0).allocationId(), equalTo("alloc-" + i));
+            assertThat(response.failures(), hasSize(1));
+            assertThat(response.failures().get(0).nodeId(), equalTo(node2.getId()));
+            assertThat(response.failures().get(0).getCause(), instanceOf(ElasticsearchException.class));
+        }
+    }
+
+    public void testTotalFailure() {
+        final StartedShardsFetchBatcher batcher = batcher(StartedShardsFetchBatcher.MAX_SHARDS_PER_REQUEST);
+        batcher.startBatching();
+        final PlainActionFuture<BaseNodesResponse<NodeGatewayStartedShards>> future = new PlainActionFuture<>();
+        assertTrue(batcher.tryAdd(new ShardId("index", "_na_", 0), "", new DiscoveryNode[] { node1 }, future));
+        batcher.flush();
+
+        assertThat(listeners, hasSize(1));
+        listeners.get(0).onFailure(new ElasticsearchException("simulated"));
+        final BaseNodesResponse<NodeGatewayStartedShards> response = future.actionGet();
+        assertThat(response.getNodes(), hasSize(0));
+        assertThat(response.failures(), hasSize(1));
+        final FailedNodeException failure = response.failures().get(0);
+        assertThat(failure.nodeId(), equalTo(node1.getId()));
+        assertThat(failure.getCause().getMessage(), equalTo("simulated"));
+    }
+
+    public void testNodeResponseSerialization() throws IOException {
+        final Map<ShardId, NodeGatewayStartedShards> startedShards = new HashMap<>();
+        final Map<ShardId, Exception> failures = new HashMap<>();
+        final int numShards = between(0, 10);
+        for (int i = 0; i < numShards; i++) {
+            final ShardId shardId = new ShardId("index", "_na_", i);
+            switch (between(0, 2)) {
+                case 0:
+                    startedShards.put(shardId, new NodeGatewayStartedShards(node1, randomBoolean() ? null : "alloc", randomBoolean()));
+                    break;
+                case 1:
+                    startedShards.put(
+                        shardId,
+                        new NodeGatewayStartedShards(node1, "alloc", randomBoolean(), new ElasticsearchException("corrupt"))
+                    );
+                    break;
+                default:
+                    failures.put(shardId, new ElasticsearchException("failed"));
+                    break;
+            }
+        }
+        final NodeGatewayStartedShardsBatch original = new NodeGatewayStartedShardsBatch(node1, startedShards, failures);
+
+        final BytesStreamOutput out = new BytesStreamOutput();
+        original.writeTo(out);
+        final StreamInput in = out.bytes().streamInput();
+        final NodeGatewayStartedShardsBatch read = new NodeGatewayStartedShardsBatch(in, node1);
+
+        assertThat(read.getNode(), sameInstance(node1));
+        assertThat(read.getStartedShards().keySet(), equalTo(startedShards.keySet()));
+        for (Map.Entry<ShardId, NodeGatewayStartedShards> entry : startedShards.entrySet()) {
+            final NodeGatewayStartedShards readShard = read.getStartedShards().get(entry.getKey());
+            assertThat(readShard.getNode(), sameInstance(node1));
+            assertThat(readShard.allocationId(), equalTo(entry.getValue().allocationId()));
+            assertThat(readShard.primary(), equalTo(entry.getValue().primary()));
+            if (entry.getValue().storeException() == null) {
+                assertThat(readShard.storeException(), nullValue());
+            } else {
+                assertThat(readShard.storeException().getMessage(), equalTo(entry.getValue().storeException().getMessage()));
+            }
+        }
+        assertThat(read.getFailures().keySet(), equalTo(failures.keySet()));
+        for (Exception failure : read.getFailures().values()) {
+            assertThat(failure.getMessage(), equalTo("failed"));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.index.fielddata.IndexFieldData;
+import org.elasticsearch.index.fielddata.LeafFieldData;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IndexWarmerTests extends ESTestCase {
+
+    private ThreadPool threadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new TestThreadPool(getTestName());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
+    public void testWarmGlobalOrdinalsOfMultipleSegments() throws IOException {
+        try (
+            Directory dir = newDirectory();
+            IndexWriter w = newMultiSegmentWriter(dir);
+            ElasticsearchDirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(w), new ShardId("test", "_na_", 0))
+        ) {
+            assertThat(reader.leaves().size(), greaterThan(1));
+            final Set<Integer> loadedLeaves = ConcurrentHashMap.newKeySet();
+            final AtomicInteger leafLoads = new AtomicInteger();
+            final AtomicInteger globalBuilds = new AtomicInteger();
+            final IndexFieldData.Global<LeafFieldData> ifd = mockGlobalFieldData();
+            final IndexFieldData<LeafFieldData> global = mockFieldData();
+            when(ifd.load(any())).thenAnswer(invocation -> {
+                assertThat("global ordinals are built after all segments are loaded", globalBuilds.get(), equalTo(0));
+                loadedLeaves.add(((LeafReaderContext) invocation.getArguments()[0]).ord);
+                leafLoads.incrementAndGet();
+                return null;
+            });
+            when(ifd.loadGlobal(any())).thenAnswer(invocation -> {
+                assertThat(invocation.getArguments()[0], sameInstance(reader));
+                globalBuilds.incrementAndGet();
+                return global;
+            });
+
+            final PlainActionFuture<Void> future = new PlainActionFuture<>();
+            IndexWarmer.warmGlobalOrdinals(threadPool.executor(ThreadPool.Names.WARMER), reader, ifd, future);
+            future.actionGet(10, TimeUnit.SECONDS);
+
+            assertThat(leafLoads.get(), equalTo(reader.leaves().size()));
+            assertThat(loadedLeaves.size(), equalTo(reader.leaves().size()));
+            assertThat(globalBuilds.get(), equalTo(1));
+            verify(global).load(reader.leaves().get(0));
+        }
+    }
+
+    public void testSegmentLoadFailureIsReported() throws IOException {
+        try (
+            Directory dir = newDirectory();
+            IndexWriter w = newMultiSegmentWriter(dir);
+            ElasticsearchDirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(w), new ShardId("test", "_na_", 0))
+        ) {
+            final int failingLeaf = randomIntBetween(0, reader.leaves().size() - 1);
+            final AtomicInteger leafLoads = new AtomicInteger();
+            final IndexFieldData.Global<LeafFieldData> ifd = mockGlobalFieldData();
+            when(ifd.load(any())).thenAnswer(invocation -> {
+                leafLoads.incrementAndGet();
+                if (((LeafReaderContext) invocation.getArguments()[0]).ord == failingLeaf) {
+                    throw new ElasticsearchException("simulated");
+                }
+                return null;
+            });
+
+            final PlainActionFuture<Void> future = new PlainActionFuture<>();
+            IndexWarmer.warmGlobalOrdinals(threadPool.executor(ThreadPool.Names.WARMER), reader, ifd, future);
+            final ElasticsearchException e = expectThrows(ElasticsearchException.class, () -> future.actionGet(10, TimeUnit.SECONDS));
+            assertThat(e.getMessage(), equalTo("simulated"));
+
+            // the other segments are still loaded, but the global ordinals are not built out of them
+            assertThat(leafLoads.get(), equalTo(reader.leaves().size()));
+            verify(ifd, never()).loadGlobal(any());
+        }
+    }
+
+    private static IndexWriter newMultiSegmentWriter(Directory dir) throws IOException {
+        final IndexWriter w = new IndexWriter(dir, newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE));
+        final int numSegments = between(2, 8);
+        for (int i = 0; i < numSegments; i++) {
+            w.addDocument(new Document());
+            w.commit();
+        }
+        return w;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IndexFieldData.Global<LeafFieldData> mockGlobalFieldData() {
+        return mock(IndexFieldData.Global.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IndexFieldData<LeafFieldData> mockFieldData() {
+        return mock(IndexFieldData.class);
+    }
+}
@@ -14,12 +14,16 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
 
 public class FieldDataStatsTests extends ESTestCase {
 
     public void testSerialize() throws IOException {
         FieldMemoryStats map = randomBoolean() ? null : FieldMemoryStatsTests.randomFieldMemoryStats();
-        FieldDataStats stats = new FieldDataStats(randomNonNegativeLong(), randomNonNegativeLong(), map);
+        FieldDataStats stats = new FieldDataStats(randomNonNegativeLong(), randomNonNegativeLong(), map, randomGlobalOrdinalsStats());
         BytesStreamOutput out = new BytesStreamOutput();
         stats.writeTo(out);
         StreamInput input = out.bytes().streamInput();
@@ -28,5 +32,38 @@ public class FieldDataStatsTests extends ESTestCase {
         assertEquals(stats.getEvictions(), read.getEvictions());
         assertEquals(stats.getMemorySize(), read.getMemorySize());
         assertEquals(stats.getFields(), read.getFields());
+        assertEquals(stats.getGlobalOrdinalsStats(), read.getGlobalOrdinalsStats());
+    }
+
+    public void testAddGlobalOrdinalsStats() {
+        Map<String, FieldDataStats.GlobalOrdinalFieldStats> first = new HashMap<>();
+        first.put("field1", new FieldDataStats.GlobalOrdinalFieldStats(10, 100));
+        first.put("field2", new FieldDataStats.GlobalOrdinalFieldStats(5, 20));
+        FieldDataStats stats = new FieldDataStats(0, 0, null, new FieldDataStats.GlobalOrdinalsStats(15, first));
+
+        Map<String, FieldDataStats.GlobalOrdinalFieldStats> second = new HashMap<>();
+        second.put("field1", new FieldDataStats.GlobalOrdinalFieldStats(7, 50));
+        second.put("field3", new FieldDataStats.GlobalOrdinalFieldStats(3, 30));
+        stats.add(new FieldDataStats(0, 0, null, new FieldDataStats.GlobalOrdinalsStats(10, second)));
+
+        FieldDataStats.GlobalOrdinalsStats merged = stats.getGlobalOrdinalsStats();
+        assertThat(merged.getBuildTimeMillis(), equalTo(25L));
+        assertThat(merged.getFieldGlobalOrdinalsStats().size(), equalTo(3));
+        assertThat(merged.getFieldGlobalOrdinalsStats().get("field1").getTotalBuildingTime(), equalTo(17L));
+        assertThat(merged.getFieldGlobalOrdinalsStats().get("field1").getValueCount(), equalTo(100L));
+        assertThat(merged.getFieldGlobalOrdinalsStats().get("field2").getTotalBuildingTime(), equalTo(5L));
+        assertThat(merged.getFieldGlobalOrdinalsStats().get("field3").getValueCount(), equalTo(30L));
+    }
+
+    private static FieldDataStats.GlobalOrdinalsStats randomGlobalOrdinalsStats() {
+        Map<String, FieldDataStats.GlobalOrdinalFieldStats> fields = new HashMap<>();
+        int numFields = randomIntBetween(0, 5);
+        for (int i = 0; i < numFields; i++) {
+            fields.put(
+                randomAlphaOfLength(5) + i,
+                new FieldDataStats.GlobalOrdinalFieldStats(randomNonNegativeLong(), randomNonNegativeLong())
+            );
+        }
+        return new FieldDataStats.GlobalOrdinalsStats(randomNonNegativeLong(), fields);
     }
 }
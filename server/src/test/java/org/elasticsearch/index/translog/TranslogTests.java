@@ -482,6 +482,7 @@ public class TranslogTests extends ESTestCase {
             assertThat(copy.estimatedNumberOfOperations(), equalTo(4));
             assertThat(copy.getTranslogSizeInBytes(), equalTo(326L));
 
+            final TranslogSyncStats syncStats = stats.getSyncStats();
             try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
                 builder.startObject();
                 copy.toXContent(builder, ToXContent.EMPTY_PARAMS);
@@ -495,7 +496,17 @@ public class TranslogTests extends ESTestCase {
                             + 271
                             + ",\"earliest_last_modified_age\":"
                             + stats.getEarliestLastModifiedAge()
-                            + "}}"
+                            + ",\"sync\":{\"total\":"
+                            + syncStats.getTotal()
+                            + ",\"total_time_in_millis\":"
+                            + syncStats.getTotalTime().millis()
+                            + ",\"synced_locations\":"
+                            + syncStats.getSyncedLocations()
+                            + ",\"latency_histogram\":["
+                            + histogram(syncStats.getLatencyCounts(), TranslogSyncStats.LATENCY_BUCKETS_MILLIS, "lt_millis", "ge_millis")
+                            + "],\"batch_size_histogram\":["
+                            + histogram(syncStats.getBatchSizeCounts(), TranslogSyncStats.BATCH_SIZE_BUCKETS, "lte", "gt")
+                            + "]}}}"
                     )
                 );
             }
@@ -513,6 +524,71 @@ public class TranslogTests extends ESTestCase {
         }
     }
 
+    private static String histogram(long[] counts, long[] bounds, String boundField, String lastBoundField) {
+        final StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                histogram.append(',');
+            }
+            if (i < bounds.length) {
+                histogram.append("{\"").append(boundField).append("\":").append(bounds[i]);
+            } else {
+                histogram.append("{\"").append(lastBoundField).append("\":").append(bounds[bounds.length - 1]);
+            }
+            histogram.append(",\"count\":").append(counts[i]).append('}');
+        }
+        return histogram.toString();
+    }
+
+    public void testSyncStats() throws IOException {
+        translog.sync();
+        final TranslogSyncStats initial = translog.stats().getSyncStats();
+
+        final int numLocations = randomIntBetween(1, 100);
+        final List<Translog.Location> locations = new ArrayList<>(numLocations);
+        for (int i = 0; i < numLocations; i++) {
+            locations.add(translog.add(new Translog.Index(Integer.toString(i), i, primaryTerm.get(), new byte[] { 1 })));
+        }
+        assertTrue(translog.ensureSynced(locations.stream()));
+        // already synced, no fsync
+        assertFalse(translog.ensureSynced(locations.stream()));
+
+        final TranslogSyncStats stats = translog.stats().getSyncStats();
+        assertThat(stats.getTotal(), equalTo(initial.getTotal() + 1));
+        assertThat(stats.getSyncedLocations(), equalTo(initial.getSyncedLocations() + numLocations));
+        assertThat(Arrays.stream(stats.getLatencyCounts()).sum(), equalTo(stats.getTotal()));
+        final int bucket = TranslogSyncStats.batchSizeBucket(numLocations);
+        assertThat(stats.getBatchSizeCounts()[bucket], equalTo(initial.getBatchSizeCounts()[bucket] + 1));
+
+        translog.add(new Translog.Index(Integer.toString(numLocations), numLocations, primaryTerm.get(), new byte[] { 1 }));
+        translog.sync();
+        final TranslogSyncStats afterSync = translog.stats().getSyncStats();
+        assertThat(afterSync.getTotal(), equalTo(stats.getTotal() + 1));
+        assertThat(afterSync.getSyncedLocations(), equalTo(stats.getSyncedLocations()));
+        assertThat(Arrays.stream(afterSync.getLatencyCounts()).sum(), equalTo(afterSync.getTotal()));
+        assertArrayEquals(stats.getBatchSizeCounts(), afterSync.getBatchSizeCounts());
+
+        final BytesStreamOutput out = new BytesStreamOutput();
+        afterSync.writeTo(out);
+        final TranslogSyncStats copy = new TranslogSyncStats(out.bytes().streamInput());
+        assertThat(copy.getTotal(), equalTo(afterSync.getTotal()));
+        assertThat(copy.getTotalTime(), equalTo(afterSync.getTotalTime()));
+        assertArrayEquals(afterSync.getLatencyCounts(), copy.getLatencyCounts());
+        assertArrayEquals(afterSync.getBatchSizeCounts(), copy.getBatchSizeCounts());
+
+        final BytesStreamOutput invalid = new BytesStreamOutput();
+        invalid.writeVLong(afterSync.getTotal());
+        invalid.writeVLong(afterSync.getTotalTime().nanos());
+        invalid.writeVLong(afterSync.getSyncedLocations());
+        invalid.writeVLongArray(new long[TranslogSyncStats.LATENCY_BUCKETS_MILLIS.length]);
+        invalid.writeVLongArray(afterSync.getBatchSizeCounts());
+        final IllegalStateException e = expectThrows(
+            IllegalStateException.class,
+            () -> new TranslogSyncStats(invalid.bytes().streamInput())
+        );
+        assertThat(e.getMessage(), equalTo("expected [11] latency buckets but got [10]"));
+    }
+
     public void testUncommittedOperations() throws Exception {
         final TranslogDeletionPolicy deletionPolicy = translog.getDeletionPolicy();
         final int operations = scaledRandomIntBetween(10, 100);
@@ -0,0 +1,125 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.indices.cluster;
+
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class IndicesClusterStateServiceTests extends ESTestCase {
+
+    private ThreadPool threadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new TestThreadPool(getTestName());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
+    public void testConcurrentIndexUpdatesSetting() {
+        assertThat(
+            IndicesClusterStateService.CONCURRENT_INDEX_UPDATES_SETTING.get(
+                Settings.builder().put(IndicesClusterStateService.CONCURRENT_INDEX_UPDATES_SETTING.getKey(), 3).build()
+            ),
+            equalTo(3)
+        );
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> IndicesClusterStateService.CONCURRENT_INDEX_UPDATES_SETTING.get(
+                Settings.builder().put(IndicesClusterStateService.CONCURRENT_INDEX_UPDATES_SETTING.getKey(), 0).build()
+            )
+        );
+    }
+
+    public void testRunConcurrently() {
+        final int numTasks = randomIntBetween(1, 100);
+        final AtomicInteger completed = new AtomicInteger();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final List<Runnable> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            tasks.add(() -> {
+                threads.add(Thread.currentThread());
+                completed.incrementAndGet();
+            });
+        }
+        final int maxThreads = randomIntBetween(2, 4);
+        IndicesClusterStateService.runConcurrently(tasks, maxThreads, threadPool.generic());
+        assertThat(completed.get(), equalTo(numTasks));
+        assertThat(threads.size(), lessThanOrEqualTo(maxThreads));
+    }
+
+    public void testRunConcurrentlyRethrowsFailureOfOtherThread() {
+        final Thread callingThread = Thread.currentThread();
+        final CountDownLatch started = new CountDownLatch(2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final List<Runnable> tasks = new ArrayList<>();
+        // the first two tasks run at the same time, so one of them runs on a thread of the executor and fails like an assertion would
+        for (int i = 0; i < 2; i++) {
+            tasks.add(() -> {
+                running.incrementAndGet();
+                try {
+                    started.countDown();
+                    safeAwait(started);
+                    if (Thread.currentThread() != callingThread) {
+                        throw new AssertionError("injected");
+                    }
+                    completed.incrementAndGet();
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        }
+        final int numOtherTasks = randomIntBetween(0, 10);
+        for (int i = 0; i < numOtherTasks; i++) {
+            tasks.add(() -> {
+                running.incrementAndGet();
+                completed.incrementAndGet();
+                running.decrementAndGet();
+            });
+        }
+
+        final AssertionError e = expectThrows(
+            AssertionError.class,
+            () -> IndicesClusterStateService.runConcurrently(tasks, 2, threadPool.generic())
+        );
+        assertThat(e.getMessage(), equalTo("injected"));
+        // the failure is only rethrown once no task is running anymore
+        assertThat(running.get(), equalTo(0));
+        assertThat(completed.get(), greaterThan(0));
+        assertThat(completed.get(), lessThanOrEqualTo(1 + numOtherTasks));
+    }
+
+    private static void safeAwait(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
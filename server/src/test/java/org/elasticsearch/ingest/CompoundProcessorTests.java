@@ -359,6 +359,50 @@ public class CompoundProcessorTests extends ESTestCase {
         assertThat(onFailureProcessor.getInvokedCounter(), equalTo(1));
     }
 
+    public void testIsAsync() {
+        assertFalse(CompoundProcessor.isAsync(new TestProcessor(ingestDocument -> {})));
+        assertTrue(CompoundProcessor.isAsync(new CompoundProcessor()));
+        assertTrue(CompoundProcessor.isAsync(new AbstractProcessor(null, null) {
+            @Override
+            public void execute(IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+                handler.accept(ingestDocument, null);
+            }
+
+            @Override
+            public IngestDocument execute(IngestDocument ingestDocument) throws Exception {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String getType() {
+                return "async";
+            }
+        }));
+    }
+
+    public void testManySynchronousProcessors() {
+        final int numProcessors = randomIntBetween(5000, 10000);
+        final Processor[] processors = new Processor[numProcessors];
+        for (int i = 0; i < numProcessors; i++) {
+            processors[i] = new TestProcessor(ingestDocument -> {
+                int count = ingestDocument.hasField("count") ? ingestDocument.getFieldValue("count", Integer.class) : 0;
+                ingestDocument.setFieldValue("count", count + 1);
+            });
+        }
+        // would overflow the stack if every processor continued in the callback of the previous one
+        final CompoundProcessor compoundProcessor = new CompoundProcessor(processors);
+        final IngestDocument[] holder = new IngestDocument[1];
+        compoundProcessor.execute(ingestDocument, (result, e) -> {
+            assertThat(e, nullValue());
+            holder[0] = result;
+        });
+        assertThat(holder[0], sameInstance(ingestDocument));
+        assertThat(ingestDocument.getFieldValue("count", Integer.class), equalTo(numProcessors));
+        for (int i = 0; i < numProcessors; i++) {
+            assertThat(compoundProcessor.getProcessorsWithMetrics().get(i).v2().createStats().getIngestCount(), equalTo(1L));
+        }
+    }
+
     public void testNewCompoundProcessorException() {
         TestProcessor processor = new TestProcessor("my_tag", "my_type", null, new RuntimeException());
         IngestProcessorException ingestProcessorException1 = CompoundProcessor.newCompoundProcessorException(
@@ -0,0 +1,131 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.lookup;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.index.mapper.SourceFieldMapper;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.XContentType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SourceLookupTests extends ESTestCase {
+
+    private static final String SOURCE = "{"
+        + "\"a\": {\"b\": 1, \"c\": {\"d\": \"x\"}},"
+        + "\"a.b\": 2,"
+        + "\"e\": [{\"f\": 3}, {\"f\": 4}, {\"g\": 5}],"
+        + "\"h\": null,"
+        + "\"i\": {\"j.k\": \"y\"},"
+        + "\"large\": {\"l\": [1, 2, 3], \"m\": {\"n\": \"skipped\"}}"
+        + "}";
+
+    public void testFilterPaths() {
+        assertThat(SourceLookup.filterPaths("a"), equalTo(Set.of("a")));
+        assertThat(SourceLookup.filterPaths("a.b"), equalTo(Set.of("a.b", "a\\.b")));
+        assertThat(SourceLookup.filterPaths("a.b.c"), equalTo(Set.of("a.b.c", "a\\.b.c", "a.b\\.c", "a\\.b\\.c")));
+        assertThat(SourceLookup.filterPaths("a.b.c.d.e").size(), equalTo(16));
+        assertThat(SourceLookup.filterPaths("a.b.c.d.e.f"), nullValue());
+        assertThat(SourceLookup.filterPaths("a*"), nullValue());
+        assertThat(SourceLookup.filterPaths(".a"), nullValue());
+        assertThat(SourceLookup.filterPaths(""), nullValue());
+    }
+
+    public void testExtractRawValuesMatchesFullSource() {
+        Map<String, Object> fullSource = SourceLookup.sourceAsMap(new BytesArray(SOURCE));
+        for (String path : List.of("a", "a.b", "a.c.d", "e.f", "e.g", "h", "i.j.k", "missing", "a.missing")) {
+            SourceLookup sourceLookup = sourceLookup(SOURCE);
+            SourceLookup fullSourceLookup = new SourceLookup();
+            fullSourceLookup.setSource(fullSource);
+            assertThat(path, sourceLookup.extractRawValues(path), equalTo(fullSourceLookup.extractRawValues(path)));
+            assertThat(path, sourceLookup.extractValue(path, "NULL"), equalTo(fullSourceLookup.extractValue(path, "NULL")));
+        }
+    }
+
+    public void testExtractValues() {
+        SourceLookup sourceLookup = sourceLookup(SOURCE);
+        assertThat(sourceLookup.extractRawValues("a.b"), containsInAnyOrder(1, 2));
+        assertThat(sourceLookup.extractValue("e.f", null), equalTo(List.of(3, 4)));
+        assertThat(sourceLookup.extractValue("h", "NULL"), equalTo("NULL"));
+        assertThat(sourceLookup.extractValue("i.j.k", null), equalTo("y"));
+        assertThat(sourceLookup.sourceContentType(), equalTo(XContentType.JSON));
+    }
+
+    public void testParsesEntireSourceAfterTooManyPaths() {
+        SourceLookup sourceLookup = sourceLookup(SOURCE);
+        for (int i = 0; i < SourceLookup.MAX_FILTERED_PATHS + 1; i++) {
+            assertThat(sourceLookup.extractValue("a.c.d", null), equalTo("x"));
+            assertThat(sourceLookup.extractRawValues("e.f"), equalTo(List.of(3, 4)));
+            assertThat(sourceLookup.extractRawValues("i.j.k"), equalTo(List.of("y")));
+        }
+        // the third path parsed the entire source, which is now used for all paths
+        assertThat(sourceLookup.size(), equalTo(6));
+        assertThat(sourceLookup.extractValue("large.m.n", null), equalTo("skipped"));
+    }
+
+    public void testParsesEntireSourceOfFollowingDocumentsAfterTooManyPaths() throws IOException {
+        try (Directory dir = newDirectory(); IndexWriter iw = new IndexWriter(dir, newIndexWriterConfig())) {
+            for (int i = 0; i < 2; i++) {
+                Document doc = new Document();
+                doc.add(new StoredField(SourceFieldMapper.NAME, new BytesRef(SOURCE)));
+                iw.addDocument(doc);
+            }
+            iw.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(iw)) {
+                LeafReaderContext context = reader.leaves().get(0);
+                SourceLookup sourceLookup = new SourceLookup();
+                sourceLookup.setSegmentAndDocument(context, 0);
+                assertThat(sourceLookup.extractValue("a.c.d", null), equalTo("x"));
+                assertThat(sourceLookup.extractRawValues("e.f"), equalTo(List.of(3, 4)));
+                assertFalse(sourceLookup.hasSourceAsMap());
+                // the bytes that were loaded to extract the paths aren't exposed as if they had been set
+                assertThat(sourceLookup.internalSourceRef(), nullValue());
+                assertThat(sourceLookup.extractRawValues("i.j.k"), equalTo(List.of("y")));
+                assertTrue(sourceLookup.hasSourceAsMap());
+
+                sourceLookup.setSegmentAndDocument(context, 1);
+                assertFalse(sourceLookup.hasSourceAsMap());
+                assertThat(sourceLookup.extractValue("a.c.d", null), equalTo("x"));
+                assertTrue(sourceLookup.hasSourceAsMap());
+                assertThat(sourceLookup.internalSourceRef(), nullValue());
+            }
+        }
+    }
+
+    public void testNewSourceResetsFilteredPaths() {
+        SourceLookup sourceLookup = sourceLookup(SOURCE);
+        assertThat(sourceLookup.extractValue("a.c.d", null), equalTo("x"));
+        sourceLookup.setSource(new BytesArray("{\"a\": {\"c\": {\"d\": \"z\"}}}"));
+        assertThat(sourceLookup.extractValue("a.c.d", null), equalTo("z"));
+        sourceLookup.setSource(Map.of("a", Map.of("c", Map.of("d", "w"))));
+        assertThat(sourceLookup.extractValue("a.c.d", null), equalTo("w"));
+    }
+
+    private static SourceLookup sourceLookup(String source) {
+        BytesReference bytes = new BytesArray(source);
+        SourceLookup sourceLookup = new SourceLookup();
+        sourceLookup.setSource(bytes);
+        return sourceLookup;
+    }
+}
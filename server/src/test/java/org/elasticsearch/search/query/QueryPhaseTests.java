@@ -30,6 +30,7 @@ import org.apache.lucene.queries.spans.SpanNearQuery;
 import org.apache.lucene.queries.spans.SpanTermQuery;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BulkScorer;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.DocValuesFieldExistsQuery;
@@ -37,6 +38,7 @@ import org.apache.lucene.search.FieldComparator;
 import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.FilterCollector;
 import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.FilterWeight;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.LeafCollector;
 import org.apache.lucene.search.MatchAllDocsQuery;
@@ -44,6 +46,7 @@ import org.apache.lucene.search.MatchNoDocsQuery;
 import org.apache.lucene.search.MultiTermQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
@@ -55,6 +58,7 @@ import org.apache.lucene.search.Weight;
 import org.apache.lucene.search.join.BitSetProducer;
 import org.apache.lucene.search.join.ScoreMode;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.FixedBitSet;
 import org.elasticsearch.action.search.SearchShardTask;
@@ -76,11 +80,13 @@ import org.elasticsearch.tasks.TaskCancelHelper;
 import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.TestSearchContext;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.elasticsearch.search.query.TopDocsCollectorContext.hasInfMaxScore;
 import static org.hamcrest.Matchers.anyOf;
@@ -319,6 +325,150 @@ public class QueryPhaseTests extends IndexShardTestCase {
         dir.close();
     }
 
+    public void testConcurrentSegmentSearch() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+        IndexWriter w = new IndexWriter(dir, iwc);
+        final int numSegments = randomIntBetween(6, 20);
+        int numDocs = 0;
+        for (int i = 0; i < numSegments; ++i) {
+            final int segmentDocs = randomIntBetween(1, 20);
+            for (int j = 0; j < segmentDocs; ++j) {
+                Document doc = new Document();
+                doc.add(new TextField("title", randomFrom("foo", "foo bar", "foo foo bar baz"), Store.NO));
+                doc.add(new NumericDocValuesField("rank", randomIntBetween(0, 1000)));
+                w.addDocument(doc);
+                numDocs++;
+            }
+            w.flush();
+        }
+        w.close();
+
+        try (IndexReader reader = DirectoryReader.open(dir)) {
+            final Query query = new TermQuery(new Term("title", "foo"));
+            final int size = randomIntBetween(1, 20);
+            final SortAndFormats sort = randomBoolean()
+                ? null
+                : new SortAndFormats(new Sort(new SortField("rank", SortField.Type.INT)), new DocValueFormat[] { DocValueFormat.RAW });
+
+            TestSearchContext sequentialContext = new TestSearchContext(null, indexShard, newContextSearcher(reader));
+            sequentialContext.parsedQuery(new ParsedQuery(query));
+            sequentialContext.setSize(size);
+            sequentialContext.sort(sort);
+            sequentialContext.trackTotalHitsUpTo(SearchContext.TRACK_TOTAL_HITS_ACCURATE);
+            sequentialContext.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+            QueryPhase.executeInternal(sequentialContext);
+
+            ContextIndexSearcher concurrentSearcher = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                true,
+                threadPool.executor(ThreadPool.Names.SEARCH_WORKER)
+            );
+            assertThat(concurrentSearcher.getSlices().length, greaterThan(1));
+            TestSearchContext concurrentContext = new TestSearchContext(null, indexShard, concurrentSearcher);
+            concurrentContext.parsedQuery(new ParsedQuery(query));
+            concurrentContext.setSize(size);
+            concurrentContext.sort(sort);
+            concurrentContext.trackTotalHitsUpTo(SearchContext.TRACK_TOTAL_HITS_ACCURATE);
+            concurrentContext.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+            QueryPhase.executeInternal(concurrentContext);
+
+            TopDocs expected = sequentialContext.queryResult().topDocs().topDocs;
+            TopDocs actual = concurrentContext.queryResult().topDocs().topDocs;
+            assertThat(actual.totalHits.value, equalTo((long) numDocs));
+            assertThat(actual.totalHits, equalTo(expected.totalHits));
+            assertThat(actual.scoreDocs.length, equalTo(expected.scoreDocs.length));
+            for (int i = 0; i < expected.scoreDocs.length; i++) {
+                assertThat(actual.scoreDocs[i].doc, equalTo(expected.scoreDocs[i].doc));
+                assertThat(actual.scoreDocs[i].score, equalTo(expected.scoreDocs[i].score));
+            }
+
+            // time out as soon as a slice collected some hits, the hits of all slices collected so far are returned
+            AtomicBoolean collected = new AtomicBoolean();
+            TestSearchContext timeoutContext = new TestSearchContext(null, indexShard, concurrentSearcher) {
+                @Override
+                public long getRelativeTimeInMillis() {
+                    return collected.get() ? 1L : 0L;
+                }
+            };
+            assertTrue(timeoutContext.request().allowPartialSearchResults());
+            timeoutContext.parsedQuery(new ParsedQuery(new NotifyingQuery(query, collected)));
+            timeoutContext.setSize(size);
+            timeoutContext.sort(sort);
+            timeoutContext.trackTotalHitsUpTo(SearchContext.TRACK_TOTAL_HITS_ACCURATE);
+            timeoutContext.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+            QueryPhase.executeInternal(timeoutContext);
+            assertTrue(timeoutContext.queryResult().searchTimedOut());
+            TopDocs partial = timeoutContext.queryResult().topDocs().topDocs;
+            assertThat(partial.totalHits.value, greaterThan(0L));
+            assertThat(partial.scoreDocs.length, greaterThan(0));
+        }
+        dir.close();
+    }
+
+    /**
+     * Wraps a query to flag when the hits of a leaf have been collected.
+     */
+    private static class NotifyingQuery extends Query {
+        private final Query in;
+        private final AtomicBoolean collected;
+
+        NotifyingQuery(Query in, AtomicBoolean collected) {
+            this.in = in;
+            this.collected = collected;
+        }
+
+        @Override
+        public Weight createWeight(IndexSearcher searcher, org.apache.lucene.search.ScoreMode scoreMode, float boost)
+            throws IOException {
+            return new FilterWeight(in.createWeight(searcher, scoreMode, boost)) {
+                @Override
+                public BulkScorer bulkScorer(LeafReaderContext context) throws IOException {
+                    BulkScorer bulkScorer = super.bulkScorer(context);
+                    if (bulkScorer == null) {
+                        return null;
+                    }
+                    return new BulkScorer() {
+                        @Override
+                        public int score(LeafCollector collector, Bits acceptDocs, int min, int max) throws IOException {
+                            int next = bulkScorer.score(collector, acceptDocs, min, max);
+                            collected.set(true);
+                            return next;
+                        }
+
+                        @Override
+                        public long cost() {
+                            return bulkScorer.cost();
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+            in.visit(visitor);
+        }
+
+        @Override
+        public String toString(String field) {
+            return "notifying(" + in.toString(field) + ")";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return sameClassAs(obj) && in.equals(((NotifyingQuery) obj).in);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * classHash() + in.hashCode();
+        }
+    }
+
     public void testTerminateAfterEarlyTermination() throws Exception {
         Directory dir = newDirectory();
         IndexWriterConfig iwc = newIndexWriterConfig();
@@ -600,6 +600,18 @@ public abstract class ESTestCase extends LuceneTestCase {
         });
     }
 
+    /**
+     * Returns the leaks that were logged so far and forgets about them so that they do not fail the test. Only meant for tests
+     * that leak a resource on purpose to check that the leak is reported.
+     */
+    protected static List<String> consumeLoggedLeaks() {
+        synchronized (loggedLeaks) {
+            final List<String> leaks = new ArrayList<>(loggedLeaks);
+            loggedLeaks.clear();
+            return leaks;
+        }
+    }
+
     // separate method so that this can be checked again after suite scoped cluster is shut down
     protected static void checkStaticState() throws Exception {
         LeakTracker.INSTANCE.reportLeak();
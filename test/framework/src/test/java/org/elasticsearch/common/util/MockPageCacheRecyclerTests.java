@@ -0,0 +1,67 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.transport.LeakTracker;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+
+public class MockPageCacheRecyclerTests extends ESTestCase {
+
+    public void testLeakedDirectBytePageIsReported() throws Exception {
+        final MockPageCacheRecycler recycler = newOffHeapRecycler();
+        leakDirectBytePage(recycler);
+
+        final List<String> leaks = new ArrayList<>();
+        assertBusy(() -> {
+            System.gc();
+            LeakTracker.INSTANCE.reportLeak();
+            leaks.addAll(consumeLoggedLeaks());
+            assertThat(leaks, hasItem(containsString("leakDirectBytePage")));
+        });
+    }
+
+    public void testReleasedDirectBytePageIsRandomized() {
+        final MockPageCacheRecycler recycler = newOffHeapRecycler();
+        final Recycler.V<ByteBuffer> page = recycler.directBytePage(true);
+        final ByteBuffer buffer = page.v();
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertThat(buffer.get(i), equalTo((byte) 0));
+            buffer.put(i, (byte) i);
+        }
+        page.close();
+        // the content is overwritten with the same random byte over the whole page
+        final byte value = buffer.get(0);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertThat(buffer.get(i), equalTo(value));
+        }
+    }
+
+    private static MockPageCacheRecycler newOffHeapRecycler() {
+        final MockPageCacheRecycler recycler = new MockPageCacheRecycler(
+            Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build()
+        );
+        assertTrue(recycler.isOffHeap());
+        return recycler;
+    }
+
+    private static void leakDirectBytePage(MockPageCacheRecycler recycler) {
+        final Recycler.V<ByteBuffer> page = recycler.directBytePage(false);
+        assertThat(page.v().capacity(), equalTo(PageCacheRecycler.BYTE_PAGE_SIZE));
+    }
+}
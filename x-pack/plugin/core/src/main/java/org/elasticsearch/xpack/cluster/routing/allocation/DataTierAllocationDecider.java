@@ -49,6 +49,13 @@ public class DataTierAllocationDecider extends AllocationDecider {
         return shouldFilter(shardRouting, node.node(), allocation);
     }
 
+    @Override
+    public DecisionGranularity decisionGranularity() {
+        // the tier preference of the index and the roles of the nodes are all that matters, finding the preferred available tier
+        // iterates over the nodes of the cluster so it is worth reusing the decisions for all shards of an index
+        return DecisionGranularity.INDEX_AND_NODE;
+    }
+
     @Override
     public Decision shouldAutoExpandToNode(IndexMetadata indexMetadata, DiscoveryNode node, RoutingAllocation allocation) {
         return shouldFilter(indexMetadata, node.getRoles(), allocation);
@@ -59,6 +59,11 @@ public class DedicatedFrozenNodeAllocationDecider extends AllocationDecider {
         return canAllocateToNode(indexMetadata, node.node());
     }
 
+    @Override
+    public DecisionGranularity decisionGranularity() {
+        return DecisionGranularity.INDEX_AND_NODE;
+    }
+
     @Override
     public Decision shouldAutoExpandToNode(IndexMetadata indexMetadata, DiscoveryNode node, RoutingAllocation allocation) {
         return canAllocateToNode(indexMetadata, node);
@@ -460,6 +460,7 @@ public class Constants {
         "internal:admin/xpack/searchable_snapshots/frozen_cache_info",
         "internal:admin/xpack/searchable_snapshots/frozen_cache_info[n]",
         "internal:cluster/nodes/indices/shard/store",
-        "internal:gateway/local/started_shards"
+        "internal:gateway/local/started_shards",
+        "internal:gateway/local/started_shards_batch"
     );
 }
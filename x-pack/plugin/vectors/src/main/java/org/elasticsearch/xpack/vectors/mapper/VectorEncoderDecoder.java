@@ -9,6 +9,7 @@ package org.elasticsearch.xpack.vectors.mapper;
 
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.Version;
+import org.elasticsearch.xpack.vectors.query.BinaryVectorUtil;
 import org.elasticsearch.xpack.vectors.query.DenseVectorScriptDocValues;
 
 import java.nio.ByteBuffer;
@@ -68,10 +69,7 @@ public final class VectorEncoderDecoder {
         if (vectorBR == null) {
             throw new IllegalArgumentException(DenseVectorScriptDocValues.MISSING_VECTOR_FIELD_MESSAGE);
         }
-        ByteBuffer byteBuffer = ByteBuffer.wrap(vectorBR.bytes, vectorBR.offset, vectorBR.length);
-        for (int dim = 0; dim < vector.length; dim++) {
-            vector[dim] = byteBuffer.getFloat();
-        }
+        BinaryVectorUtil.decode(vectorBR, vector);
     }
 
 }
@@ -13,7 +13,6 @@ import org.elasticsearch.Version;
 import org.elasticsearch.xpack.vectors.mapper.VectorEncoderDecoder;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 
 public class BinaryDenseVectorScriptDocValues extends DenseVectorScriptDocValues {
 
@@ -60,34 +59,16 @@ public class BinaryDenseVectorScriptDocValues extends DenseVectorScriptDocValues
 
     @Override
     public double dotProduct(float[] queryVector) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(value.bytes, value.offset, value.length);
-
-        double dotProduct = 0;
-        for (float queryValue : queryVector) {
-            dotProduct += queryValue * byteBuffer.getFloat();
-        }
-        return (float) dotProduct;
+        return (float) BinaryVectorUtil.dotProduct(queryVector, value);
     }
 
     @Override
     public double l1Norm(float[] queryVector) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(value.bytes, value.offset, value.length);
-
-        double l1norm = 0;
-        for (float queryValue : queryVector) {
-            l1norm += Math.abs(queryValue - byteBuffer.getFloat());
-        }
-        return l1norm;
+        return BinaryVectorUtil.l1Norm(queryVector, value);
     }
 
     @Override
     public double l2Norm(float[] queryVector) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(value.bytes, value.offset, value.length);
-        double l2norm = 0;
-        for (float queryValue : queryVector) {
-            double diff = queryValue - byteBuffer.getFloat();
-            l2norm += diff * diff;
-        }
-        return Math.sqrt(l2norm);
+        return BinaryVectorUtil.l2Norm(queryVector, value);
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.vectors.query;
+
+import org.apache.lucene.util.BytesRef;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Similarity functions between a query vector and a document vector in its binary doc values encoding, which read the floats of the
+ * document vector straight from the encoded bytes rather than decoding them into an array first. The loops are unrolled with four
+ * independent accumulators so that the additions of consecutive dimensions do not wait on each other.
+ */
+public final class BinaryVectorUtil {
+
+    // vectors are encoded with a ByteBuffer, which is big endian
+    private static final VarHandle FLOAT_HANDLE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+
+    private BinaryVectorUtil() {}
+
+    private static float floatAt(byte[] bytes, int offset) {
+        return (float) FLOAT_HANDLE.get(bytes, offset);
+    }
+
+    /**
+     * The dot product of the query vector and the encoded document vector.
+     */
+    public static double dotProduct(float[] queryVector, BytesRef vectorBR) {
+        final byte[] bytes = vectorBR.bytes;
+        final int offset = vectorBR.offset;
+        final int upperBound = queryVector.length & ~3;
+        double acc0 = 0;
+        double acc1 = 0;
+        double acc2 = 0;
+        double acc3 = 0;
+        int i = 0;
+        for (; i < upperBound; i += 4) {
+            final int pos = offset + (i << 2);
+            acc0 += queryVector[i] * floatAt(bytes, pos);
+            acc1 += queryVector[i + 1] * floatAt(bytes, pos + 4);
+            acc2 += queryVector[i + 2] * floatAt(bytes, pos + 8);
+            acc3 += queryVector[i + 3] * floatAt(bytes, pos + 12);
+        }
+        for (; i < queryVector.length; i++) {
+            acc0 += queryVector[i] * floatAt(bytes, offset + (i << 2));
+        }
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    /**
+     * The l1 norm (Manhattan distance) between the query vector and the encoded document vector.
+     */
+    public static double l1Norm(float[] queryVector, BytesRef vectorBR) {
+        final byte[] bytes = vectorBR.bytes;
+        final int offset = vectorBR.offset;
+        final int upperBound = queryVector.length & ~3;
+        double acc0 = 0;
+        double acc1 = 0;
+        double acc2 = 0;
+        double acc3 = 0;
+        int i = 0;
+        for (; i < upperBound; i += 4) {
+            final int pos = offset + (i << 2);
+            acc0 += Math.abs(queryVector[i] - floatAt(bytes, pos));
+            acc1 += Math.abs(queryVector[i + 1] - floatAt(bytes, pos + 4));
+            acc2 += Math.abs(queryVector[i + 2] - floatAt(bytes, pos + 8));
+            acc3 += Math.abs(queryVector[i + 3] - floatAt(bytes, pos + 12));
+        }
+        for (; i < queryVector.length; i++) {
+            acc0 += Math.abs(queryVector[i] - floatAt(bytes, offset + (i << 2)));
+        }
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    /**
+     * The l2 norm (Euclidean distance) between the query vector and the encoded document vector.
+     */
+    public static double l2Norm(float[] queryVector, BytesRef vectorBR) {
+        final byte[] bytes = vectorBR.bytes;
+        final int offset = vectorBR.offset;
+        final int upperBound = queryVector.length & ~3;
+        double acc0 = 0;
+        double acc1 = 0;
+        double acc2 = 0;
+        double acc3 = 0;
+        int i = 0;
+        for (; i < upperBound; i += 4) {
+            final int pos = offset + (i << 2);
+            final double diff0 = queryVector[i] - floatAt(bytes, pos);
+            final double diff1 = queryVector[i + 1] - floatAt(bytes, pos + 4);
+            final double diff2 = queryVector[i + 2] - floatAt(bytes, pos + 8);
+            final double diff3 = queryVector[i + 3] - floatAt(bytes, pos + 12);
+            acc0 += diff0 * diff0;
+            acc1 += diff1 * diff1;
+            acc2 += diff2 * diff2;
+            acc3 += diff3 * diff3;
+        }
+        for (; i < queryVector.length; i++) {
+            final double diff = queryVector[i] - floatAt(bytes, offset + (i << 2));
+            acc0 += diff * diff;
+        }
+        return Math.sqrt(acc0 + acc1 + acc2 + acc3);
+    }
+
+    /**
+     * Decodes the first {@code vector.length} floats of the encoded vector into the given array.
+     */
+    public static void decode(BytesRef vectorBR, float[] vector) {
+        final byte[] bytes = vectorBR.bytes;
+        final int offset = vectorBR.offset;
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = floatAt(bytes, offset + (i << 2));
+        }
+    }
+}
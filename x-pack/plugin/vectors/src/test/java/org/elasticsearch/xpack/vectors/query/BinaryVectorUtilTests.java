@@ -0,0 +1,66 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.vectors.query;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.test.ESTestCase;
+
+import java.nio.ByteBuffer;
+
+public class BinaryVectorUtilTests extends ESTestCase {
+
+    public void testSimilarityFunctions() {
+        final int dims = between(1, 1024);
+        final float[] queryVector = randomVector(dims);
+        final float[] docVector = randomVector(dims);
+        final BytesRef encoded = encode(docVector);
+
+        double dotProduct = 0;
+        double l1Norm = 0;
+        double l2Norm = 0;
+        for (int i = 0; i < dims; i++) {
+            dotProduct += queryVector[i] * docVector[i];
+            l1Norm += Math.abs(queryVector[i] - docVector[i]);
+            double diff = queryVector[i] - docVector[i];
+            l2Norm += diff * diff;
+        }
+        l2Norm = Math.sqrt(l2Norm);
+
+        assertEquals(dotProduct, BinaryVectorUtil.dotProduct(queryVector, encoded), 1e-6 * Math.max(1, Math.abs(dotProduct)));
+        assertEquals(l1Norm, BinaryVectorUtil.l1Norm(queryVector, encoded), 1e-6 * Math.max(1, l1Norm));
+        assertEquals(l2Norm, BinaryVectorUtil.l2Norm(queryVector, encoded), 1e-6 * Math.max(1, l2Norm));
+
+        final float[] decoded = new float[dims];
+        BinaryVectorUtil.decode(encoded, decoded);
+        assertArrayEquals(docVector, decoded, 0f);
+    }
+
+    private static float[] randomVector(int dims) {
+        final float[] vector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            vector[i] = randomFloat() * 200 - 100;
+        }
+        return vector;
+    }
+
+    /**
+     * Encodes the vector followed by its magnitude like the dense_vector field does, at a random offset of a larger array.
+     */
+    private static BytesRef encode(float[] vector) {
+        final int offset = between(0, 7);
+        final ByteBuffer byteBuffer = ByteBuffer.allocate(offset + vector.length * Float.BYTES + Float.BYTES + between(0, 7));
+        byteBuffer.position(offset);
+        double magnitude = 0;
+        for (float value : vector) {
+            byteBuffer.putFloat(value);
+            magnitude += value * value;
+        }
+        byteBuffer.putFloat((float) Math.sqrt(magnitude));
+        return new BytesRef(byteBuffer.array(), offset, vector.length * Float.BYTES + Float.BYTES);
+    }
+}